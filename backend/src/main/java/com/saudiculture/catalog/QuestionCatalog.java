@@ -0,0 +1,324 @@
+package com.saudiculture.catalog;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import com.saudiculture.dto.InfoQuestionDTO;
+import com.saudiculture.dto.QuestionMapper;
+import com.saudiculture.dto.QuizQuestionDTO;
+import com.saudiculture.models.Question;
+import com.saudiculture.repositories.QuestionProjections;
+import java.util.ArrayList;
+import java.util.Arrays;
+import java.util.Comparator;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.locks.ReentrantLock;
+import java.util.random.RandomGenerator;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.Ordered;
+import org.springframework.core.annotation.Order;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Component;
+
+/**
+ * In-process snapshot of the question bank.
+ * <p>
+ * The bank is small and only changes when content is (re)loaded, so when enabled with
+ * {@code questions.catalog.enabled=true} the whole {@code questions} collection is read once and
+ * kept as pre-converted DTOs with posting lists per (language, category, region) filter and an
+ * Arabic/English aware {@link QuestionSearchIndex}. Pages, including search results, are then
+ * served from memory with exact totals. Random quizzes are drawn from pre-converted pools per
+ * (category, language, region, type) filter without a database round trip. The snapshot is
+ * first loaded by the background startup data load ({@code DataLoader}) and rebuilt whenever a
+ * {@link QuestionsChangedEvent} is published.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionCatalog {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Value("${questions.catalog.enabled:false}")
+  private boolean enabled;
+
+  private volatile Snapshot snapshot;
+
+  // Not synchronized: a virtual thread blocked on MongoDB inside a monitor would pin its carrier
+  private final ReentrantLock refreshLock = new ReentrantLock();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  /**
+   * Whether the catalog is enabled and a snapshot has been loaded.
+   */
+  public boolean isReady() {
+    return enabled && snapshot != null;
+  }
+
+  // Rebuild before other listeners drop state derived from the previous snapshot
+  @Order(Ordered.HIGHEST_PRECEDENCE)
+  @EventListener(QuestionsChangedEvent.class)
+  public void onQuestionsChanged() {
+    if (enabled) {
+      refresh();
+    }
+  }
+
+  /**
+   * Reload the snapshot from MongoDB. Readers keep using the previous snapshot until the new one
+   * is fully built.
+   */
+  public void refresh() {
+    refreshLock.lock();
+    try {
+      load();
+    } finally {
+      refreshLock.unlock();
+    }
+  }
+
+  private void load() {
+    long start = System.currentTimeMillis();
+    Query query = new Query(Criteria.where("deleted").ne(true));
+    query.fields().include(QuestionProjections.fields(QuestionProjections.CATALOG));
+    List<Question> questions = mongoTemplate.find(query, Question.class);
+
+    snapshot = Snapshot.build(questions);
+
+    log.info("Question catalog refreshed",
+        keyValue("questions", questions.size()),
+        keyValue("filters", snapshot.postings.size()),
+        keyValue("durationMs", System.currentTimeMillis() - start));
+  }
+
+  /**
+   * Page of info questions matching the filters, in collection order. Null category or region
+   * means "any".
+   */
+  public Page<InfoQuestionDTO> findInfo(String language, String category, String region,
+      Pageable pageable) {
+    Snapshot current = snapshot;
+    int[] postings = current.postings.getOrDefault(new FilterKey(language, category, region),
+        EMPTY);
+    return page(current, postings, pageable);
+  }
+
+  /**
+   * Page of info questions matching the search term and filters, best match first.
+   */
+  public Page<InfoQuestionDTO> searchInfo(String searchTerm, String language, String category,
+      String region, Pageable pageable) {
+    Snapshot current = snapshot;
+    int[] hits = current.searchIndex.search(searchTerm);
+
+    int matches = 0;
+    int[] filtered = new int[hits.length];
+    for (int position : hits) {
+      Question question = current.questions.get(position);
+      if (Objects.equals(question.getContentLanguage(), language)
+          && (category == null || category.equals(question.getCategory()))
+          && (region == null || region.equals(question.getRegion()))) {
+        filtered[matches++] = position;
+      }
+    }
+    return page(current, Arrays.copyOf(filtered, matches), pageable);
+  }
+
+  /**
+   * Random quiz of up to {@code size} distinct questions matching the filters. Null filters (and
+   * type "all") mean "any".
+   * <p>
+   * Uses a partial Fisher–Yates shuffle over a copy of the pool, so only {@code size} swaps are
+   * made, with the calling thread's {@link ThreadLocalRandom}.
+   */
+  public List<QuizQuestionDTO> drawQuiz(String category, String language, String region,
+      String type, int size) {
+    Snapshot current = snapshot;
+    int[] pool = quizPool(current, category, language, region, type);
+    return draw(current, pool.clone(), size, ThreadLocalRandom.current());
+  }
+
+  /**
+   * Reproducible quiz for the given seed: the same filters, size and seed always yield the same
+   * questions in the same order for as long as the question bank is unchanged. The pool is
+   * ordered by question id first, so the result does not depend on the load order.
+   */
+  public List<QuizQuestionDTO> drawSeededQuiz(String category, String language, String region,
+      String type, int size, long seed) {
+    Snapshot current = snapshot;
+    int[] order = Arrays.stream(quizPool(current, category, language, region, type))
+        .boxed()
+        .sorted(Comparator.comparing(position -> current.questions.get(position).getId(),
+            Comparator.nullsLast(Comparator.naturalOrder())))
+        .mapToInt(Integer::intValue)
+        .toArray();
+    return draw(current, order, size, new SplittableRandom(seed));
+  }
+
+  private static int[] quizPool(Snapshot snapshot, String category, String language,
+      String region, String type) {
+    String typeFilter = type == null || type.equalsIgnoreCase("all") ? null : type;
+    return snapshot.quizPools.getOrDefault(new QuizKey(category, language, region, typeFilter),
+        EMPTY);
+  }
+
+  /**
+   * Pick up to {@code size} entries of {@code order} (shuffled in place) and map them to DTOs.
+   */
+  private static List<QuizQuestionDTO> draw(Snapshot snapshot, int[] order, int size,
+      RandomGenerator random) {
+    int count = Math.max(0, Math.min(size, order.length));
+    List<QuizQuestionDTO> quiz = new ArrayList<>(count);
+    for (int i = 0; i < count; i++) {
+      int j = i + random.nextInt(order.length - i);
+      int picked = order[j];
+      order[j] = order[i];
+      order[i] = picked;
+      quiz.add(snapshot.quizzes[picked]);
+    }
+    return quiz;
+  }
+
+  static final int[] EMPTY = new int[0];
+
+  static Page<InfoQuestionDTO> page(Snapshot snapshot, int[] positions, Pageable pageable) {
+    int from = (int) Math.min(pageable.getOffset(), positions.length);
+    int to = Math.min(from + pageable.getPageSize(), positions.length);
+
+    List<InfoQuestionDTO> content = new ArrayList<>(to - from);
+    for (int i = from; i < to; i++) {
+      content.add(snapshot.infos[positions[i]]);
+    }
+    return new PageImpl<>(content, pageable, positions.length);
+  }
+
+  record FilterKey(String language, String category, String region) {
+
+  }
+
+  record QuizKey(String category, String language, String region, String type) {
+
+  }
+
+  /**
+   * Immutable view of the question bank at one point in time.
+   */
+  static final class Snapshot {
+
+    final List<Question> questions;
+    final InfoQuestionDTO[] infos;
+    final QuizQuestionDTO[] quizzes;
+    final Map<FilterKey, int[]> postings;
+    final Map<QuizKey, int[]> quizPools;
+    final QuestionSearchIndex searchIndex;
+
+    private Snapshot(List<Question> questions, InfoQuestionDTO[] infos, QuizQuestionDTO[] quizzes,
+        Map<FilterKey, int[]> postings, Map<QuizKey, int[]> quizPools,
+        QuestionSearchIndex searchIndex) {
+      this.questions = questions;
+      this.infos = infos;
+      this.quizzes = quizzes;
+      this.postings = postings;
+      this.quizPools = quizPools;
+      this.searchIndex = searchIndex;
+    }
+
+    static Snapshot build(List<Question> questions) {
+      InfoQuestionDTO[] infos = new InfoQuestionDTO[questions.size()];
+      QuizQuestionDTO[] quizzes = new QuizQuestionDTO[questions.size()];
+      Map<FilterKey, IntList> lists = new HashMap<>();
+      Map<QuizKey, IntList> pools = new HashMap<>();
+
+      for (int i = 0; i < questions.size(); i++) {
+        Question question = questions.get(i);
+        infos[i] = QuestionMapper.toInfoDTO(question);
+        quizzes[i] = QuestionMapper.toQuizDTO(question);
+        addToQuizPools(pools, question, i);
+
+        String language = question.getContentLanguage();
+        String category = question.getCategory();
+        String region = question.getRegion();
+        add(lists, new FilterKey(language, null, null), i);
+        if (category != null) {
+          add(lists, new FilterKey(language, category, null), i);
+        }
+        if (region != null) {
+          add(lists, new FilterKey(language, null, region), i);
+        }
+        if (category != null && region != null) {
+          add(lists, new FilterKey(language, category, region), i);
+        }
+      }
+
+      Map<FilterKey, int[]> postings = new HashMap<>(lists.size() * 2);
+      lists.forEach((key, list) -> postings.put(key, list.toArray()));
+      Map<QuizKey, int[]> quizPools = new HashMap<>(pools.size() * 2);
+      pools.forEach((key, list) -> quizPools.put(key, list.toArray()));
+      return new Snapshot(List.copyOf(questions), infos, quizzes, Map.copyOf(postings),
+          Map.copyOf(quizPools), QuestionSearchIndex.build(questions));
+    }
+
+    /**
+     * Add the question to the pool of every filter combination it matches (each filter either
+     * set to the question's value or left open).
+     */
+    private static void addToQuizPools(Map<QuizKey, IntList> pools, Question question,
+        int position) {
+      for (String category : filterValues(question.getCategory())) {
+        for (String language : filterValues(question.getContentLanguage())) {
+          for (String region : filterValues(question.getRegion())) {
+            for (String type : filterValues(question.getType())) {
+              add(pools, new QuizKey(category, language, region, type), position);
+            }
+          }
+        }
+      }
+    }
+
+    /**
+     * Filter values a question attribute is reachable under: "any" (null) and its own value.
+     */
+    private static String[] filterValues(String value) {
+      return value == null ? new String[]{null} : new String[]{null, value};
+    }
+
+    private static <K> void add(Map<K, IntList> lists, K key, int position) {
+      lists.computeIfAbsent(key, k -> new IntList()).add(position);
+    }
+  }
+
+  /**
+   * Minimal growable int array used while building posting lists.
+   */
+  private static final class IntList {
+
+    private int[] values = new int[16];
+    private int size;
+
+    void add(int value) {
+      if (size == values.length) {
+        values = Arrays.copyOf(values, size * 2);
+      }
+      values[size++] = value;
+    }
+
+    int[] toArray() {
+      return Arrays.copyOf(values, size);
+    }
+  }
+}
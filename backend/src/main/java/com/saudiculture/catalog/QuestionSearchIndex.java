@@ -0,0 +1,117 @@
+package com.saudiculture.catalog;
+
+import com.saudiculture.models.Question;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.NavigableMap;
+import java.util.TreeMap;
+
+/**
+ * Inverted index over question text, answer, term and term meaning.
+ * <p>
+ * Built from a catalog snapshot; documents are identified by their position in the snapshot.
+ * Every query token is matched as a prefix of indexed terms (exact matches score higher), all
+ * tokens must match, and results are ordered by score, then by snapshot position.
+ */
+final class QuestionSearchIndex {
+
+  private static final float TERM_WEIGHT = 3f;
+  private static final float QUESTION_TEXT_WEIGHT = 2f;
+  private static final float ANSWER_WEIGHT = 1f;
+  private static final float TERM_MEANING_WEIGHT = 1f;
+  private static final float PREFIX_MATCH_FACTOR = 0.5f;
+
+  private final NavigableMap<String, Postings> terms;
+
+  private QuestionSearchIndex(NavigableMap<String, Postings> terms) {
+    this.terms = terms;
+  }
+
+  static QuestionSearchIndex build(List<Question> questions) {
+    Map<String, Map<Integer, Float>> weights = new HashMap<>();
+    for (int position = 0; position < questions.size(); position++) {
+      Question question = questions.get(position);
+      addField(weights, position, question.getTerm(), TERM_WEIGHT);
+      addField(weights, position, question.getQuestionText(), QUESTION_TEXT_WEIGHT);
+      addField(weights, position, question.getAnswer(), ANSWER_WEIGHT);
+      addField(weights, position, question.getTermMeaning(), TERM_MEANING_WEIGHT);
+    }
+
+    TreeMap<String, Postings> terms = new TreeMap<>();
+    weights.forEach((term, docs) -> terms.put(term, Postings.of(docs)));
+    return new QuestionSearchIndex(terms);
+  }
+
+  /**
+   * Positions of matching documents, best match first. Empty when the query has no tokens.
+   */
+  int[] search(String query) {
+    List<String> tokens = TextNormalizer.tokenize(query);
+    if (tokens.isEmpty()) {
+      return QuestionCatalog.EMPTY;
+    }
+
+    Map<Integer, Float> scores = null;
+    for (String token : tokens) {
+      Map<Integer, Float> tokenScores = scoreToken(token);
+      if (scores == null) {
+        scores = tokenScores;
+      } else {
+        scores.keySet().retainAll(tokenScores.keySet());
+        scores.replaceAll((position, score) -> score + tokenScores.get(position));
+      }
+      if (scores.isEmpty()) {
+        return QuestionCatalog.EMPTY;
+      }
+    }
+
+    List<Map.Entry<Integer, Float>> ranked = new ArrayList<>(scores.entrySet());
+    ranked.sort(Map.Entry.<Integer, Float>comparingByValue().reversed()
+        .thenComparing(Map.Entry.comparingByKey()));
+    int[] positions = new int[ranked.size()];
+    for (int i = 0; i < positions.length; i++) {
+      positions[i] = ranked.get(i).getKey();
+    }
+    return positions;
+  }
+
+  /**
+   * Best score per document for one query token across all indexed terms it prefixes.
+   */
+  private Map<Integer, Float> scoreToken(String token) {
+    Map<Integer, Float> scores = new HashMap<>();
+    for (Map.Entry<String, Postings> entry
+        : terms.subMap(token, true, token + Character.MAX_VALUE, false).entrySet()) {
+      float factor = entry.getKey().equals(token) ? 1f : PREFIX_MATCH_FACTOR;
+      Postings postings = entry.getValue();
+      for (int i = 0; i < postings.positions.length; i++) {
+        scores.merge(postings.positions[i], postings.weights[i] * factor, Math::max);
+      }
+    }
+    return scores;
+  }
+
+  private static void addField(Map<String, Map<Integer, Float>> weights, int position,
+      String text, float weight) {
+    for (String token : TextNormalizer.tokenize(text)) {
+      weights.computeIfAbsent(token, k -> new HashMap<>()).merge(position, weight, Float::sum);
+    }
+  }
+
+  /**
+   * Document positions (ascending) and their accumulated weights for one term.
+   */
+  private record Postings(int[] positions, float[] weights) {
+
+    static Postings of(Map<Integer, Float> docs) {
+      int[] positions = docs.keySet().stream().mapToInt(Integer::intValue).sorted().toArray();
+      float[] weights = new float[positions.length];
+      for (int i = 0; i < positions.length; i++) {
+        weights[i] = docs.get(positions[i]);
+      }
+      return new Postings(positions, weights);
+    }
+  }
+}
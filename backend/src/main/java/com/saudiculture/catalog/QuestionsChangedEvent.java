@@ -0,0 +1,14 @@
+package com.saudiculture.catalog;
+
+import org.springframework.context.ApplicationEvent;
+
+/**
+ * Published whenever the content of the {@code questions} collection changes (e.g. after CSV
+ * loading), so in-memory views of the question bank can rebuild themselves.
+ */
+public class QuestionsChangedEvent extends ApplicationEvent {
+
+  public QuestionsChangedEvent(Object source) {
+    super(source);
+  }
+}
@@ -0,0 +1,109 @@
+package com.saudiculture.catalog;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+
+/**
+ * Search normalization for Arabic and English question content.
+ * <p>
+ * Arabic: strips tashkeel/harakat and tatweel, unifies alef forms (أ إ آ ٱ → ا), taa marbuta
+ * (ة → ه), alif maqsura (ى → ي) and removes the definite article prefixes. English: lowercases
+ * and applies a light suffix stemmer. The same pipeline runs over indexed text and queries.
+ */
+public final class TextNormalizer {
+
+  private static final String[] ARABIC_ARTICLES = {"وال", "بال", "كال", "فال", "لل", "ال"};
+
+  private TextNormalizer() {
+  }
+
+  /**
+   * Split text into normalized, stemmed search tokens.
+   */
+  public static List<String> tokenize(String text) {
+    List<String> tokens = new ArrayList<>();
+    if (text == null || text.isEmpty()) {
+      return tokens;
+    }
+
+    String normalized = normalize(text);
+    int start = -1;
+    for (int i = 0; i <= normalized.length(); i++) {
+      boolean letter = i < normalized.length() && Character.isLetterOrDigit(normalized.charAt(i));
+      if (letter && start < 0) {
+        start = i;
+      } else if (!letter && start >= 0) {
+        tokens.add(stem(normalized.substring(start, i)));
+        start = -1;
+      }
+    }
+    return tokens;
+  }
+
+  /**
+   * Lowercase and fold Arabic letter variants, dropping diacritics and tatweel.
+   */
+  public static String normalize(String text) {
+    StringBuilder builder = new StringBuilder(text.length());
+    for (int i = 0; i < text.length(); i++) {
+      char c = text.charAt(i);
+      if (isArabicDiacritic(c)) {
+        continue;
+      }
+      builder.append(foldArabic(c));
+    }
+    return builder.toString().toLowerCase(Locale.ROOT);
+  }
+
+  static String stem(String token) {
+    return isArabic(token.charAt(0)) ? stemArabic(token) : stemEnglish(token);
+  }
+
+  private static String stemArabic(String token) {
+    for (String article : ARABIC_ARTICLES) {
+      if (token.length() - article.length() >= 2 && token.startsWith(article)) {
+        return token.substring(article.length());
+      }
+    }
+    return token;
+  }
+
+  private static String stemEnglish(String token) {
+    int length = token.length();
+    if (length > 4 && token.endsWith("ies")) {
+      return token.substring(0, length - 3) + "y";
+    }
+    if (length > 4 && token.endsWith("sses")) {
+      return token.substring(0, length - 2);
+    }
+    if (length > 5 && token.endsWith("ing")) {
+      return token.substring(0, length - 3);
+    }
+    if (length > 4 && token.endsWith("ed")) {
+      return token.substring(0, length - 2);
+    }
+    if (length > 3 && token.endsWith("s") && !token.endsWith("ss") && !token.endsWith("us")) {
+      return token.substring(0, length - 1);
+    }
+    return token;
+  }
+
+  private static boolean isArabicDiacritic(char c) {
+    // Tanween, harakat, shadda, sukun and Quranic marks; superscript alef; tatweel
+    return (c >= '\u064B' && c <= '\u065F') || c == '\u0670' || c == '\u0640';
+  }
+
+  private static char foldArabic(char c) {
+    return switch (c) {
+      case '\u0623', '\u0625', '\u0622', '\u0671' -> '\u0627'; // أ إ آ ٱ → ا
+      case '\u0629' -> '\u0647'; // ة → ه
+      case '\u0649' -> '\u064A'; // ى → ي
+      default -> c;
+    };
+  }
+
+  private static boolean isArabic(char c) {
+    return c >= '\u0600' && c <= '\u06FF';
+  }
+}
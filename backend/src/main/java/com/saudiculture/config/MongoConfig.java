@@ -0,0 +1,72 @@
+package com.saudiculture.config;
+
+import com.mongodb.MongoClientSettings;
+import com.mongodb.reactivestreams.client.MongoClient;
+import org.springframework.beans.factory.ObjectProvider;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.autoconfigure.condition.ConditionalOnThreading;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.autoconfigure.mongo.ReactiveMongoClientFactory;
+import org.springframework.boot.autoconfigure.thread.Threading;
+import org.springframework.context.annotation.Bean;
+import org.springframework.context.annotation.Configuration;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * MongoDB driver connection pool sizing ({@code mongodb.pool.*}).
+ * <p>
+ * With platform threads the Tomcat pool bounds how many requests wait on MongoDB at once, and the
+ * driver defaults are kept. With virtual threads ({@code spring.threads.virtual.enabled}) every
+ * open connection can have a request blocked on the driver, so the connection pool becomes that
+ * bound: it is kept warm, new connections are opened a few at a time, and requests that cannot
+ * get a connection within {@code max-wait-ms} fail instead of queueing without limit.
+ * <p>
+ * The reactive client behind {@code /api/stream} has a pool of its own per host, capped at
+ * {@code reactive-max-size} in both modes so it does not double the connection budget.
+ */
+@Configuration
+public class MongoConfig {
+
+  @Value("${mongodb.pool.max-size:100}")
+  private int maxSize = 100;
+
+  @Value("${mongodb.pool.min-size:0}")
+  private int minSize;
+
+  @Value("${mongodb.pool.max-connecting:2}")
+  private int maxConnecting = 2;
+
+  @Value("${mongodb.pool.max-wait-ms:120000}")
+  private long maxWaitMs = 120000;
+
+  @Value("${mongodb.pool.reactive-max-size:20}")
+  private int reactiveMaxSize = 20;
+
+  @Bean
+  @ConditionalOnThreading(Threading.VIRTUAL)
+  public MongoClientSettingsBuilderCustomizer connectionPoolCustomizer() {
+    return settings -> settings.applyToConnectionPoolSettings(pool -> pool
+        .maxSize(maxSize)
+        .minSize(minSize)
+        .maxConnecting(maxConnecting)
+        .maxWaitTime(maxWaitMs, TimeUnit.MILLISECONDS));
+  }
+
+  /**
+   * The auto-configured reactive client with every customizer applied, then its own pool cap.
+   */
+  @Bean
+  public MongoClient reactiveStreamsMongoClient(
+      ObjectProvider<MongoClientSettingsBuilderCustomizer> customizers,
+      MongoClientSettings settings) {
+    List<MongoClientSettingsBuilderCustomizer> reactiveCustomizers =
+        new ArrayList<>(customizers.orderedStream().toList());
+    reactiveCustomizers.add(builder -> builder.applyToConnectionPoolSettings(pool -> pool
+        .maxSize(reactiveMaxSize)
+        .minSize(0)));
+    return new ReactiveMongoClientFactory(reactiveCustomizers).createMongoClient(settings);
+  }
+}
@@ -0,0 +1,55 @@
+package com.saudiculture.controllers;
+
+import com.saudiculture.exception.ResourceNotFoundException;
+import com.saudiculture.services.QuestionImageService;
+import com.saudiculture.services.QuestionImageService.StoredImage;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.responses.ApiResponse;
+import io.swagger.v3.oas.annotations.responses.ApiResponses;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import java.time.Duration;
+import lombok.RequiredArgsConstructor;
+import org.springframework.core.io.Resource;
+import org.springframework.http.CacheControl;
+import org.springframework.http.MediaType;
+import org.springframework.http.ResponseEntity;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RestController;
+
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/images")
+@Tag(name = "Images", description = "Question images")
+public class ImageController {
+
+  // Stored images never change (a new image gets a new id), so clients may cache them for good
+  private static final Duration IMAGE_MAX_AGE = Duration.ofDays(365);
+
+  private final QuestionImageService questionImageService;
+
+  @GetMapping("/{id}")
+  @Operation(
+      summary = "Get a question image",
+      description = "Streams the image bytes. Supports Range requests and conditional requests via ETag."
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Image content"),
+      @ApiResponse(responseCode = "206", description = "Requested byte range of the image"),
+      @ApiResponse(responseCode = "304", description = "Image not modified since the given ETag"),
+      @ApiResponse(responseCode = "404", description = "Image not found")
+  })
+  public ResponseEntity<Resource> getImage(@PathVariable String id) {
+    StoredImage image = questionImageService.find(id)
+        .orElseThrow(() -> new ResourceNotFoundException("Image not found: " + id));
+
+    // Spring MVC answers If-None-Match with 304 and Range with 206, streaming only the range
+    return ResponseEntity.ok()
+        .contentType(MediaType.parseMediaType(image.contentType()))
+        .eTag(image.checksum())
+        .lastModified(image.uploadedAt())
+        .cacheControl(CacheControl.maxAge(IMAGE_MAX_AGE).cachePublic().immutable())
+        .body(image.content());
+  }
+}
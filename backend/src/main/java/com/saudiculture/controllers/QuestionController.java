@@ -2,34 +2,45 @@ package com.saudiculture.controllers;
 
 import com.saudiculture.dto.InfoQuestionDTO;
 import com.saudiculture.dto.QuizQuestionDTO;
+import com.saudiculture.dto.QuizSubmissionPage;
 import com.saudiculture.dto.QuizSubmissionRequest;
 import com.saudiculture.dto.QuizSubmissionResponse;
-import com.saudiculture.models.User;
-import com.saudiculture.repositories.UserRepository;
 import com.saudiculture.services.QuestionService;
+import com.saudiculture.services.QuizSubmissionImportService;
 import com.saudiculture.services.QuizSubmissionService;
+import com.saudiculture.services.UserIdResolver;
 import io.swagger.v3.oas.annotations.Operation;
 import io.swagger.v3.oas.annotations.Parameter;
 import io.swagger.v3.oas.annotations.responses.ApiResponse;
 import io.swagger.v3.oas.annotations.responses.ApiResponses;
 import io.swagger.v3.oas.annotations.security.SecurityRequirement;
 import io.swagger.v3.oas.annotations.tags.Tag;
+import jakarta.servlet.http.HttpServletRequest;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
 import org.springframework.data.domain.Page;
 
 import static net.logstash.logback.argument.StructuredArguments.keyValue;
+import org.springframework.http.CacheControl;
 import org.springframework.http.HttpStatus;
+import org.springframework.http.MediaType;
 import org.springframework.http.ResponseEntity;
 import org.springframework.security.core.Authentication;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.PathVariable;
 import org.springframework.web.bind.annotation.PostMapping;
 import org.springframework.web.bind.annotation.RequestBody;
 import org.springframework.web.bind.annotation.RequestMapping;
 import org.springframework.web.bind.annotation.RequestParam;
 import org.springframework.web.bind.annotation.RestController;
+import org.springframework.web.servlet.mvc.method.annotation.StreamingResponseBody;
 
+import java.io.IOException;
+import java.io.InputStream;
+import java.time.Duration;
+import java.time.ZoneOffset;
+import java.time.ZonedDateTime;
 import java.util.List;
 
 @RestController
@@ -41,7 +52,10 @@ public class QuestionController {
 
   private final QuestionService questionService;
   private final QuizSubmissionService quizSubmissionService;
-  private final UserRepository userRepository;
+  private final UserIdResolver userIdResolver;
+  private final QuizSubmissionImportService quizSubmissionImportService;
+
+  private static final Duration SEEDED_QUIZ_MAX_AGE = Duration.ofHours(1);
 
   @Operation(
       summary = "Get informational questions",
@@ -72,10 +86,13 @@ public class QuestionController {
 
   @Operation(
       summary = "Get random quiz questions",
-      description = "Retrieve a randomized set of quiz questions, optionally filtered by category, region, and type"
+      description = "Retrieve a randomized set of quiz questions, optionally filtered by category, region, and type. "
+          + "With a seed (or daily=true, which uses the current UTC day as seed) the same filters always return "
+          + "the same questions and the response is cacheable."
   )
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved quiz questions"),
+      @ApiResponse(responseCode = "304", description = "Seeded quiz not modified since the given ETag"),
       @ApiResponse(responseCode = "400", description = "Invalid parameters")
   })
   @GetMapping("/quiz")
@@ -89,10 +106,25 @@ public class QuestionController {
       @Parameter(description = "Filter by question type (MCQ, True/False, or 'all' for mixed)")
       @RequestParam(required = false) String type,
       @Parameter(description = "Number of random questions to retrieve")
-      @RequestParam(defaultValue = "20") int size
+      @RequestParam(defaultValue = "20") int size,
+      @Parameter(description = "Seed for a reproducible question set")
+      @RequestParam(required = false) Long seed,
+      @Parameter(description = "Daily challenge: derive the seed from the current UTC date (overrides seed)")
+      @RequestParam(defaultValue = "false") boolean daily
   ) {
-    List<QuizQuestionDTO> quizList = questionService.getQuizzes(category, language, region, type, size);
-    return ResponseEntity.ok(quizList);
+    Long quizSeed = daily ? Long.valueOf(questionService.dailySeed()) : seed;
+    List<QuizQuestionDTO> quizList = questionService.getQuizzes(category, language, region, type, size, quizSeed);
+
+    if (quizSeed == null) {
+      return ResponseEntity.ok().cacheControl(CacheControl.noStore()).body(quizList);
+    }
+
+    // Conditional GETs are answered with 304 by Spring MVC when the ETag matches
+    Duration maxAge = daily ? untilNextUtcDay() : SEEDED_QUIZ_MAX_AGE;
+    return ResponseEntity.ok()
+        .eTag(quizETag(quizSeed, quizList))
+        .cacheControl(CacheControl.maxAge(maxAge).cachePublic())
+        .body(quizList);
   }
 
   @PostMapping("/quiz-submissions")
@@ -126,41 +158,94 @@ public class QuestionController {
     return ResponseEntity.status(HttpStatus.CREATED).body(response);
   }
 
+  @PostMapping(value = "/quiz-submissions/bulk", consumes = {MediaType.APPLICATION_NDJSON_VALUE,
+      MediaType.TEXT_PLAIN_VALUE}, produces = MediaType.APPLICATION_NDJSON_VALUE)
+  @Operation(
+      summary = "Bulk import quiz submissions",
+      description = "Import attempts taken offline as NDJSON, one {userId, submittedAt, answers} object per line. "
+          + "Each line is graded like a regular submission and a result line (CREATED or FAILED) is streamed back "
+          + "for every input line. Requires membership in the configured import group.",
+      security = @SecurityRequirement(name = "Bearer Authentication")
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Import processed, see per-line results"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized - valid JWT required"),
+      @ApiResponse(responseCode = "403", description = "Not a member of the import group")
+  })
+  public ResponseEntity<StreamingResponseBody> importQuizSubmissions(
+      HttpServletRequest request,
+      Authentication authentication) throws IOException {
+    // Import group membership is enforced in SecurityConfig
+    Jwt jwt = (Jwt) authentication.getPrincipal();
+    log.info("Bulk quiz submission import requested", keyValue("cognitoId", jwt.getSubject()));
+
+    InputStream body = request.getInputStream();
+    StreamingResponseBody results = out -> quizSubmissionImportService.importSubmissions(body, out);
+    return ResponseEntity.ok().contentType(MediaType.APPLICATION_NDJSON).body(results);
+  }
+
   @GetMapping("/quiz-submissions")
   @Operation(
       summary = "Get my quiz submissions",
-      description = "Retrieve all quiz submissions for the authenticated user, ordered by most recent first.",
+      description = "Retrieve the authenticated user's quiz submissions, most recent first, one page at a time. "
+          + "Items are summaries without answers; pass nextCursor as cursor to get the next page.",
       security = @SecurityRequirement(name = "Bearer Authentication")
   )
   @ApiResponses(value = {
       @ApiResponse(responseCode = "200", description = "Successfully retrieved submissions"),
+      @ApiResponse(responseCode = "400", description = "Invalid cursor"),
       @ApiResponse(responseCode = "401", description = "Unauthorized - valid JWT required"),
       @ApiResponse(responseCode = "404", description = "User not found - call /api/users/me first")
   })
-  public ResponseEntity<List<QuizSubmissionResponse>> getQuizSubmissions(
+  public ResponseEntity<QuizSubmissionPage> getQuizSubmissions(
+      @Parameter(description = "Cursor from the previous page's nextCursor; omit for the first page")
+      @RequestParam(required = false) String cursor,
+      @Parameter(description = "Number of submissions per page (max 100)")
+      @RequestParam(defaultValue = "20") int size,
       Authentication authentication) {
     String userId = getUserIdFromJwt(authentication);
 
     log.info("Quiz submissions requested", keyValue("userId", userId));
 
-    List<QuizSubmissionResponse> submissions = quizSubmissionService.getQuizSubmissions(userId);
+    QuizSubmissionPage submissions = quizSubmissionService.getQuizSubmissions(userId, cursor, size);
 
     log.info("Quiz submissions retrieved",
         keyValue("userId", userId),
-        keyValue("count", submissions.size()));
+        keyValue("count", submissions.items().size()));
 
     return ResponseEntity.ok(submissions);
   }
 
+  @GetMapping("/quiz-submissions/{id}")
+  @Operation(
+      summary = "Get one of my quiz submissions",
+      description = "Retrieve a single submission of the authenticated user, including every answer.",
+      security = @SecurityRequirement(name = "Bearer Authentication")
+  )
+  @ApiResponses(value = {
+      @ApiResponse(responseCode = "200", description = "Successfully retrieved the submission"),
+      @ApiResponse(responseCode = "401", description = "Unauthorized - valid JWT required"),
+      @ApiResponse(responseCode = "404", description = "Submission not found")
+  })
+  public ResponseEntity<QuizSubmissionResponse> getQuizSubmission(
+      @PathVariable String id,
+      Authentication authentication) {
+    String userId = getUserIdFromJwt(authentication);
+    return ResponseEntity.ok(quizSubmissionService.getQuizSubmission(userId, id));
+  }
+
 
-  private String getUserIdFromJwt(Authentication authentication) {
-    Jwt jwt = (Jwt) authentication.getPrincipal();
-    String cognitoId = jwt.getSubject();
+  private static String quizETag(long seed, List<QuizQuestionDTO> quizList) {
+    return Long.toHexString(seed) + "-" + Integer.toHexString(quizList.hashCode());
+  }
 
-    User user = userRepository.findByCognitoId(cognitoId)
-        .orElseThrow(() -> new IllegalStateException(
-            "User not found. Please call /api/users/me to sync your profile first."));
+  private static Duration untilNextUtcDay() {
+    ZonedDateTime now = ZonedDateTime.now(ZoneOffset.UTC);
+    return Duration.between(now, now.toLocalDate().plusDays(1).atStartOfDay(ZoneOffset.UTC));
+  }
 
-    return user.getId();
+  private String getUserIdFromJwt(Authentication authentication) {
+    Jwt jwt = (Jwt) authentication.getPrincipal();
+    return userIdResolver.resolve(jwt.getSubject());
   }
 }
\ No newline at end of file
@@ -0,0 +1,78 @@
+package com.saudiculture.controllers;
+
+import com.saudiculture.dto.InfoQuestionDTO;
+import com.saudiculture.dto.QuizQuestionDTO;
+import com.saudiculture.services.QuestionService;
+import com.saudiculture.services.ReactiveQuestionService;
+import io.swagger.v3.oas.annotations.Operation;
+import io.swagger.v3.oas.annotations.Parameter;
+import io.swagger.v3.oas.annotations.tags.Tag;
+import lombok.RequiredArgsConstructor;
+import org.springframework.http.MediaType;
+import org.springframework.web.bind.annotation.GetMapping;
+import org.springframework.web.bind.annotation.RequestMapping;
+import org.springframework.web.bind.annotation.RequestParam;
+import org.springframework.web.bind.annotation.RestController;
+import reactor.core.publisher.Flux;
+
+/**
+ * Streaming (newline-delimited JSON) variants of {@code /api/info} and {@code /api/quiz}, backed
+ * by the reactive MongoDB driver. Each question is written as soon as it is read, and no request
+ * thread waits on MongoDB.
+ */
+@RequiredArgsConstructor
+@RestController
+@RequestMapping("/api/stream")
+@Tag(name = "Streaming", description = "Newline-delimited JSON streams of info and quiz questions")
+public class QuestionStreamController {
+
+  private final ReactiveQuestionService reactiveQuestionService;
+  private final QuestionService questionService;
+
+  @Operation(
+      summary = "Stream informational questions",
+      description = "Same filters and paging as /api/info; one question per line, without page totals."
+  )
+  @GetMapping(value = "/info", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<InfoQuestionDTO> streamInfo(
+      @Parameter(description = "Filter by language (defaults to Arabic)")
+      @RequestParam(defaultValue = "Arabic") String language,
+      @Parameter(description = "Filter by category")
+      @RequestParam(required = false) String category,
+      @Parameter(description = "Filter by region")
+      @RequestParam(required = false) String region,
+      @Parameter(description = "Search term to find in question text, answer, term, or term meaning")
+      @RequestParam(required = false) String search,
+      @Parameter(description = "Page number (zero-indexed)")
+      @RequestParam(defaultValue = "0") int page,
+      @Parameter(description = "Number of items per page")
+      @RequestParam(defaultValue = "20") int size
+  ) {
+    return reactiveQuestionService.getInfo(language, category, region, search, page, size);
+  }
+
+  @Operation(
+      summary = "Stream random quiz questions",
+      description = "Same filters, seed and daily options as /api/quiz; one question per line."
+  )
+  @GetMapping(value = "/quiz", produces = MediaType.APPLICATION_NDJSON_VALUE)
+  public Flux<QuizQuestionDTO> streamQuizzes(
+      @Parameter(description = "Filter by category")
+      @RequestParam(required = false) String category,
+      @Parameter(description = "Filter by language")
+      @RequestParam(required = false) String language,
+      @Parameter(description = "Filter by region")
+      @RequestParam(required = false) String region,
+      @Parameter(description = "Filter by question type (MCQ, True/False, or 'all' for mixed)")
+      @RequestParam(required = false) String type,
+      @Parameter(description = "Number of random questions to retrieve")
+      @RequestParam(defaultValue = "20") int size,
+      @Parameter(description = "Seed for a reproducible question set")
+      @RequestParam(required = false) Long seed,
+      @Parameter(description = "Daily challenge: derive the seed from the current UTC date (overrides seed)")
+      @RequestParam(defaultValue = "false") boolean daily
+  ) {
+    Long quizSeed = daily ? Long.valueOf(questionService.dailySeed()) : seed;
+    return reactiveQuestionService.getQuizzes(category, language, region, type, size, quizSeed);
+  }
+}
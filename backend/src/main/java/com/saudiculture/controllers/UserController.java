@@ -2,8 +2,7 @@ package com.saudiculture.controllers;
 
 import com.saudiculture.dto.UserDTO;
 import com.saudiculture.dto.UserStatsResponse;
-import com.saudiculture.models.User;
-import com.saudiculture.repositories.UserRepository;
+import com.saudiculture.services.UserIdResolver;
 import com.saudiculture.services.UserService;
 import com.saudiculture.services.UserStatsService;
 import io.swagger.v3.oas.annotations.Operation;
@@ -27,7 +26,7 @@ public class UserController {
 
   private final UserService userService;
   private final UserStatsService userStatsService;
-  private final UserRepository userRepository;
+  private final UserIdResolver userIdResolver;
 
   @GetMapping("/me")
   @Operation(
@@ -47,13 +46,9 @@ public class UserController {
   )
   public ResponseEntity<UserStatsResponse> getUserStats(Authentication authentication) {
     Jwt jwt = (Jwt) authentication.getPrincipal();
-    String cognitoId = jwt.getClaim("sub");
+    String userId = userIdResolver.resolve(jwt.getClaim("sub"));
 
-    User user = userRepository.findByCognitoId(cognitoId)
-        .orElseThrow(() -> new IllegalStateException(
-            "User not found. Please call /api/users/me to sync your profile first."));
-
-    UserStatsResponse stats = userStatsService.getUserStats(user.getId());
+    UserStatsResponse stats = userStatsService.getUserStats(userId);
     return ResponseEntity.ok(stats);
   }
 
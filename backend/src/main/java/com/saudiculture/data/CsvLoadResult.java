@@ -0,0 +1,71 @@
+package com.saudiculture.data;
+
+import lombok.Data;
+
+import java.util.ArrayList;
+import java.util.List;
+
+@Data
+public class CsvLoadResult {
+    private String fileName;
+    private int totalRows;
+    private int loadedRows;
+    private int skippedRows;
+    private int deletedRows;
+    private boolean unchanged;
+    private List<ValidationIssue> errors;
+    private List<ValidationIssue> warnings;
+
+    public CsvLoadResult(String fileName) {
+        this.fileName = fileName;
+        this.totalRows = 0;
+        this.loadedRows = 0;
+        this.skippedRows = 0;
+        this.errors = new ArrayList<>();
+        this.warnings = new ArrayList<>();
+    }
+
+    public void incrementTotal() {
+        this.totalRows++;
+    }
+
+    public void incrementLoaded() {
+        this.loadedRows++;
+    }
+
+    public void incrementSkipped() {
+        this.skippedRows++;
+    }
+
+    public void addError(ValidationIssue error) {
+        this.errors.add(error);
+    }
+
+    public void addWarning(ValidationIssue warning) {
+        this.warnings.add(warning);
+    }
+
+    public boolean hasErrors() {
+        return !errors.isEmpty();
+    }
+
+    public boolean hasWarnings() {
+        return !warnings.isEmpty();
+    }
+
+    /**
+     * Whether the file as a whole could not be read or synced, rather than some of its rows.
+     */
+    public boolean isFailed() {
+        return errors.stream().anyMatch(error -> error.code() == ValidationIssue.Code.FILE_READ_FAILED
+                || error.code() == ValidationIssue.Code.FILE_LOAD_FAILED);
+    }
+
+    public String getSummary() {
+        if (unchanged) {
+            return fileName + ": Unchanged since last sync";
+        }
+        return String.format("%s: Loaded %d/%d rows (Skipped: %d, Deleted: %d, Errors: %d, Warnings: %d)",
+                fileName, loadedRows, totalRows, skippedRows, deletedRows, errors.size(), warnings.size());
+    }
+}
@@ -0,0 +1,22 @@
+package com.saudiculture.data;
+
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.endpoint.annotation.Endpoint;
+import org.springframework.boot.actuate.endpoint.annotation.ReadOperation;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code /actuator/dataload}: progress of the background startup data load.
+ */
+@Component
+@Endpoint(id = "dataload")
+@RequiredArgsConstructor
+public class DataLoadEndpoint {
+
+  private final DataLoadProgress progress;
+
+  @ReadOperation
+  public DataLoadProgress.Snapshot progress() {
+    return progress.snapshot();
+  }
+}
@@ -0,0 +1,64 @@
+package com.saudiculture.data;
+
+import java.util.Map;
+import java.util.function.Function;
+import java.util.stream.Collectors;
+import org.springframework.boot.actuate.endpoint.SecurityContext;
+import org.springframework.boot.actuate.health.AdditionalHealthEndpointPath;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+import org.springframework.boot.actuate.health.HealthEndpointGroupsPostProcessor;
+import org.springframework.boot.actuate.health.HttpCodeStatusMapper;
+import org.springframework.boot.actuate.health.StatusAggregator;
+import org.springframework.stereotype.Component;
+
+/**
+ * Leaves the {@code dataLoad} contributor out of the root {@code /actuator/health}, so only the
+ * readiness group (see {@code management.endpoint.health.group.readiness}) reports the startup
+ * data load. Existing checks against the root endpoint keep getting 200 while it runs.
+ */
+@Component
+public class DataLoadHealthGroups implements HealthEndpointGroupsPostProcessor {
+
+  static final String CONTRIBUTOR = "dataLoad";
+
+  @Override
+  public HealthEndpointGroups postProcessHealthEndpointGroups(HealthEndpointGroups groups) {
+    Map<String, HealthEndpointGroup> additional = groups.getNames().stream()
+        .collect(Collectors.toMap(Function.identity(), groups::get));
+    return HealthEndpointGroups.of(new WithoutDataLoad(groups.getPrimary()), additional);
+  }
+
+  private record WithoutDataLoad(HealthEndpointGroup delegate) implements HealthEndpointGroup {
+
+    @Override
+    public boolean isMember(String name) {
+      return !CONTRIBUTOR.equals(name) && delegate.isMember(name);
+    }
+
+    @Override
+    public boolean showComponents(SecurityContext securityContext) {
+      return delegate.showComponents(securityContext);
+    }
+
+    @Override
+    public boolean showDetails(SecurityContext securityContext) {
+      return delegate.showDetails(securityContext);
+    }
+
+    @Override
+    public StatusAggregator getStatusAggregator() {
+      return delegate.getStatusAggregator();
+    }
+
+    @Override
+    public HttpCodeStatusMapper getHttpCodeStatusMapper() {
+      return delegate.getHttpCodeStatusMapper();
+    }
+
+    @Override
+    public AdditionalHealthEndpointPath getAdditionalPath() {
+      return delegate.getAdditionalPath();
+    }
+  }
+}
@@ -0,0 +1,46 @@
+package com.saudiculture.data;
+
+import com.saudiculture.catalog.QuestionCatalog;
+import lombok.RequiredArgsConstructor;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthIndicator;
+import org.springframework.stereotype.Component;
+
+/**
+ * {@code dataLoad} health contributor, only part of the readiness group (see
+ * {@link DataLoadHealthGroups}). With the question catalog enabled it is OUT_OF_SERVICE until the
+ * startup data load has completed, so instances only get traffic once the catalog is loaded; the
+ * load is retried until it does. With the catalog disabled reads go straight to MongoDB and the
+ * load never holds back readiness. CSV files that failed to sync are reported as details only.
+ */
+@Component
+@RequiredArgsConstructor
+public class DataLoadHealthIndicator implements HealthIndicator {
+
+  private final DataLoadProgress progress;
+  private final QuestionCatalog questionCatalog;
+
+  @Override
+  public Health health() {
+    DataLoadProgress.Snapshot snapshot = progress.snapshot();
+    Health.Builder builder;
+    if (!questionCatalog.isEnabled() || snapshot.state() == DataLoadProgress.State.COMPLETED) {
+      builder = Health.up();
+    } else if (snapshot.state() == DataLoadProgress.State.FAILED) {
+      builder = Health.down();
+    } else {
+      builder = Health.outOfService();
+    }
+    builder.withDetail("state", snapshot.state())
+        .withDetail("attempts", snapshot.attempts())
+        .withDetail("filesDone", snapshot.filesDone())
+        .withDetail("filesTotal", snapshot.filesTotal());
+    if (!snapshot.failedFiles().isEmpty()) {
+      builder.withDetail("failedFiles", snapshot.failedFiles());
+    }
+    if (snapshot.error() != null) {
+      builder.withDetail("error", snapshot.error());
+    }
+    return builder.build();
+  }
+}
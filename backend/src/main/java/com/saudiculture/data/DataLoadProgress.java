@@ -0,0 +1,123 @@
+package com.saudiculture.data;
+
+import java.time.Duration;
+import java.time.Instant;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicInteger;
+import org.springframework.stereotype.Component;
+
+/**
+ * Progress of the startup data load run by {@link DataLoader}: CSV sync followed by the first
+ * question catalog load, retried until it succeeds. Written by the loader threads, read by the
+ * {@code dataload} actuator endpoint and the readiness health check.
+ */
+@Component
+public class DataLoadProgress {
+
+  public enum State {
+    PENDING,
+    WAITING_FOR_DATABASE,
+    SYNCING_CSV,
+    LOADING_CATALOG,
+    // An attempt failed; the next one starts after a backoff
+    RETRYING,
+    COMPLETED,
+    FAILED
+  }
+
+  private volatile State state = State.PENDING;
+  private volatile Instant startedAt;
+  private volatile Instant finishedAt;
+  private volatile String error;
+  private volatile List<String> failedFiles = List.of();
+  private final AtomicInteger attempts = new AtomicInteger();
+  private final AtomicInteger filesTotal = new AtomicInteger();
+  private final AtomicInteger filesDone = new AtomicInteger();
+  private final AtomicInteger rowsLoaded = new AtomicInteger();
+  private final AtomicInteger rowsSkipped = new AtomicInteger();
+
+  public State getState() {
+    return state;
+  }
+
+  /**
+   * Whether the startup load is over: completed, or stopped by shutdown.
+   */
+  public boolean isFinished() {
+    return state == State.COMPLETED || state == State.FAILED;
+  }
+
+  void start() {
+    startedAt = Instant.now();
+  }
+
+  /**
+   * Begin an attempt at the load, the first one or a retry.
+   */
+  void attempt() {
+    attempts.incrementAndGet();
+    state = State.WAITING_FOR_DATABASE;
+  }
+
+  void retry(String reason) {
+    error = reason;
+    state = State.RETRYING;
+  }
+
+  void moveTo(State next) {
+    state = next;
+  }
+
+  void filesFound(int files) {
+    filesTotal.set(files);
+    filesDone.set(0);
+  }
+
+  void fileDone(CsvLoadResult result) {
+    rowsLoaded.addAndGet(result.getLoadedRows());
+    rowsSkipped.addAndGet(result.getSkippedRows());
+    filesDone.incrementAndGet();
+  }
+
+  void complete() {
+    complete(List.of());
+  }
+
+  /**
+   * Finish the load. Files that failed to sync are reported but do not fail it; they are synced
+   * again on the next start.
+   */
+  void complete(List<String> failedFiles) {
+    this.failedFiles = List.copyOf(failedFiles);
+    finish(State.COMPLETED, null);
+  }
+
+  void fail(String reason) {
+    finish(State.FAILED, reason);
+  }
+
+  private void finish(State finalState, String reason) {
+    error = reason;
+    finishedAt = Instant.now();
+    state = finalState;
+  }
+
+  public Snapshot snapshot() {
+    Instant started = startedAt;
+    Instant finished = finishedAt;
+    Long durationMs = started == null ? null
+        : Duration.between(started, finished != null ? finished : Instant.now()).toMillis();
+    return new Snapshot(state, started, finished, durationMs, attempts.get(), filesTotal.get(),
+        filesDone.get(), rowsLoaded.get(), rowsSkipped.get(), failedFiles, error);
+  }
+
+  /**
+   * @param failedFiles CSV files that failed to sync in the completed load
+   * @param error       why the last attempt failed, while retrying
+   */
+  public record Snapshot(State state, Instant startedAt, Instant finishedAt, Long durationMs,
+                         int attempts, int filesTotal, int filesDone, int rowsLoaded,
+                         int rowsSkipped, List<String> failedFiles, String error) {
+
+  }
+}
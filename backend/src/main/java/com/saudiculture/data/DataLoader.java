@@ -0,0 +1,545 @@
+package com.saudiculture.data;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.saudiculture.catalog.QuestionCatalog;
+import com.saudiculture.catalog.QuestionsChangedEvent;
+import com.saudiculture.data.DataLoadProgress.State;
+import com.saudiculture.data.ValidationIssue.Code;
+import com.saudiculture.models.CsvSyncState;
+import com.saudiculture.models.Question;
+import com.saudiculture.repositories.QuestionRepository;
+import jakarta.annotation.PreDestroy;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.ApplicationContext;
+import org.springframework.context.event.EventListener;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.LocalDateTime;
+import java.util.*;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ExecutionException;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+import java.util.stream.Stream;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+/**
+ * Startup data load: syncs the CSV content into MongoDB, then loads the question catalog. Runs on
+ * a background thread once the application is ready, so startup and liveness do not wait on
+ * MongoDB or large files; readiness waits for the catalog (see {@link DataLoadHealthIndicator}),
+ * and progress is reported through {@link DataLoadProgress}.
+ * <p>
+ * A failed attempt (database unreachable, catalog not loadable) is retried with exponential
+ * backoff until it succeeds, so an instance started during a database outage becomes ready once
+ * the database is back. A single CSV file that fails to sync does not fail the load; it is
+ * reported and synced again on the next start.
+ */
+@Component
+@Slf4j
+public class DataLoader {
+
+  private final QuestionRepository questionRepository;
+  private final MongoTemplate mongoTemplate;
+  private final ApplicationContext applicationContext;
+  private final QuestionValidator validator;
+  private final QuestionCatalog questionCatalog;
+  private final DataLoadProgress progress;
+
+  private volatile Thread loader;
+
+  @Value("${csv.loading.enabled:true}")
+  private boolean loadingEnabled;
+
+  @Value("${csv.loading.retries:5}")
+  private int retries;
+
+  @Value("${csv.loading.retry-delay-ms:2000}")
+  private long retryDelayMs = 2000;
+
+  // Upper bound of the backoff between failed load attempts
+  @Value("${csv.loading.max-retry-delay-ms:60000}")
+  private long maxRetryDelayMs = 60000;
+
+  @Value("${csv.loading.log-errors:true}")
+  private boolean logErrors;
+
+  @Value("${csv.loading.log-warnings:false}")
+  private boolean logWarnings;
+
+  // Number of CSV files parsed and written concurrently
+  @Value("${csv.loading.parallelism:4}")
+  private int parallelism = 4;
+
+  // Questions per unordered insertMany; bounds the rows held in memory per file being loaded
+  @Value("${csv.loading.batch-size:1000}")
+  private int batchSize = 1000;
+
+  @Value("${spring.threads.virtual.enabled:false}")
+  private boolean virtualThreads;
+
+  public DataLoader(QuestionRepository questionRepository,
+      MongoTemplate mongoTemplate,
+      ApplicationContext applicationContext,
+      QuestionValidator validator,
+      QuestionCatalog questionCatalog,
+      DataLoadProgress progress) {
+    this.questionRepository = questionRepository;
+    this.mongoTemplate = mongoTemplate;
+    this.applicationContext = applicationContext;
+    this.validator = validator;
+    this.questionCatalog = questionCatalog;
+    this.progress = progress;
+  }
+
+  @EventListener(ApplicationReadyEvent.class)
+  public void start() {
+    loader = threads().name("data-loader").unstarted(this::run);
+    loader.start();
+  }
+
+  /**
+   * Virtual threads in virtual-thread mode, daemon platform threads otherwise. The CSV pool
+   * keeps its {@code csv.loading.parallelism} bound either way.
+   */
+  private Thread.Builder threads() {
+    return virtualThreads ? Thread.ofVirtual() : Thread.ofPlatform().daemon(true);
+  }
+
+  @PreDestroy
+  public void stop() {
+    Thread running = loader;
+    if (running != null) {
+      running.interrupt();
+    }
+  }
+
+  void run() {
+    progress.start();
+    if (!loadingEnabled && !questionCatalog.isEnabled()) {
+      log.info("CSV loading is disabled");
+      progress.complete();
+      return;
+    }
+
+    long delayMs = retryDelayMs;
+    try {
+      while (true) {
+        progress.attempt();
+        String error = attemptLoad();
+        if (error == null) {
+          return;
+        }
+        progress.retry(error);
+        log.warn("Startup data load failed, retrying",
+            keyValue("error", error), keyValue("retryInMs", delayMs));
+        Thread.sleep(delayMs);
+        delayMs = Math.min(Math.max(delayMs * 2, 1), maxRetryDelayMs);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      progress.fail("Interrupted");
+    }
+  }
+
+  /**
+   * One attempt at the whole load.
+   *
+   * @return null once the load is complete, otherwise why it failed
+   */
+  private String attemptLoad() throws InterruptedException {
+    try {
+      if (!awaitDatabase()) {
+        return "Database not reachable";
+      }
+
+      List<String> failedFiles = List.of();
+      if (loadingEnabled) {
+        progress.moveTo(State.SYNCING_CSV);
+        log.info("Starting CSV sync");
+        int keyed = backfillContentKeys();
+        CsvSyncOutcome sync = loadDataFromCsv();
+        progress.moveTo(State.LOADING_CATALOG);
+        // Files that did sync changed content even when others failed, and a failed earlier
+        // attempt may have written part of it
+        if (sync.changed() || keyed > 0 || progress.snapshot().attempts() > 1) {
+          applicationContext.publishEvent(new QuestionsChangedEvent(this));
+        }
+        failedFiles = sync.failedFiles();
+      } else {
+        log.info("CSV loading is disabled");
+      }
+
+      // Unchanged content publishes no event, so the catalog still needs its first load
+      if (questionCatalog.isEnabled() && !questionCatalog.isReady()) {
+        progress.moveTo(State.LOADING_CATALOG);
+        questionCatalog.refresh();
+      }
+      if (!failedFiles.isEmpty()) {
+        log.error("CSV sync failed for files, retrying them on next start",
+            keyValue("files", failedFiles));
+      }
+      progress.complete(failedFiles);
+      log.info("Startup data load complete",
+          keyValue("durationMs", progress.snapshot().durationMs()));
+      return null;
+    } catch (InterruptedException e) {
+      throw e;
+    } catch (Exception e) {
+      log.error("Startup data load attempt failed", e);
+      return String.valueOf(e.getMessage());
+    }
+  }
+
+  private boolean awaitDatabase() throws InterruptedException {
+    for (int i = 0; i < retries; i++) {
+      try {
+        questionRepository.count();
+        return true;
+      } catch (Exception e) {
+        if (i < retries - 1) {
+          Thread.sleep(retryDelayMs);
+        }
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Give questions loaded before content keys existed their key, so the first sync updates them
+   * in place instead of inserting copies with new ids. Of several legacy questions with the same
+   * key, the first keeps it and the others are soft deleted as duplicates.
+   *
+   * @return number of questions updated
+   */
+  private int backfillContentKeys() {
+    // Soft-deleted duplicates stay without a key; they must not be counted again on every start
+    Query query = Query.query(Criteria.where("content_key").exists(false).and("deleted").ne(true));
+    query.fields().include("_id", "region", "content_language", "question_text");
+
+    Set<String> keys = new HashSet<>();
+    BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, Question.class);
+    int updates = 0;
+    try (Stream<Question> legacy = mongoTemplate.stream(query, Question.class)) {
+      for (Question question : (Iterable<Question>) legacy::iterator) {
+        if (question.getQuestionText() == null) {
+          continue;
+        }
+        String key = QuestionContentKey.of(question.getRegion(), question.getContentLanguage(),
+            question.getQuestionText());
+        boolean taken = !keys.add(key)
+            || mongoTemplate.exists(Query.query(Criteria.where("content_key").is(key)), Question.class);
+        Update update = taken ? new Update().set("deleted", true) : new Update().set("content_key", key);
+        bulkOps.updateOne(Query.query(Criteria.where("_id").is(question.getId())), update);
+        if (++updates % batchSize == 0) {
+          bulkOps.execute();
+          bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, Question.class);
+        }
+      }
+    }
+    if (updates % batchSize != 0) {
+      bulkOps.execute();
+    }
+    if (updates > 0) {
+      log.info("Backfilled question content keys", keyValue("questions", updates));
+    }
+    return updates;
+  }
+
+  /**
+   * Sync every {@code classpath:data/*.csv} file. Files are synced in parallel on a pool of
+   * {@code csv.loading.parallelism} threads; each file is streamed row by row and written in
+   * batches, so memory use does not grow with file size. A file that fails does not stop the
+   * others; it is reported in the outcome.
+   */
+  private CsvSyncOutcome loadDataFromCsv() throws IOException, InterruptedException {
+    ExecutorService pool = Executors.newFixedThreadPool(Math.max(1, parallelism),
+        threads().name("csv-loader-", 1).factory());
+    try {
+      Resource[] resources = applicationContext.getResources("classpath:data/*.csv");
+      progress.filesFound(resources.length);
+      List<CsvLoadResult> results = new ArrayList<>();
+      Map<String, Integer> globalCategoryStats = new ConcurrentHashMap<>();
+      int totalLoaded = 0;
+      int totalSkipped = 0;
+      int totalDeleted = 0;
+
+      List<String> filenames = new ArrayList<>();
+      List<Future<CsvLoadResult>> loads = new ArrayList<>();
+      for (Resource resource : resources) {
+        String filename = Objects.requireNonNull(resource.getFilename());
+        filenames.add(filename);
+        loads.add(pool.submit(() -> {
+          CsvLoadResult result = loadSingleFile(resource, filename, globalCategoryStats);
+          progress.fileDone(result);
+          return result;
+        }));
+      }
+      for (int i = 0; i < loads.size(); i++) {
+        CsvLoadResult result;
+        try {
+          result = loads.get(i).get();
+        } catch (ExecutionException e) {
+          result = new CsvLoadResult(filenames.get(i));
+          result.addError(ValidationIssue.of(0, Code.FILE_LOAD_FAILED, String.valueOf(e.getCause())));
+          log.error("Error loading CSV file",
+                  keyValue("filename", filenames.get(i)),
+                  e.getCause());
+        }
+        results.add(result);
+        totalLoaded += result.getLoadedRows();
+        totalSkipped += result.getSkippedRows();
+        totalDeleted += result.getDeletedRows();
+      }
+
+      // Print summary
+      log.info("=".repeat(80));
+      log.info("CSV Loading Complete");
+      log.info("=".repeat(80));
+
+      for (CsvLoadResult result : results) {
+        log.info(result.getSummary());
+
+        if (logErrors && result.hasErrors()) {
+          log.warn("Errors in {}:", result.getFileName());
+          result.getErrors().forEach(error -> log.warn("  - {}", error));
+        }
+
+        if (logWarnings && result.hasWarnings()) {
+          log.debug("Warnings in {}:", result.getFileName());
+          result.getWarnings().forEach(warning -> log.debug("  - {}", warning));
+        }
+      }
+
+      log.info("=".repeat(80));
+      log.info("Global Statistics:");
+      log.info("CSV loading summary",
+              keyValue("totalLoaded", totalLoaded),
+              keyValue("totalSkipped", totalSkipped),
+              keyValue("totalDeleted", totalDeleted),
+              keyValue("filesUnchanged", results.stream().filter(CsvLoadResult::isUnchanged).count()),
+              keyValue("filesProcessed", results.size()));
+      log.info("Category Distribution:");
+      globalCategoryStats.entrySet().stream()
+              .sorted(Map.Entry.<String, Integer>comparingByValue().reversed())
+              .forEach(entry -> log.info("Category count",
+                      keyValue("category", entry.getKey()),
+                      keyValue("count", entry.getValue())));
+      log.info("=".repeat(80));
+      return new CsvSyncOutcome(totalLoaded > 0 || totalDeleted > 0, results.stream()
+          .filter(CsvLoadResult::isFailed)
+          .map(CsvLoadResult::getFileName)
+          .toList());
+
+    } finally {
+      pool.shutdownNow();
+    }
+  }
+
+  /**
+   * @param changed     whether any question was written or deleted
+   * @param failedFiles files that could not be read or synced
+   */
+  private record CsvSyncOutcome(boolean changed, List<String> failedFiles) {
+
+  }
+
+  private CsvLoadResult loadSingleFile(Resource resource, String filename,
+      Map<String, Integer> globalCategoryStats) {
+    CsvLoadResult result = new CsvLoadResult(filename);
+    String region = extractRegionFromFilename(filename);
+
+    String checksum;
+    try {
+      checksum = checksum(resource);
+    } catch (IOException e) {
+      result.addError(ValidationIssue.of(0, Code.FILE_READ_FAILED, e.getMessage()));
+      return result;
+    }
+    CsvSyncState state = mongoTemplate.findById(filename, CsvSyncState.class);
+    if (state != null && checksum.equals(state.getChecksum())) {
+      log.info("CSV file unchanged, skipping", keyValue("filename", filename));
+      result.setUnchanged(true);
+      return result;
+    }
+
+    try (QuestionCsvReader reader = new QuestionCsvReader(
+        new InputStreamReader(resource.getInputStream(), StandardCharsets.UTF_8))) {
+      // One record buffer per file, refilled for every row
+      QuestionCsvRecord csvRecord = new QuestionCsvRecord();
+      List<Question> batch = new ArrayList<>(batchSize);
+      int rowNumber = 1;
+      while (reader.next(csvRecord)) {
+        rowNumber++;
+        result.incrementTotal();
+        boolean valid = validator.validateWithRegion(csvRecord, region, rowNumber, result);
+        validator.validateEnumValues(csvRecord, rowNumber, result);
+
+        if (!valid) {
+          result.incrementSkipped();
+          continue;
+        }
+
+        Question question = convertToQuestion(csvRecord, region);
+        question.setSourceFile(filename);
+        question.setSourceChecksum(checksum);
+        batch.add(question);
+        if (batch.size() == batchSize) {
+          upsertBatch(batch, result, globalCategoryStats);
+          batch.clear();
+        }
+      }
+      if (!batch.isEmpty()) {
+        upsertBatch(batch, result, globalCategoryStats);
+      }
+
+      if (result.getErrors().stream().anyMatch(error -> error.code() == Code.WRITE_FAILED)) {
+        // Rejected rows still carry the previous checksum: do not delete them as removed rows, and
+        // leave the file unsynced so the next start retries it
+        log.warn("CSV file partially synced, retrying on next start",
+                keyValue("filename", filename),
+                keyValue("count", result.getLoadedRows()));
+        return result;
+      }
+
+      // Rows of this file that were not written by this sync were removed from it
+      long deleted = mongoTemplate.updateMulti(Query.query(Criteria.where("source_file").is(filename)
+                  .and("source_checksum").ne(checksum)
+                  .and("deleted").ne(true)),
+              new Update().set("deleted", true), Question.class)
+          .getModifiedCount();
+      result.setDeletedRows((int) deleted);
+
+      mongoTemplate.save(new CsvSyncState(filename, checksum, result.getLoadedRows(),
+          LocalDateTime.now()));
+
+      log.info("Synced questions from CSV file",
+              keyValue("filename", filename),
+              keyValue("count", result.getLoadedRows()),
+              keyValue("deleted", deleted),
+              keyValue("region", region));
+
+    } catch (Exception e) {
+      result.addError(ValidationIssue.of(0, Code.FILE_LOAD_FAILED, e.getMessage()));
+      log.error("Error loading CSV file",
+              keyValue("filename", filename),
+              keyValue("error", e.getMessage()),
+              e);
+    }
+
+    return result;
+  }
+
+  /**
+   * Write one batch as unordered upserts keyed by content key: new rows are inserted, existing
+   * questions keep their id and get the row's current content (and are undeleted). Rows the
+   * server rejects are reported as errors of the file and counted as skipped; the rest of the
+   * batch is still written.
+   */
+  private void upsertBatch(List<Question> batch, CsvLoadResult result,
+      Map<String, Integer> globalCategoryStats) {
+    BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, Question.class);
+    for (Question question : batch) {
+      bulkOps.upsert(Query.query(Criteria.where("content_key").is(question.getContentKey())),
+          new Update()
+              .set("question_text", question.getQuestionText())
+              .set("answer", question.getAnswer())
+              .set("category", question.getCategory())
+              .set("type", question.getType())
+              .set("content_language", question.getContentLanguage())
+              .set("region", question.getRegion())
+              .set("options", question.getOptions())
+              .set("source_file", question.getSourceFile())
+              .set("source_checksum", question.getSourceChecksum())
+              .set("deleted", false));
+    }
+
+    Set<Integer> failed = new HashSet<>();
+    try {
+      bulkOps.execute();
+    } catch (BulkOperationException e) {
+      for (BulkWriteError error : e.getErrors()) {
+        failed.add(error.getIndex());
+        result.addError(new ValidationIssue(0, Code.WRITE_FAILED,
+            batch.get(error.getIndex()).getQuestionText(), error.getMessage()));
+      }
+    }
+
+    for (int i = 0; i < batch.size(); i++) {
+      if (failed.contains(i)) {
+        result.incrementSkipped();
+        continue;
+      }
+      result.incrementLoaded();
+      globalCategoryStats.merge(batch.get(i).getCategory(), 1, Integer::sum);
+    }
+  }
+
+  private Question convertToQuestion(QuestionCsvRecord csvRecord, String region) {
+    Question question = new Question();
+    question.setQuestionText(trimAndNormalize(csvRecord.getQuestion(), false));
+    question.setAnswer(trimAndNormalize(csvRecord.getAnswer(), false));
+    question.setCategory(trimAndNormalize(csvRecord.getCategory(), true));
+    question.setType(trimAndNormalize(csvRecord.getQuestionType(), true));
+    question.setContentLanguage(trimAndNormalize(csvRecord.getLanguage(), true));
+    question.setRegion(trimAndNormalize(region, true));
+
+    question.setOptions(QuestionCsvReader.parseChoices(csvRecord.getChoices()));
+
+    question.setTerm(null);
+    question.setTermMeaning(null);
+    question.setContentKey(QuestionContentKey.of(question.getRegion(),
+        question.getContentLanguage(), question.getQuestionText()));
+
+    return question;
+  }
+
+  private static String checksum(Resource resource) throws IOException {
+    try (InputStream in = resource.getInputStream()) {
+      MessageDigest digest = MessageDigest.getInstance("SHA-256");
+      byte[] buffer = new byte[8192];
+      for (int read; (read = in.read(buffer)) != -1; ) {
+        digest.update(buffer, 0, read);
+      }
+      return HexFormat.of().formatHex(digest.digest());
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private String trimAndNormalize(String value, boolean lowercase) {
+    if (value == null) {
+      return null;
+    }
+    String trimmed = value.trim();
+    if (lowercase) {
+      return trimmed.toLowerCase();
+    }
+    return trimmed;
+  }
+
+  private String extractRegionFromFilename(String filename) {
+    String region = filename.substring(0, filename.indexOf(".csv"));
+    if (region.equals("CENTERAL")) {
+      region = "CENTRAL";
+    }
+    return region;
+  }
+}
@@ -0,0 +1,35 @@
+package com.saudiculture.data;
+
+import com.saudiculture.catalog.TextNormalizer;
+import java.nio.charset.StandardCharsets;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.util.HexFormat;
+import java.util.Locale;
+
+/**
+ * Stable content key of a question: SHA-256 over its region, content language and question text.
+ * The text is normalized first (case, Arabic letter variants, diacritics, whitespace), so cosmetic
+ * edits to a CSV row keep the question's identity.
+ */
+public final class QuestionContentKey {
+
+  private QuestionContentKey() {
+  }
+
+  public static String of(String region, String language, String questionText) {
+    String normalizedText = TextNormalizer.normalize(questionText.trim()).replaceAll("\\s+", " ");
+    String material = lower(region) + '\u001f' + lower(language) + '\u001f' + normalizedText;
+    try {
+      byte[] digest = MessageDigest.getInstance("SHA-256")
+          .digest(material.getBytes(StandardCharsets.UTF_8));
+      return HexFormat.of().formatHex(digest);
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  private static String lower(String value) {
+    return value == null ? "" : value.trim().toLowerCase(Locale.ROOT);
+  }
+}
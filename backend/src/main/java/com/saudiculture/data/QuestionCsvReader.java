@@ -0,0 +1,223 @@
+package com.saudiculture.data;
+
+import java.io.Closeable;
+import java.io.IOException;
+import java.io.Reader;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.function.BiConsumer;
+
+/**
+ * Streaming reader for the question CSV files (RFC 4180: comma separated, optional double quotes,
+ * {@code ""} escapes, line breaks inside quoted fields, CRLF or LF rows).
+ * <p>
+ * The header row is mapped to {@link QuestionCsvRecord} setters once; every following row is
+ * parsed into the caller's record, which is reused across rows. Header names are matched
+ * ignoring case; unknown columns are ignored and missing ones are left null.
+ */
+public class QuestionCsvReader implements Closeable {
+
+  // Keyed by lower-case header name
+  private static final Map<String, BiConsumer<QuestionCsvRecord, String>> COLUMNS = Map.of(
+      "question", QuestionCsvRecord::setQuestion,
+      "choices", QuestionCsvRecord::setChoices,
+      "answer", QuestionCsvRecord::setAnswer,
+      "question type", QuestionCsvRecord::setQuestionType,
+      "domain", QuestionCsvRecord::setDomain,
+      "category", QuestionCsvRecord::setCategory,
+      "language", QuestionCsvRecord::setLanguage,
+      "the count of category", QuestionCsvRecord::setCountOfCategory,
+      "type", QuestionCsvRecord::setType);
+
+  private static final int EOF = -1;
+
+  private final Reader reader;
+  private final char[] buffer = new char[16 * 1024];
+  private int position;
+  private int limit;
+
+  private final StringBuilder field = new StringBuilder(256);
+  // Setter per column position, null for ignored columns
+  private BiConsumer<QuestionCsvRecord, String>[] setters;
+  private boolean endOfRow;
+
+  public QuestionCsvReader(Reader reader) {
+    this.reader = reader;
+  }
+
+  /**
+   * Read the next data row into {@code record}. All mapped fields are overwritten (null when the
+   * row has fewer columns).
+   *
+   * @return false at end of input
+   */
+  public boolean next(QuestionCsvRecord record) throws IOException {
+    if (setters == null) {
+      readHeader();
+    }
+    while (true) {
+      if (peek() == EOF) {
+        return false;
+      }
+      int column = 0;
+      boolean blank = true;
+      endOfRow = false;
+      clear(record);
+      while (!endOfRow) {
+        String value = readField();
+        if (!value.isEmpty()) {
+          blank = false;
+        }
+        if (column < setters.length && setters[column] != null) {
+          setters[column].accept(record, value);
+        }
+        column++;
+      }
+      // Skip empty lines
+      if (!blank || column > 1) {
+        return true;
+      }
+    }
+  }
+
+  @SuppressWarnings("unchecked")
+  private void readHeader() throws IOException {
+    List<BiConsumer<QuestionCsvRecord, String>> mapped = new ArrayList<>();
+    // Files saved by spreadsheet tools may start with a byte order mark
+    if (peek() == '\uFEFF') {
+      read();
+    }
+    endOfRow = peek() == EOF;
+    while (!endOfRow) {
+      mapped.add(COLUMNS.get(readField().strip().toLowerCase(Locale.ROOT)));
+    }
+    setters = mapped.toArray(new BiConsumer[0]);
+  }
+
+  private static void clear(QuestionCsvRecord record) {
+    COLUMNS.values().forEach(setter -> setter.accept(record, null));
+  }
+
+  /**
+   * Read one field and consume its delimiter; sets {@link #endOfRow} after the row's last field.
+   */
+  private String readField() throws IOException {
+    field.setLength(0);
+    int c = read();
+    // Whitespace before an opening quote is ignored; before unquoted text it is part of the value
+    while (c == ' ' || c == '\t') {
+      field.append((char) c);
+      c = read();
+    }
+
+    if (c == '"') {
+      field.setLength(0);
+      while (true) {
+        c = read();
+        if (c == EOF) {
+          break;
+        }
+        if (c == '"') {
+          if (peek() == '"') {
+            read();
+            field.append('"');
+            continue;
+          }
+          c = read();
+          // Text between the closing quote and the delimiter is kept, as lenient parsers do
+          while (c != ',' && c != '\n' && c != '\r' && c != EOF) {
+            field.append((char) c);
+            c = read();
+          }
+          break;
+        }
+        field.append((char) c);
+      }
+    } else {
+      while (c != ',' && c != '\n' && c != '\r' && c != EOF) {
+        field.append((char) c);
+        c = read();
+      }
+    }
+
+    if (c == '\r' && peek() == '\n') {
+      read();
+    }
+    endOfRow = c != ',';
+    return field.toString();
+  }
+
+  /**
+   * Split a Choices cell ({@code "A. Coffee B. Tea C. Water"}) into its options: the cell is cut at
+   * every capital letter followed by a period (and the whitespace after it), parts are trimmed and
+   * empty ones dropped. A blank or {@code "–"} cell has no options.
+   */
+  public static String[] parseChoices(String choices) {
+    if (choices == null || choices.trim().isEmpty() || choices.trim().equals("–")) {
+      return new String[]{};
+    }
+
+    List<String> options = new ArrayList<>(4);
+    int length = choices.length();
+    int start = 0;
+    int i = 0;
+    while (i < length - 1) {
+      char c = choices.charAt(i);
+      if (c >= 'A' && c <= 'Z' && choices.charAt(i + 1) == '.') {
+        addChoice(options, choices, start, i);
+        i += 2;
+        while (i < length && isSpace(choices.charAt(i))) {
+          i++;
+        }
+        start = i;
+      } else {
+        i++;
+      }
+    }
+    addChoice(options, choices, start, length);
+    return options.toArray(String[]::new);
+  }
+
+  private static void addChoice(List<String> options, String choices, int start, int end) {
+    String option = choices.substring(start, end).trim();
+    if (!option.isEmpty()) {
+      options.add(option);
+    }
+  }
+
+  // Same characters as \s in java.util.regex
+  private static boolean isSpace(char c) {
+    return c == ' ' || c == '\t' || c == '\n' || c == '\u000B' || c == '\f' || c == '\r';
+  }
+
+  private int read() throws IOException {
+    if (position == limit && !fill()) {
+      return EOF;
+    }
+    return buffer[position++];
+  }
+
+  private int peek() throws IOException {
+    if (position == limit && !fill()) {
+      return EOF;
+    }
+    return buffer[position];
+  }
+
+  private boolean fill() throws IOException {
+    int read = reader.read(buffer);
+    if (read <= 0) {
+      return false;
+    }
+    position = 0;
+    limit = read;
+    return true;
+  }
+
+  @Override
+  public void close() throws IOException {
+    reader.close();
+  }
+}
@@ -0,0 +1,29 @@
+package com.saudiculture.data;
+
+import lombok.Data;
+
+/**
+ * One row of a question CSV file, filled by {@link QuestionCsvReader}.
+ */
+@Data
+public class QuestionCsvRecord {
+
+    private String question;
+
+    private String choices;
+
+    private String answer;
+
+    private String questionType;
+
+    private String domain;
+
+    private String category;
+
+    private String language;
+
+    // Metadata columns - not mapped to Question model, used for statistics
+    private String countOfCategory;
+
+    private String type;
+}
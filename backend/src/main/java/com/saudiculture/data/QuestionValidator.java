@@ -0,0 +1,86 @@
+package com.saudiculture.data;
+
+import com.saudiculture.data.ValidationIssue.Code;
+import org.springframework.stereotype.Component;
+
+import java.util.*;
+
+/**
+ * Validates CSV rows. Problems are recorded on the file's {@link CsvLoadResult} as
+ * {@link ValidationIssue} codes; messages are only rendered if the result is logged.
+ */
+@Component
+public class QuestionValidator {
+
+    private static final Set<String> VALID_REGIONS = Set.of(
+            "WEST", "EAST", "NORTH", "SOUTH", "CENTRAL", "CENTERAL", "GENERAL"
+    );
+
+    private static final Set<String> VALID_QUESTION_TYPES = Set.of(
+            "Open-ended", "MCQ", "True/False", "Multiple Choice"
+    );
+
+    /**
+     * @return true if the row has all required fields
+     */
+    public boolean validate(QuestionCsvRecord csvRecord, int rowNumber, CsvLoadResult result) {
+        boolean valid = true;
+
+        // Validate required fields
+        if (isBlank(csvRecord.getQuestion())) {
+            result.addError(ValidationIssue.of(rowNumber, Code.BLANK_QUESTION));
+            valid = false;
+        }
+
+        if (isBlank(csvRecord.getAnswer())) {
+            result.addError(ValidationIssue.of(rowNumber, Code.BLANK_ANSWER));
+            valid = false;
+        }
+
+        if (isBlank(csvRecord.getCategory())) {
+            result.addError(ValidationIssue.of(rowNumber, Code.BLANK_CATEGORY));
+            valid = false;
+        }
+
+        if (isBlank(csvRecord.getQuestionType())) {
+            result.addError(ValidationIssue.of(rowNumber, Code.BLANK_QUESTION_TYPE));
+            valid = false;
+        }
+
+        if (isBlank(csvRecord.getLanguage())) {
+            result.addError(ValidationIssue.of(rowNumber, Code.BLANK_LANGUAGE));
+            valid = false;
+        }
+
+        return valid;
+    }
+
+    /**
+     * @return true if the row has all required fields and the region is known
+     */
+    public boolean validateWithRegion(QuestionCsvRecord csvRecord, String region, int rowNumber,
+            CsvLoadResult result) {
+        boolean valid = validate(csvRecord, rowNumber, result);
+
+        // Validate region
+        if (!VALID_REGIONS.contains(region.toUpperCase())) {
+            result.addError(ValidationIssue.of(rowNumber, Code.INVALID_REGION, region));
+            valid = false;
+        }
+
+        return valid;
+    }
+
+    public void validateEnumValues(QuestionCsvRecord csvRecord, int rowNumber, CsvLoadResult result) {
+        // Warn about unexpected question types
+        if (!isBlank(csvRecord.getQuestionType()) &&
+            !VALID_QUESTION_TYPES.contains(csvRecord.getQuestionType())) {
+            result.addWarning(ValidationIssue.of(rowNumber, Code.UNEXPECTED_QUESTION_TYPE,
+                    csvRecord.getQuestionType()));
+        }
+    }
+
+    private boolean isBlank(String value) {
+        return value == null || value.trim().isEmpty();
+    }
+}
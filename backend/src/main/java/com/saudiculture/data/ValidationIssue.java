@@ -0,0 +1,49 @@
+package com.saudiculture.data;
+
+/**
+ * A problem found while loading a CSV file, kept as a code plus the offending values. The message
+ * is only built when the issue is rendered ({@link #toString()}), i.e. when it is logged.
+ *
+ * @param row    CSV row number (header is row 1), 0 for file-level issues
+ * @param code   what went wrong
+ * @param value  offending value, if the message has one
+ * @param detail additional detail (e.g. the server's error message), if the message has one
+ */
+public record ValidationIssue(int row, Code code, String value, String detail) {
+
+    public enum Code {
+        BLANK_QUESTION("Question text is blank"),
+        BLANK_ANSWER("Answer is blank"),
+        BLANK_CATEGORY("Category is blank"),
+        BLANK_QUESTION_TYPE("Question Type is blank"),
+        BLANK_LANGUAGE("Language is blank"),
+        INVALID_REGION("Invalid region '%s'"),
+        UNEXPECTED_QUESTION_TYPE("Unexpected question type '%s'"),
+        WRITE_FAILED("Failed to write question '%s': %s"),
+        FILE_READ_FAILED("Failed to read file: %s"),
+        FILE_LOAD_FAILED("Failed to load file: %s");
+
+        private final String template;
+
+        Code(String template) {
+            this.template = template;
+        }
+    }
+
+    public static ValidationIssue of(int row, Code code) {
+        return new ValidationIssue(row, code, null, null);
+    }
+
+    public static ValidationIssue of(int row, Code code, String value) {
+        return new ValidationIssue(row, code, value, null);
+    }
+
+    public String message() {
+        return String.format(code.template, value, detail);
+    }
+
+    @Override
+    public String toString() {
+        return row > 0 ? "Row " + row + ": " + message() : message();
+    }
+}
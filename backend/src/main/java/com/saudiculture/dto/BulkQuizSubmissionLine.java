@@ -0,0 +1,15 @@
+package com.saudiculture.dto;
+
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * One line of a bulk (NDJSON) quiz submission import: an attempt taken offline by a user.
+ */
+public record BulkQuizSubmissionLine(
+    String userId,
+    LocalDateTime submittedAt,
+    List<QuizSubmissionRequest.AnswerInput> answers
+) {
+
+}
@@ -0,0 +1,32 @@
+package com.saudiculture.dto;
+
+import com.fasterxml.jackson.annotation.JsonInclude;
+
+/**
+ * Outcome of one line of a bulk quiz submission import, streamed back as NDJSON.
+ */
+@JsonInclude(JsonInclude.Include.NON_NULL)
+public record BulkQuizSubmissionResult(
+    int line,
+    Status status,
+    String submissionId,
+    Integer score,
+    Integer totalQuestions,
+    String error
+) {
+
+  public enum Status {
+    CREATED,
+    FAILED
+  }
+
+  public static BulkQuizSubmissionResult created(int line, String submissionId, int score,
+      int totalQuestions) {
+    return new BulkQuizSubmissionResult(line, Status.CREATED, submissionId, score, totalQuestions,
+        null);
+  }
+
+  public static BulkQuizSubmissionResult failed(int line, String error) {
+    return new BulkQuizSubmissionResult(line, Status.FAILED, null, null, null, error);
+  }
+}
@@ -0,0 +1,40 @@
+package com.saudiculture.dto;
+
+import com.saudiculture.models.Question;
+
+/**
+ * Converts {@link Question} documents into the DTOs exposed by the question endpoints.
+ */
+public final class QuestionMapper {
+
+  private QuestionMapper() {
+  }
+
+  public static InfoQuestionDTO toInfoDTO(Question question) {
+    InfoQuestionDTO dto = new InfoQuestionDTO();
+    dto.setQuestionText(question.getQuestionText());
+    dto.setAnswer(question.getAnswer());
+    dto.setCategory(question.getCategory());
+    dto.setLanguage(question.getContentLanguage());
+    dto.setRegion(question.getRegion());
+    dto.setSource(question.getSource());
+    dto.setImageUrl(question.getImageUrl());
+
+    return dto;
+  }
+
+  public static QuizQuestionDTO toQuizDTO(Question question) {
+    QuizQuestionDTO dto = new QuizQuestionDTO();
+    dto.setId(question.getId());
+    dto.setQuestionText(question.getQuestionText());
+    dto.setOptions(question.getOptions());
+    dto.setAnswer(question.getAnswer());
+    dto.setLanguage(question.getContentLanguage());
+    dto.setRegion(question.getRegion());
+    dto.setType(question.getType());
+    dto.setCategory(question.getCategory());
+    dto.setImageUrl(question.getImageUrl());
+
+    return dto;
+  }
+}
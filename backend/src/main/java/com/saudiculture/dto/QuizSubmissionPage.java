@@ -0,0 +1,14 @@
+package com.saudiculture.dto;
+
+import java.util.List;
+
+/**
+ * One page of the submission history. Pass {@code nextCursor} back to fetch the next page; it is
+ * null on the last page.
+ */
+public record QuizSubmissionPage(
+    List<QuizSubmissionSummary> items,
+    String nextCursor
+) {
+
+}
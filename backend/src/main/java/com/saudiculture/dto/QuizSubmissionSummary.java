@@ -0,0 +1,16 @@
+package com.saudiculture.dto;
+
+import java.time.LocalDateTime;
+
+/**
+ * Quiz submission without its answers, as listed in the submission history.
+ */
+public record QuizSubmissionSummary(
+    String id,
+    Integer score,
+    Integer totalQuestions,
+    Double percentage,
+    LocalDateTime submittedAt
+) {
+
+}
@@ -6,6 +6,9 @@ import java.util.List;
 /**
  * Response DTO for user quiz statistics endpoint
  * Contains aggregated performance data across multiple dimensions
+ * <p>
+ * Type, region and language keys are stored as document field names, so a '.' or a leading '$'
+ * in them is reported as '_'.
  */
 public record UserStatsResponse(
     OverallStats overall,
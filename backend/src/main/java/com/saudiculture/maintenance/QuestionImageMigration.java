@@ -0,0 +1,124 @@
+package com.saudiculture.maintenance;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import com.saudiculture.catalog.QuestionsChangedEvent;
+import com.saudiculture.services.QuestionImageService;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.Binary;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.context.ApplicationEventPublisher;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.index.Index;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration moving image bytes embedded in question documents ({@code image_data} and
+ * {@code image_mime_type}) into the GridFS image store.
+ * <p>
+ * Enable with {@code migrations.question-images.enabled=true}. Each image is stored once (identical
+ * images share a file), the question gets its {@code image_id} and, unless it already has one, an
+ * {@code image_url} pointing at the image endpoint, and the embedded fields are removed. Questions
+ * are updated in batches with one unordered bulk write per batch. Safe to re-run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuestionImageMigration implements ApplicationRunner {
+
+  private static final String LEGACY_IMAGE_DATA = "image_data";
+  private static final String LEGACY_IMAGE_MIME_TYPE = "image_mime_type";
+
+  private final MongoTemplate mongoTemplate;
+  private final QuestionImageService questionImageService;
+  private final ApplicationEventPublisher eventPublisher;
+
+  @Value("${migrations.question-images.enabled:false}")
+  private boolean enabled;
+
+  @Value("${migrations.question-images.batch-size:100}")
+  private int batchSize = 100;
+
+  @Value("${spring.data.mongodb.gridfs.bucket:fs}")
+  private String bucket = "fs";
+
+  @Value("${server.url:http://localhost:8080}")
+  private String serverUrl = "http://localhost:8080";
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!enabled) {
+      return;
+    }
+
+    log.info("Moving embedded question images to GridFS");
+    // Lookup index for the store's de-duplication by checksum
+    mongoTemplate.indexOps(bucket + ".files")
+        .ensureIndex(new Index("metadata.sha256", Sort.Direction.ASC));
+
+    Query query = Query.query(Criteria.where(LEGACY_IMAGE_DATA).exists(true));
+    query.fields().include("_id", LEGACY_IMAGE_DATA, LEGACY_IMAGE_MIME_TYPE, "image_url");
+
+    int migrated = 0;
+    List<Document> batch = new ArrayList<>(batchSize);
+    try (Stream<Document> questions = mongoTemplate.stream(query, Document.class, "questions")) {
+      for (Document question : (Iterable<Document>) questions::iterator) {
+        batch.add(question);
+        if (batch.size() == batchSize) {
+          migrated += migrateBatch(batch);
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      migrated += migrateBatch(batch);
+    }
+
+    log.info("Question image migration complete", keyValue("questionsUpdated", migrated));
+    if (migrated > 0) {
+      eventPublisher.publishEvent(new QuestionsChangedEvent(this));
+    }
+  }
+
+  private int migrateBatch(List<Document> batch) {
+    BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, "questions");
+    for (Document question : batch) {
+      Object id = question.get("_id");
+      Update update = new Update().unset(LEGACY_IMAGE_DATA).unset(LEGACY_IMAGE_MIME_TYPE);
+
+      byte[] data = imageBytes(question.get(LEGACY_IMAGE_DATA));
+      if (data != null && data.length > 0) {
+        String contentType = question.getString(LEGACY_IMAGE_MIME_TYPE);
+        String imageId = questionImageService.store(data,
+            contentType != null ? contentType : "application/octet-stream", "question-" + id);
+        update.set("image_id", imageId);
+        if (question.getString("image_url") == null) {
+          update.set("image_url", serverUrl + "/api/images/" + imageId);
+        }
+      }
+      bulkOperations.updateOne(Query.query(Criteria.where("_id").is(id)), update);
+    }
+    bulkOperations.execute();
+    return batch.size();
+  }
+
+  private static byte[] imageBytes(Object value) {
+    if (value instanceof Binary binary) {
+      return binary.getData();
+    }
+    return value instanceof byte[] bytes ? bytes : null;
+  }
+}
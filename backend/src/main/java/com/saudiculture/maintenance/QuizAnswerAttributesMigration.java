@@ -0,0 +1,116 @@
+package com.saudiculture.maintenance;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import com.saudiculture.models.Question;
+import com.saudiculture.models.QuizAnswer;
+import com.saudiculture.models.QuizSubmission;
+import com.saudiculture.repositories.QuestionRepository;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import java.util.stream.Stream;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.stereotype.Component;
+
+/**
+ * One-off migration copying question type, region and content language into the answers of
+ * submissions stored before those attributes were denormalized onto {@link QuizAnswer}.
+ * <p>
+ * Enable with {@code migrations.quiz-answer-attributes.enabled=true}. Submissions are processed
+ * in batches: one question lookup and one unordered bulk write per batch. Safe to re-run.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuizAnswerAttributesMigration implements ApplicationRunner {
+
+  private final MongoTemplate mongoTemplate;
+  private final QuestionRepository questionRepository;
+
+  @Value("${migrations.quiz-answer-attributes.enabled:false}")
+  private boolean enabled;
+
+  @Value("${migrations.quiz-answer-attributes.batch-size:500}")
+  private int batchSize;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!enabled) {
+      return;
+    }
+
+    log.info("Migrating quiz answers to carry question attributes");
+    Query query = Query.query(Criteria.where("answers")
+        .elemMatch(Criteria.where("questionType").exists(false)));
+
+    int migrated = 0;
+    List<QuizSubmission> batch = new ArrayList<>(batchSize);
+    try (Stream<QuizSubmission> submissions = mongoTemplate.stream(query, QuizSubmission.class)) {
+      for (QuizSubmission submission : (Iterable<QuizSubmission>) submissions::iterator) {
+        batch.add(submission);
+        if (batch.size() == batchSize) {
+          migrated += migrateBatch(batch);
+          batch.clear();
+        }
+      }
+    }
+    if (!batch.isEmpty()) {
+      migrated += migrateBatch(batch);
+    }
+
+    log.info("Quiz answer migration complete", keyValue("submissionsUpdated", migrated));
+  }
+
+  private int migrateBatch(List<QuizSubmission> batch) {
+    List<String> questionIds = batch.stream()
+        .flatMap(submission -> submission.getAnswers().stream())
+        .filter(answer -> !answer.hasQuestionAttributes())
+        .map(QuizAnswer::questionId)
+        .distinct()
+        .toList();
+
+    Map<String, Question> questionsMap = new HashMap<>();
+    questionRepository.findAllByIdIn(questionIds)
+        .forEach(question -> questionsMap.put(question.getId(), question));
+
+    BulkOperations bulkOperations = mongoTemplate.bulkOps(BulkMode.UNORDERED, QuizSubmission.class);
+    int updates = 0;
+    for (QuizSubmission submission : batch) {
+      List<QuizAnswer> answers = submission.getAnswers().stream()
+          .map(answer -> withQuestionAttributes(answer, questionsMap.get(answer.questionId())))
+          .toList();
+      if (answers.equals(submission.getAnswers())) {
+        continue;
+      }
+      bulkOperations.updateOne(Query.query(Criteria.where("_id").is(submission.getId())),
+          new Update().set("answers", answers));
+      updates++;
+    }
+
+    if (updates > 0) {
+      bulkOperations.execute();
+    }
+    return updates;
+  }
+
+  private QuizAnswer withQuestionAttributes(QuizAnswer answer, Question question) {
+    if (answer.hasQuestionAttributes() || question == null) {
+      return answer;
+    }
+    return new QuizAnswer(answer.questionId(), answer.questionText(), answer.userAnswer(),
+        answer.correctAnswer(), answer.correct(), question.getType(), question.getRegion(),
+        question.getContentLanguage());
+  }
+}
@@ -0,0 +1,42 @@
+package com.saudiculture.maintenance;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import com.saudiculture.services.UserStatsService;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.ApplicationArguments;
+import org.springframework.boot.ApplicationRunner;
+import org.springframework.stereotype.Component;
+
+/**
+ * Backfills the {@code user_stats} rollup from the full submission history on startup.
+ * <p>
+ * Enable once with {@code stats.rollup.rebuild-on-startup=true} after deploying the rollup, or
+ * whenever the rollups need to be recomputed.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class UserStatsRebuildRunner implements ApplicationRunner {
+
+  private final UserStatsService userStatsService;
+
+  @Value("${stats.rollup.rebuild-on-startup:false}")
+  private boolean rebuildOnStartup;
+
+  @Override
+  public void run(ApplicationArguments args) {
+    if (!rebuildOnStartup) {
+      return;
+    }
+
+    log.info("Rebuilding user stats rollups");
+    long start = System.currentTimeMillis();
+    int rebuilt = userStatsService.rebuildAllUserStats();
+    log.info("User stats rollups rebuilt",
+        keyValue("users", rebuilt),
+        keyValue("durationMs", System.currentTimeMillis() - start));
+  }
+}
@@ -0,0 +1,37 @@
+package com.saudiculture.models;
+
+import java.time.LocalDateTime;
+import lombok.AllArgsConstructor;
+import lombok.Data;
+import lombok.NoArgsConstructor;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Last synced state of one CSV content file. A file whose checksum still matches is skipped on
+ * the next sync.
+ */
+@Data
+@NoArgsConstructor
+@AllArgsConstructor
+@Document(collection = "csv_sync_state")
+public class CsvSyncState {
+
+  /**
+   * CSV file name, e.g. {@code WEST.csv}.
+   */
+  @Id
+  private String fileName;
+
+  /**
+   * SHA-256 of the file content.
+   */
+  private String checksum;
+
+  /**
+   * Rows applied by the last sync.
+   */
+  private int rows;
+
+  private LocalDateTime syncedAt;
+}
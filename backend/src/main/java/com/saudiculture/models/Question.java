@@ -5,6 +5,8 @@ import jakarta.validation.constraints.NotBlank;
 import lombok.Data;
 import org.springframework.data.annotation.Id;
 import org.springframework.data.mongodb.core.index.CompoundIndex;
+import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.TextIndexed;
 import org.springframework.data.mongodb.core.mapping.Document;
 import org.springframework.data.mongodb.core.mapping.Field;
 
@@ -12,12 +14,17 @@ import org.springframework.data.mongodb.core.mapping.Field;
  * MongoDB Document representing a cultural heritage question in the Saudi Culture platform.
  * <p>
  * This model supports multiple question types, bilingual content, regional categorization,
- * and optional image attachments for visual learning.
+ * and optional image attachments for visual learning (stored in GridFS, referenced by id).
  * <p>
- * Indexed on: (category, region), (category, type), (region, type) for optimized filtering.
+ * Indexed on: (category, region), (category, type), (region, type) for optimized filtering, and
+ * uniquely on content_key for CSV re-syncs.
+ * <p>
+ * Text index on: term, question_text, answer, term_meaning for $text search. MongoDB has no
+ * Arabic stemmer or stop-word list, so the index uses language "none" (plain tokenization) for
+ * both Arabic and English content.
  */
 @Data
-@Document(collection = "questions")
+@Document(collection = "questions", language = "none")
 @CompoundIndex(name = "category_region_index", def = "{'category': 1, 'region': 1}")
 @CompoundIndex(name = "category_type_index", def = "{'category': 1, 'type': 1}")
 @CompoundIndex(name = "region_type_index", def = "{'region': 1, 'type': 1}")
@@ -33,12 +40,14 @@ public class Question {
    * Cultural term or concept being referenced (optional).
    * Example: "الكبسة" (Kabsa), "القهوة العربية" (Arabic Coffee)
    */
+  @TextIndexed(weight = 3)
   private String term;
 
   /**
    * Meaning or definition of the cultural term (optional).
    */
   @Field("term_meaning")
+  @TextIndexed
   private String termMeaning;
 
   /**
@@ -46,6 +55,7 @@ public class Question {
    * Required field containing the question prompt.
    */
   @Field("question_text")
+  @TextIndexed(weight = 2)
   @NotBlank(message = "Question text cannot be blank")
   private String questionText;
 
@@ -68,6 +78,7 @@ public class Question {
    * - open_ended: Expected answer text
    */
   @NotBlank(message = "Answer cannot be blank")
+  @TextIndexed
   private String answer;
 
   /**
@@ -142,41 +153,48 @@ public class Question {
   private String source;
 
   /**
-   * Binary image data stored directly in MongoDB (optional).
-   * Contains the raw bytes of an image file.
-   * <p>
-   * Supported formats: PNG, JPEG, GIF, WebP, BMP
-   * Storage: Binary data type in MongoDB
-   * <p>
-   * Use for: Visual questions, cultural artifacts, traditional items
-   * Note: Either imageData or imageUrl may be used, not both
-   */
-  @Field("image_data")
-  private byte[] imageData;
-
-  /**
-   * MIME type of the stored image data.
-   * <p>
-   * Common values:
-   * - "image/png"
-   * - "image/jpeg"
-   * - "image/gif"
-   * - "image/webp"
-   * - "image/bmp"
+   * Id of the question's image in the GridFS image store (optional).
    * <p>
-   * Required when imageData is present.
-   * Auto-detected from file signature (magic bytes) during upload.
+   * Image bytes are kept out of the question document so that question reads never carry binary
+   * data. The image is served by {@code GET /api/images/{imageId}}; its MIME type and checksum are
+   * stored with the GridFS file.
    */
-  @Field("image_mime_type")
-  private String imageMimeType;
+  @Field("image_id")
+  private String imageId;
 
   /**
-   * URL to an externally hosted image (optional).
-   * Alternative to storing imageData directly in MongoDB.
+   * URL of the question's image (optional).
    * <p>
    * Returned to frontend for display in InfoQuestionDTO and QuizQuestionDTO.
-   * May be generated from imageData or point to external CDN/storage.
+   * Either points to the image endpoint for {@link #imageId} or to external CDN/storage.
    */
   @Field("image_url")
   private String imageUrl;
+
+  /**
+   * Stable identity of CSV-loaded content: a hash of region, language and normalized question
+   * text. Re-syncing a CSV file upserts rows by this key, so question ids survive content fixes.
+   */
+  @Indexed(name = "content_key_index", unique = true, sparse = true)
+  @Field("content_key")
+  private String contentKey;
+
+  /**
+   * CSV file the question was last loaded from.
+   */
+  @Field("source_file")
+  private String sourceFile;
+
+  /**
+   * Checksum of {@link #sourceFile} at the time the question was last synced. Questions of a file
+   * that no longer carry its current checksum were removed from it.
+   */
+  @Field("source_checksum")
+  private String sourceChecksum;
+
+  /**
+   * Soft delete: the row was removed from its CSV file. Deleted questions are no longer listed or
+   * drawn, but stay resolvable by id for submissions that reference them.
+   */
+  private boolean deleted;
 }
@@ -1,11 +1,50 @@
 package com.saudiculture.models;
 
+import org.springframework.data.annotation.PersistenceCreator;
+
+/**
+ * A single graded answer embedded in a {@link QuizSubmission}.
+ * <p>
+ * The question's type, region and content language are copied in at submission time so that
+ * statistics never need to join back to the {@code questions} collection. Answers stored before
+ * these attributes existed have them set to null until migrated.
+ */
 public record QuizAnswer(
     String questionId,
     String questionText,
     String userAnswer,
     String correctAnswer,
-    Boolean correct
+    Boolean correct,
+    String questionType,
+    String region,
+    String contentLanguage
 ) {
 
+  @PersistenceCreator
+  public QuizAnswer {
+  }
+
+  /**
+   * Create an answer without denormalized question attributes (legacy shape).
+   */
+  public QuizAnswer(String questionId, String questionText, String userAnswer,
+      String correctAnswer, Boolean correct) {
+    this(questionId, questionText, userAnswer, correctAnswer, correct, null, null, null);
+  }
+
+  /**
+   * Create a graded answer carrying the attributes of the question it answers.
+   */
+  public static QuizAnswer of(Question question, String userAnswer, boolean correct) {
+    return new QuizAnswer(question.getId(), question.getQuestionText(), userAnswer,
+        question.getAnswer(), correct, question.getType(), question.getRegion(),
+        question.getContentLanguage());
+  }
+
+  /**
+   * Whether the question attributes were captured on this answer.
+   */
+  public boolean hasQuestionAttributes() {
+    return questionType != null || region != null || contentLanguage != null;
+  }
 }
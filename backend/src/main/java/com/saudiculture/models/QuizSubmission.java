@@ -5,17 +5,21 @@ import java.util.List;
 import lombok.Data;
 import org.springframework.data.annotation.CreatedDate;
 import org.springframework.data.annotation.Id;
-import org.springframework.data.mongodb.core.index.Indexed;
+import org.springframework.data.mongodb.core.index.CompoundIndex;
 import org.springframework.data.mongodb.core.mapping.Document;
 
 @Data
 @Document(collection = "quiz_submissions")
+// Serves every per-user read: the userId prefix for counts, distinct and stats, the
+// (submittedAt, _id) keyset for history pages, and score/totalQuestions so history summaries are
+// covered by the index without fetching documents
+@CompoundIndex(name = "userId_submittedAt_summary",
+    def = "{'userId': 1, 'submittedAt': -1, '_id': -1, 'score': 1, 'totalQuestions': 1}")
 public class QuizSubmission {
 
   @Id
   private String id;
 
-  @Indexed
   private String userId;
 
   private List<QuizAnswer> answers;
@@ -0,0 +1,86 @@
+package com.saudiculture.models;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.List;
+import java.util.Map;
+import lombok.Data;
+import org.springframework.data.annotation.Id;
+import org.springframework.data.mongodb.core.mapping.Document;
+
+/**
+ * Materialized per-user statistics rollup.
+ * <p>
+ * One document per user, keyed by the internal user id. Counters are incremented atomically
+ * whenever a quiz is submitted, so reading a user's dashboard stats is a single document lookup
+ * instead of a scan over the full submission history.
+ */
+@Data
+@Document(collection = "user_stats")
+public class UserStats {
+
+  /**
+   * Number of recent submissions kept on the rollup.
+   */
+  public static final int RECENT_LIMIT = 10;
+
+  /**
+   * Internal MongoDB user id this rollup belongs to.
+   */
+  @Id
+  private String userId;
+
+  private int totalSubmissions;
+  private int totalQuestions;
+  private int totalCorrect;
+
+  /**
+   * Sum of per-submission percentages, used to derive the average score.
+   */
+  private double percentageSum;
+
+  /**
+   * Counters keyed by question type, region and content language. Keys are stored as field
+   * names, so a '.' or a leading '$' in a value is replaced with '_', also in the stats API.
+   */
+  private Map<String, Counter> byType = new HashMap<>();
+  private Map<String, Counter> byRegion = new HashMap<>();
+  private Map<String, Counter> byLanguage = new HashMap<>();
+
+  /**
+   * Most recent submissions, newest first, capped at {@link #RECENT_LIMIT}.
+   */
+  private List<RecentEntry> recentSubmissions = new ArrayList<>();
+
+  private LocalDateTime updatedAt;
+
+  /**
+   * Incremented by every write, so a rebuild only replaces the rollup it read (null on rollups
+   * written before versioning).
+   */
+  private Long version;
+
+  @Data
+  public static class Counter {
+
+    private int total;
+    private int correct;
+
+    public void add(Boolean isCorrect) {
+      total++;
+      if (Boolean.TRUE.equals(isCorrect)) {
+        correct++;
+      }
+    }
+  }
+
+  public record RecentEntry(
+      String id,
+      LocalDateTime submittedAt,
+      Integer score,
+      Integer totalQuestions
+  ) {
+
+  }
+}
@@ -0,0 +1,55 @@
+package com.saudiculture.repositories;
+
+import org.bson.Document;
+
+/**
+ * Field projections for the {@code questions} read paths, one per consumer, so MongoDB only
+ * returns the fields that consumer reads. {@code _id} is always returned.
+ * <p>
+ * The JSON forms are for {@code @Query(fields = ...)}; {@link #fields(String)} gives the field
+ * names for {@code Query.fields()} and {@code $project} stages.
+ */
+public final class QuestionProjections {
+
+  /**
+   * Fields read by {@code QuestionMapper.toInfoDTO}.
+   */
+  public static final String INFO = "{ 'question_text': 1, 'answer': 1, 'category': 1, "
+      + "'content_language': 1, 'region': 1, 'source': 1, 'image_url': 1 }";
+
+  /**
+   * Fields read by {@code QuestionMapper.toQuizDTO}.
+   */
+  public static final String QUIZ = "{ 'question_text': 1, 'options': 1, 'answer': 1, "
+      + "'content_language': 1, 'region': 1, 'type': 1, 'category': 1, 'image_url': 1 }";
+
+  /**
+   * Fields read when grading answers and recording them ({@code AnswerGrader},
+   * {@code QuizAnswer.of}).
+   */
+  public static final String GRADING = "{ 'question_text': 1, 'answer': 1, 'type': 1, "
+      + "'content_language': 1, 'region': 1 }";
+
+  /**
+   * Fields read by the in-memory {@code QuestionCatalog}: both DTOs it pre-converts plus the
+   * fields its search index covers.
+   */
+  public static final String CATALOG = "{ 'question_text': 1, 'options': 1, 'answer': 1, "
+      + "'category': 1, 'content_language': 1, 'region': 1, 'type': 1, 'source': 1, "
+      + "'image_url': 1, 'term': 1, 'term_meaning': 1 }";
+
+  /**
+   * Fields read when breaking stats down by question attributes.
+   */
+  public static final String ATTRIBUTES = "{ 'type': 1, 'content_language': 1, 'region': 1 }";
+
+  private QuestionProjections() {
+  }
+
+  /**
+   * Field names of one of the projections above.
+   */
+  public static String[] fields(String projection) {
+    return Document.parse(projection).keySet().toArray(String[]::new);
+  }
+}
@@ -1,79 +1,52 @@
 package com.saudiculture.repositories;
 
 import com.saudiculture.models.Question;
+import java.util.Collection;
 import java.util.List;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.data.mongodb.repository.Query;
 
-public interface QuestionRepository extends MongoRepository<Question, String> {
+/**
+ * Question reads only load the fields their caller maps (see {@link QuestionProjections}); the
+ * returned entities are partially populated.
+ */
+public interface QuestionRepository extends MongoRepository<Question, String>,
+        QuestionSearchRepository {
 
-    // Batch fetch questions by IDs (for stats aggregation)
+    // Batch fetch question attributes by IDs (for stats aggregation)
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = QuestionProjections.ATTRIBUTES)
     List<Question> findAllByIdIn(List<String> ids);
 
+    // Batch fetch questions by IDs with what grading needs
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = QuestionProjections.GRADING)
+    List<Question> findForGradingByIdIn(Collection<String> ids);
+
+    // Batch fetch questions by IDs as quiz questions
+    @Query(value = "{ '_id': { '$in': ?0 } }", fields = QuestionProjections.QUIZ)
+    List<Question> findForQuizByIdIn(Collection<String> ids);
+
     // Legacy methods (kept for backward compatibility if needed)
+    @Query(fields = QuestionProjections.INFO)
     Page<Question> findByCategoryAndRegion(String category, String region, Pageable pageable);
 
+    @Query(fields = QuestionProjections.INFO)
     Page<Question> findByCategory(String category, Pageable pageable);
 
+    @Query(fields = QuestionProjections.INFO)
     Page<Question> findByRegion(String region, Pageable pageable);
 
     // New methods with language filter
+    @Query(fields = QuestionProjections.INFO)
     Page<Question> findByContentLanguage(String contentLanguage, Pageable pageable);
 
+    @Query(fields = QuestionProjections.INFO)
     Page<Question> findByContentLanguageAndCategory(String contentLanguage, String category, Pageable pageable);
 
+    @Query(fields = QuestionProjections.INFO)
     Page<Question> findByContentLanguageAndRegion(String contentLanguage, String region, Pageable pageable);
 
+    @Query(fields = QuestionProjections.INFO)
     Page<Question> findByContentLanguageAndCategoryAndRegion(String contentLanguage, String category, String region, Pageable pageable);
-
-    // Regex-based search methods with language filter (works with Arabic and English)
-    @Query("{ $and: [ " +
-            "{ $or: [ " +
-            "{ 'question_text': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'answer': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'term': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'term_meaning': { $regex: ?0, $options: 'i' } } " +
-            "] }, " +
-            "{ 'content_language': ?1 } " +
-            "] }")
-    Page<Question> searchQuestionsByLanguage(String searchTerm, String language, Pageable pageable);
-
-    @Query("{ $and: [ " +
-            "{ $or: [ " +
-            "{ 'question_text': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'answer': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'term': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'term_meaning': { $regex: ?0, $options: 'i' } } " +
-            "] }, " +
-            "{ 'content_language': ?1 }, " +
-            "{ 'category': ?2 } " +
-            "] }")
-    Page<Question> searchQuestionsByLanguageAndCategory(String searchTerm, String language, String category, Pageable pageable);
-
-    @Query("{ $and: [ " +
-            "{ $or: [ " +
-            "{ 'question_text': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'answer': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'term': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'term_meaning': { $regex: ?0, $options: 'i' } } " +
-            "] }, " +
-            "{ 'content_language': ?1 }, " +
-            "{ 'region': ?2 } " +
-            "] }")
-    Page<Question> searchQuestionsByLanguageAndRegion(String searchTerm, String language, String region, Pageable pageable);
-
-    @Query("{ $and: [ " +
-            "{ $or: [ " +
-            "{ 'question_text': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'answer': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'term': { $regex: ?0, $options: 'i' } }, " +
-            "{ 'term_meaning': { $regex: ?0, $options: 'i' } } " +
-            "] }, " +
-            "{ 'content_language': ?1 }, " +
-            "{ 'category': ?2 }, " +
-            "{ 'region': ?3 } " +
-            "] }")
-    Page<Question> searchQuestionsByLanguageCategoryAndRegion(String searchTerm, String language, String category, String region, Pageable pageable);
 }
@@ -0,0 +1,71 @@
+package com.saudiculture.repositories;
+
+import com.saudiculture.models.Question;
+import java.util.regex.Pattern;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextCriteria;
+import org.springframework.data.mongodb.core.query.TextQuery;
+
+/**
+ * Free-text search over question text, answer, term and term meaning, with the language,
+ * category and region filters applied in the same query.
+ */
+public interface QuestionSearchRepository {
+
+  /**
+   * How the search term is matched.
+   */
+  enum SearchMode {
+    /**
+     * Case-insensitive substring match ($regex). Cannot use an index.
+     */
+    REGEX,
+    /**
+     * MongoDB $text search over the questions text index, ranked by textScore.
+     */
+    TEXT
+  }
+
+  /**
+   * @param searchTerm Raw user input; never interpreted as a regular expression
+   * @param language   Required content language
+   * @param category   Optional category, null for any
+   * @param region     Optional region, null for any
+   */
+  Page<Question> searchQuestions(String searchTerm, String language, String category,
+      String region, SearchMode mode, Pageable pageable);
+
+  /**
+   * Filter matching the search term and filters, without paging or ranking. Used by
+   * {@link #searchQuestions} and by the reactive read path.
+   */
+  static Query searchQuery(String searchTerm, String language, String category, String region,
+      SearchMode mode) {
+    Query query = mode == SearchMode.TEXT
+        ? TextQuery.queryText(TextCriteria.forDefaultLanguage().matching(searchTerm))
+        : Query.query(regexCriteria(searchTerm));
+
+    query.addCriteria(Criteria.where("content_language").is(language));
+    query.addCriteria(Criteria.where("deleted").ne(true));
+    if (category != null) {
+      query.addCriteria(Criteria.where("category").is(category));
+    }
+    if (region != null) {
+      query.addCriteria(Criteria.where("region").is(region));
+    }
+    return query;
+  }
+
+  private static Criteria regexCriteria(String searchTerm) {
+    // Match the user's input literally, case-insensitively
+    String pattern = Pattern.quote(searchTerm);
+    return new Criteria().orOperator(
+        Criteria.where("question_text").regex(pattern, "i"),
+        Criteria.where("answer").regex(pattern, "i"),
+        Criteria.where("term").regex(pattern, "i"),
+        Criteria.where("term_meaning").regex(pattern, "i"));
+  }
+}
@@ -0,0 +1,64 @@
+package com.saudiculture.repositories;
+
+import com.saudiculture.models.Question;
+import java.util.ArrayList;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.bson.Document;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.domain.Pageable;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
+import org.springframework.data.mongodb.core.query.Query;
+
+@RequiredArgsConstructor
+public class QuestionSearchRepositoryImpl implements QuestionSearchRepository {
+
+  private final MongoTemplate mongoTemplate;
+
+  /**
+   * One aggregation per page: the matches are counted in the same pass that returns the page
+   * ({@code $facet}), instead of a separate count query scanning them again.
+   */
+  @Override
+  public Page<Question> searchQuestions(String searchTerm, String language, String category,
+      String region, SearchMode mode, Pageable pageable) {
+    Query query = QuestionSearchRepository.searchQuery(searchTerm, language, category, region,
+        mode);
+
+    Document match = new Document("$match", query.getQueryObject());
+    Document facet = new Document("$facet", new Document("items", pageStages(mode, pageable))
+        .append("total", List.of(new Document("$count", "count"))));
+    List<AggregationOperation> pipeline = List.of(context -> match, context -> facet);
+
+    Document result = mongoTemplate.aggregate(Aggregation.newAggregation(pipeline), "questions",
+        Document.class).getUniqueMappedResult();
+
+    List<Question> questions = new ArrayList<>();
+    long total = 0;
+    if (result != null) {
+      for (Document item : result.getList("items", Document.class)) {
+        questions.add(mongoTemplate.getConverter().read(Question.class, item));
+      }
+      List<Document> count = result.getList("total", Document.class);
+      total = count.isEmpty() ? 0 : ((Number) count.getFirst().get("count")).longValue();
+    }
+    return new PageImpl<>(questions, pageable, total);
+  }
+
+  /**
+   * Best match first for $text, then the requested page with only the info fields.
+   */
+  private static List<Document> pageStages(SearchMode mode, Pageable pageable) {
+    List<Document> stages = new ArrayList<>();
+    if (mode == SearchMode.TEXT) {
+      stages.add(new Document("$sort", new Document("score", new Document("$meta", "textScore"))));
+    }
+    stages.add(new Document("$skip", pageable.getOffset()));
+    stages.add(new Document("$limit", pageable.getPageSize()));
+    stages.add(new Document("$project", Document.parse(QuestionProjections.INFO)));
+    return stages;
+  }
+}
@@ -0,0 +1,24 @@
+package com.saudiculture.repositories;
+
+import com.saudiculture.models.QuizSubmission;
+import java.time.LocalDateTime;
+import java.util.List;
+
+/**
+ * Keyset-paginated submission history, newest first, answered from the
+ * {@code (userId, submittedAt desc, _id desc, score, totalQuestions)} index alone.
+ */
+public interface QuizSubmissionHistoryRepository {
+
+  /**
+   * Submission summaries (without {@code answers}) of the user, ordered by {@code submittedAt}
+   * then {@code _id}, both descending.
+   *
+   * @param beforeSubmittedAt Submission time of the last item of the previous page, null for the
+   *                          first page
+   * @param beforeId          Id of the last item of the previous page, null for the first page
+   * @param limit             Maximum number of submissions to return
+   */
+  List<QuizSubmission> findHistoryPage(String userId, LocalDateTime beforeSubmittedAt,
+      String beforeId, int limit);
+}
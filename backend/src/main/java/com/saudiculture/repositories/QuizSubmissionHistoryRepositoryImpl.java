@@ -0,0 +1,46 @@
+package com.saudiculture.repositories;
+
+import com.saudiculture.models.QuizSubmission;
+import java.time.LocalDateTime;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+
+@RequiredArgsConstructor
+public class QuizSubmissionHistoryRepositoryImpl implements QuizSubmissionHistoryRepository {
+
+  private final MongoTemplate mongoTemplate;
+
+  @Override
+  public List<QuizSubmission> findHistoryPage(String userId, LocalDateTime beforeSubmittedAt,
+      String beforeId, int limit) {
+    return mongoTemplate.find(historyQuery(userId, beforeSubmittedAt, beforeId, limit),
+        QuizSubmission.class);
+  }
+
+  /**
+   * Only projects fields of the {@code userId_submittedAt_summary} index, so the query is covered.
+   * Not hinted: the index is created by auto-index-creation or by hand, and a hint on a missing
+   * index fails the query instead of falling back to another plan.
+   */
+  private static Query historyQuery(String userId, LocalDateTime beforeSubmittedAt, String beforeId,
+      int limit) {
+    Criteria criteria = Criteria.where("userId").is(userId);
+    if (beforeSubmittedAt != null && beforeId != null) {
+      // Strictly after the cursor in (submittedAt desc, _id desc) order. The $lte bound keeps it a
+      // single index range scan; the $or only filters out the already returned ties.
+      criteria = criteria.and("submittedAt").lte(beforeSubmittedAt).orOperator(
+          Criteria.where("submittedAt").lt(beforeSubmittedAt),
+          Criteria.where("_id").lt(beforeId));
+    }
+
+    Query query = Query.query(criteria)
+        .with(Sort.by(Sort.Direction.DESC, "submittedAt", "_id"))
+        .limit(limit);
+    query.fields().include("_id", "userId", "submittedAt", "score", "totalQuestions");
+    return query;
+  }
+}
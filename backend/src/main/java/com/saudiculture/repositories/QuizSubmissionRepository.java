@@ -2,13 +2,16 @@ package com.saudiculture.repositories;
 
 import com.saudiculture.models.QuizSubmission;
 import java.util.List;
+import java.util.Optional;
 import org.springframework.data.mongodb.repository.MongoRepository;
 import org.springframework.stereotype.Repository;
 
 @Repository
-public interface QuizSubmissionRepository extends MongoRepository<QuizSubmission, String> {
+public interface QuizSubmissionRepository extends MongoRepository<QuizSubmission, String>,
+    QuizSubmissionHistoryRepository {
 
-  List<QuizSubmission> findByUserIdOrderBySubmittedAtDesc(String userId);
   List<QuizSubmission> findAllByUserId(String userId);
   long countByUserId(String userId);
+
+  Optional<QuizSubmission> findByIdAndUserId(String id, String userId);
 }
@@ -0,0 +1,10 @@
+package com.saudiculture.repositories;
+
+import com.saudiculture.models.UserStats;
+import org.springframework.data.mongodb.repository.MongoRepository;
+import org.springframework.stereotype.Repository;
+
+@Repository
+public interface UserStatsRepository extends MongoRepository<UserStats, String> {
+
+}
@@ -1,17 +1,31 @@
 package com.saudiculture.security;
 
+import java.util.ArrayList;
+import java.util.Collection;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.context.annotation.Bean;
 import org.springframework.context.annotation.Configuration;
+import org.springframework.http.HttpMethod;
 import org.springframework.security.config.Customizer;
 import org.springframework.security.config.annotation.web.builders.HttpSecurity;
 import org.springframework.security.config.annotation.web.configuration.EnableWebSecurity;
 import org.springframework.security.config.annotation.web.configurers.AbstractHttpConfigurer;
+import org.springframework.security.core.GrantedAuthority;
+import org.springframework.security.oauth2.server.resource.authentication.JwtAuthenticationConverter;
+import org.springframework.security.oauth2.server.resource.authentication.JwtGrantedAuthoritiesConverter;
 import org.springframework.security.web.SecurityFilterChain;
 
 @Configuration
 @EnableWebSecurity
 public class SecurityConfig {
 
+  // Cognito groups become GROUP_<name> authorities, next to the default SCOPE_ ones
+  private static final String GROUP_AUTHORITY_PREFIX = "GROUP_";
+
+  // Cognito group whose members may bulk import submissions
+  @Value("${quiz.submissions.bulk.import-group:quiz-importers}")
+  private String importGroup = "quiz-importers";
+
   @Bean
   public SecurityFilterChain securityFilterChain(HttpSecurity http) throws Exception {
     return http
@@ -19,13 +33,33 @@ public class SecurityConfig {
         .authorizeHttpRequests(auth -> {
           auth.requestMatchers("/api/info/**").permitAll();
           auth.requestMatchers("/api/quiz/**").permitAll();
+          auth.requestMatchers("/api/images/**").permitAll();
+          auth.requestMatchers("/api/stream/**").permitAll();
           auth.requestMatchers("/swagger-ui/**", "/v3/api-docs/**").permitAll();
-          auth.requestMatchers("/actuator/health").permitAll();
+          auth.requestMatchers("/actuator/health", "/actuator/health/**").permitAll();
+          auth.requestMatchers(HttpMethod.POST, "/api/quiz-submissions/bulk")
+              .hasAuthority(GROUP_AUTHORITY_PREFIX + importGroup);
           auth.anyRequest().authenticated();
         })
-        .oauth2ResourceServer(oauth2 -> oauth2.jwt(Customizer.withDefaults()))
+        .oauth2ResourceServer(oauth2 -> oauth2.jwt(
+            jwt -> jwt.jwtAuthenticationConverter(jwtAuthenticationConverter())))
         .cors(Customizer.withDefaults())
         .build();
   }
 
+  private JwtAuthenticationConverter jwtAuthenticationConverter() {
+    JwtGrantedAuthoritiesConverter scopes = new JwtGrantedAuthoritiesConverter();
+    JwtGrantedAuthoritiesConverter groups = new JwtGrantedAuthoritiesConverter();
+    groups.setAuthoritiesClaimName("cognito:groups");
+    groups.setAuthorityPrefix(GROUP_AUTHORITY_PREFIX);
+
+    JwtAuthenticationConverter converter = new JwtAuthenticationConverter();
+    converter.setJwtGrantedAuthoritiesConverter(jwt -> {
+      Collection<GrantedAuthority> authorities = new ArrayList<>(scopes.convert(jwt));
+      authorities.addAll(groups.convert(jwt));
+      return authorities;
+    });
+    return converter;
+  }
+
 }
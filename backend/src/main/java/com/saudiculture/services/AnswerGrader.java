@@ -0,0 +1,218 @@
+package com.saudiculture.services;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import com.saudiculture.catalog.QuestionsChangedEvent;
+import com.saudiculture.catalog.TextNormalizer;
+import com.saudiculture.models.Question;
+import java.util.Arrays;
+import java.util.Locale;
+import java.util.Map;
+import java.util.Objects;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.stream.Collectors;
+import java.util.stream.Stream;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.context.event.EventListener;
+import org.springframework.stereotype.Component;
+
+/**
+ * Grades quiz answers against a question's correct answer.
+ * <p>
+ * Each question's correct answer is compiled once into a {@link Matcher} holding its normalized
+ * form (trimmed text, lower-cased sorted options, or a true/false bit) and cached by question id,
+ * so grading an answer only normalizes the user's side. A cached matcher is recompiled when the
+ * question's answer, type or language no longer match what it was compiled from, and the cache is
+ * dropped when the question bank is reloaded.
+ * <p>
+ * Rules per type:
+ * <ul>
+ *   <li>{@code open_ended}: case-insensitive exact match, or the answer contains the user's text</li>
+ *   <li>{@code single_choice}: non-blank, and a case-insensitive match or contained in the answer</li>
+ *   <li>{@code multiple_choice}: the same comma-separated options in any order, ignoring case</li>
+ *   <li>{@code true_false}: both sides are a "false" variant (Arabic spellings are matched after
+ *   normalization, so missing hamza or diacritics don't matter), or neither is</li>
+ * </ul>
+ * Unknown types are graded as incorrect.
+ */
+@Slf4j
+@Component
+public class AnswerGrader {
+
+  private static final String ARABIC_FALSE = "خطأ";
+
+  /**
+   * Spellings of "false", normalized with {@link TextNormalizer#normalize} (lower case, Arabic
+   * letter variants folded, diacritics dropped).
+   */
+  private static final Set<String> FALSE_VARIANTS = Stream.of("false", "خطأ", "حطا", "خاطئ", "خاطئة")
+      .map(TextNormalizer::normalize)
+      .collect(Collectors.toUnmodifiableSet());
+
+  private final Map<String, CompiledAnswer> compiled = new ConcurrentHashMap<>();
+
+  /**
+   * Whether {@code userAnswer} is a correct answer to {@code question}.
+   */
+  public boolean isCorrect(Question question, String userAnswer) {
+    CompiledAnswer answer = compiledAnswer(question);
+
+    String normalized = userAnswer != null ? userAnswer.trim() : "";
+    // Arabic questions accept the English "False" for the Arabic false answer
+    if (answer.arabic() && normalized.equalsIgnoreCase("False")) {
+      normalized = ARABIC_FALSE;
+    }
+    return answer.matcher().matches(normalized);
+  }
+
+  @EventListener(QuestionsChangedEvent.class)
+  public void onQuestionsChanged() {
+    compiled.clear();
+  }
+
+  private CompiledAnswer compiledAnswer(Question question) {
+    String id = question.getId();
+    if (id == null) {
+      return compile(question);
+    }
+    CompiledAnswer cached = compiled.get(id);
+    if (cached == null || !cached.isCompiledFrom(question)) {
+      cached = compile(question);
+      compiled.put(id, cached);
+    }
+    return cached;
+  }
+
+  CompiledAnswer compile(Question question) {
+    String correctAnswer = question.getAnswer() != null ? question.getAnswer().trim() : "";
+    String type = question.getType() != null ? question.getType().toLowerCase(Locale.ROOT) : "";
+
+    Matcher matcher = switch (type) {
+      case "open_ended" -> new OpenEndedMatcher(correctAnswer);
+      case "single_choice" -> new SingleChoiceMatcher(correctAnswer);
+      case "multiple_choice" -> new MultipleChoiceMatcher(sortedOptions(correctAnswer));
+      case "true_false" -> new TrueFalseMatcher(isFalseVariant(correctAnswer));
+      default -> {
+        log.warn("Unknown question type, answers will be graded as incorrect",
+            keyValue("questionId", question.getId()), keyValue("type", question.getType()));
+        yield userAnswer -> false;
+      }
+    };
+    return new CompiledAnswer(question.getAnswer(), question.getType(),
+        question.getContentLanguage(), "arabic".equalsIgnoreCase(question.getContentLanguage()),
+        matcher);
+  }
+
+  /**
+   * Comma-separated options, trimmed, lower-cased and sorted. Like {@link String#split}, trailing
+   * empty options are dropped.
+   */
+  static String[] sortedOptions(String answer) {
+    String[] options = answer.split(",");
+    for (int i = 0; i < options.length; i++) {
+      options[i] = options[i].trim().toLowerCase(Locale.ROOT);
+    }
+    Arrays.sort(options);
+    return options;
+  }
+
+  static boolean isFalseVariant(String answer) {
+    return FALSE_VARIANTS.contains(TextNormalizer.normalize(answer));
+  }
+
+  /**
+   * Case-insensitive {@code text.contains(part)} without lower-casing copies of either string.
+   */
+  static boolean containsIgnoreCase(String text, String part) {
+    int length = part.length();
+    for (int i = 0, last = text.length() - length; i <= last; i++) {
+      if (text.regionMatches(true, i, part, 0, length)) {
+        return true;
+      }
+    }
+    return false;
+  }
+
+  /**
+   * Correct answer of one question in its normalized form.
+   */
+  @FunctionalInterface
+  interface Matcher {
+
+    /**
+     * @param userAnswer the user's answer, trimmed and never null
+     */
+    boolean matches(String userAnswer);
+  }
+
+  record CompiledAnswer(String answer, String type, String language, boolean arabic,
+                        Matcher matcher) {
+
+    boolean isCompiledFrom(Question question) {
+      return Objects.equals(answer, question.getAnswer())
+          && Objects.equals(type, question.getType())
+          && Objects.equals(language, question.getContentLanguage());
+    }
+  }
+
+  private record OpenEndedMatcher(String correctAnswer) implements Matcher {
+
+    @Override
+    public boolean matches(String userAnswer) {
+      return correctAnswer.equalsIgnoreCase(userAnswer)
+          || containsIgnoreCase(correctAnswer, userAnswer);
+    }
+  }
+
+  private record SingleChoiceMatcher(String correctAnswer) implements Matcher {
+
+    @Override
+    public boolean matches(String userAnswer) {
+      if (userAnswer.isEmpty()) {
+        return false;
+      }
+      return correctAnswer.equalsIgnoreCase(userAnswer) || correctAnswer.contains(userAnswer);
+    }
+  }
+
+  private record MultipleChoiceMatcher(String[] correctOptions) implements Matcher {
+
+    @Override
+    public boolean matches(String userAnswer) {
+      // Cheap rejection before splitting: the option counts must agree
+      if (optionCount(userAnswer) != correctOptions.length) {
+        return false;
+      }
+      return Arrays.equals(sortedOptions(userAnswer), correctOptions);
+    }
+
+    /**
+     * Number of options {@link String#split} yields for {@code answer} split on commas.
+     */
+    private static int optionCount(String answer) {
+      int end = answer.length();
+      while (end > 0 && answer.charAt(end - 1) == ',') {
+        end--;
+      }
+      if (end == 0) {
+        return answer.isEmpty() ? 1 : 0;
+      }
+      int count = 1;
+      for (int i = 0; i < end; i++) {
+        if (answer.charAt(i) == ',') {
+          count++;
+        }
+      }
+      return count;
+    }
+  }
+
+  private record TrueFalseMatcher(boolean correctInFalse) implements Matcher {
+
+    @Override
+    public boolean matches(String userAnswer) {
+      return isFalseVariant(userAnswer) == correctInFalse;
+    }
+  }
+}
@@ -0,0 +1,147 @@
+package com.saudiculture.services;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import java.io.ByteArrayInputStream;
+import java.io.IOException;
+import java.io.InputStream;
+import java.security.MessageDigest;
+import java.security.NoSuchAlgorithmException;
+import java.time.Instant;
+import java.util.HexFormat;
+import java.util.Optional;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.springframework.core.io.AbstractResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsCriteria;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+import org.springframework.stereotype.Service;
+
+/**
+ * Question images in GridFS.
+ * <p>
+ * Images are immutable: a file is identified by its id and carries the SHA-256 of its bytes in
+ * {@code metadata.sha256}, which doubles as the HTTP ETag. Storing bytes that are already in the
+ * store returns the existing file instead of writing a copy.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuestionImageService {
+
+  static final String SHA256_FIELD = "sha256";
+
+  private final GridFsOperations gridFsOperations;
+
+  /**
+   * Store an image, or find the identical one already stored.
+   *
+   * @return id of the GridFS file holding the image
+   */
+  public String store(byte[] data, String contentType, String filename) {
+    String sha256 = sha256(data);
+    GridFSFile existing = gridFsOperations.findOne(
+        Query.query(GridFsCriteria.whereMetaData(SHA256_FIELD).is(sha256)));
+    if (existing != null) {
+      return existing.getObjectId().toHexString();
+    }
+
+    ObjectId id = gridFsOperations.store(new ByteArrayInputStream(data), filename, contentType,
+        new Document(SHA256_FIELD, sha256));
+    log.debug("Question image stored", keyValue("imageId", id.toHexString()),
+        keyValue("bytes", data.length));
+    return id.toHexString();
+  }
+
+  /**
+   * The image with the given id, or empty if there is none (including malformed ids).
+   */
+  public Optional<StoredImage> find(String imageId) {
+    if (!ObjectId.isValid(imageId)) {
+      return Optional.empty();
+    }
+    GridFSFile file = gridFsOperations.findOne(
+        Query.query(Criteria.where("_id").is(new ObjectId(imageId))));
+    if (file == null) {
+      return Optional.empty();
+    }
+
+    Document metadata = file.getMetadata() != null ? file.getMetadata() : new Document();
+    String contentType = metadata.getString("_contentType");
+    String sha256 = metadata.getString(SHA256_FIELD);
+    return Optional.of(new StoredImage(imageId,
+        contentType != null ? contentType : "application/octet-stream",
+        file.getLength(),
+        sha256 != null ? sha256 : imageId,
+        file.getUploadDate().toInstant(),
+        new GridFsFileResource(gridFsOperations, file)));
+  }
+
+  static String sha256(byte[] data) {
+    try {
+      return HexFormat.of().formatHex(MessageDigest.getInstance("SHA-256").digest(data));
+    } catch (NoSuchAlgorithmException e) {
+      throw new IllegalStateException("SHA-256 not available", e);
+    }
+  }
+
+  /**
+   * A stored image: its metadata and a resource streaming its bytes from GridFS.
+   *
+   * @param checksum SHA-256 of the bytes, used as ETag
+   */
+  public record StoredImage(String id, String contentType, long length, String checksum,
+                            Instant uploadedAt, Resource content) {
+  }
+
+  /**
+   * Opens a new GridFS download stream on every {@link #getInputStream()} call, so that the
+   * resource can be read more than once (e.g. once per requested byte range).
+   */
+  private static final class GridFsFileResource extends AbstractResource {
+
+    private final GridFsOperations gridFsOperations;
+    private final GridFSFile file;
+
+    private GridFsFileResource(GridFsOperations gridFsOperations, GridFSFile file) {
+      this.gridFsOperations = gridFsOperations;
+      this.file = file;
+    }
+
+    @Override
+    public InputStream getInputStream() throws IOException {
+      return gridFsOperations.getResource(file).getInputStream();
+    }
+
+    @Override
+    public long contentLength() {
+      return file.getLength();
+    }
+
+    @Override
+    public long lastModified() {
+      return file.getUploadDate().getTime();
+    }
+
+    @Override
+    public String getFilename() {
+      return file.getFilename();
+    }
+
+    @Override
+    public boolean exists() {
+      return true;
+    }
+
+    @Override
+    public String getDescription() {
+      return "GridFS file [" + file.getObjectId().toHexString() + "]";
+    }
+  }
+}
@@ -1,25 +1,48 @@
 package com.saudiculture.services;
 
+import com.saudiculture.catalog.QuestionCatalog;
+import com.saudiculture.catalog.QuestionsChangedEvent;
 import com.saudiculture.dto.InfoQuestionDTO;
+import com.saudiculture.dto.QuestionMapper;
 import com.saudiculture.dto.QuizQuestionDTO;
 import com.saudiculture.models.Question;
+import com.saudiculture.repositories.QuestionProjections;
 import com.saudiculture.repositories.QuestionRepository;
+import com.saudiculture.repositories.QuestionSearchRepository.SearchMode;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.boot.context.event.ApplicationReadyEvent;
+import org.springframework.context.event.EventListener;
 import org.springframework.data.domain.Page;
 import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
+import org.springframework.data.domain.Sort;
 import org.springframework.data.mongodb.core.MongoTemplate;
 import org.springframework.data.mongodb.core.aggregation.Aggregation;
 import org.springframework.data.mongodb.core.aggregation.AggregationOperation;
 import org.springframework.data.mongodb.core.aggregation.AggregationResults;
 import org.springframework.data.mongodb.core.aggregation.MatchOperation;
+import org.springframework.data.mongodb.core.index.IndexOperations;
+import org.springframework.data.mongodb.core.index.IndexResolver;
+import org.springframework.data.mongodb.core.index.TextIndexDefinition;
 import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.stereotype.Service;
 
+import java.time.LocalDate;
+import java.time.ZoneOffset;
 import java.util.ArrayList;
+import java.util.Collections;
+import java.util.LinkedHashMap;
 import java.util.List;
+import java.util.Map;
+import java.util.Objects;
+import java.util.SplittableRandom;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Function;
+import java.util.stream.Collectors;
 
 import static net.logstash.logback.argument.StructuredArguments.keyValue;
 
@@ -30,6 +53,40 @@ public class QuestionService {
 
     private final QuestionRepository questionRepository;
     private final MongoTemplate mongoTemplate;
+    private final QuestionCatalog questionCatalog;
+
+    // regex: case-insensitive substring match; text: MongoDB $text index ranked by relevance
+    @Value("${questions.search.mode:regex}")
+    private String searchMode = "regex";
+
+    // Maximum number of distinct seeded quizzes (filters + size + seed) kept in memory
+    @Value("${questions.quiz.seeded-cache-size:1000}")
+    private int seededCacheSize = 1000;
+
+    // Access-ordered so the least recently served seeded quiz is evicted first
+    private final Map<SeededQuizKey, List<QuizQuestionDTO>> seededQuizzes = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<SeededQuizKey, List<QuizQuestionDTO>> eldest) {
+                    return size() > seededCacheSize;
+                }
+            });
+
+    // Maximum number of (language, category, region) filters whose info question count is cached
+    @Value("${questions.info.count-cache-size:1000}")
+    private int infoCountCacheSize = 1000;
+
+    private final Map<InfoFilterKey, Long> infoCounts = Collections.synchronizedMap(
+            new LinkedHashMap<>(16, 0.75f, true) {
+                @Override
+                protected boolean removeEldestEntry(Map.Entry<InfoFilterKey, Long> eldest) {
+                    return size() > infoCountCacheSize;
+                }
+            });
+
+    // Bumped on every QuestionsChangedEvent before the caches are cleared, so a value computed from
+    // the previous question bank is not cached after the clear
+    private final AtomicLong cacheGeneration = new AtomicLong();
 
     public Page<InfoQuestionDTO> getInfo(String language, String category, String region, String searchTerm, int page, int size) {
         log.info("Fetching info questions",
@@ -40,36 +97,36 @@ public class QuestionService {
                 keyValue("page", page),
                 keyValue("size", size));
         Pageable pageable = PageRequest.of(page, size);
+        boolean hasSearch = searchTerm != null && !searchTerm.trim().isEmpty();
+
+        // Serve filter and search pages from the in-memory catalog when it is loaded
+        if (questionCatalog.isReady()) {
+            Page<InfoQuestionDTO> infoPage = hasSearch
+                    ? questionCatalog.searchInfo(searchTerm.trim(), language, category, region, pageable)
+                    : questionCatalog.findInfo(language, category, region, pageable);
+            log.info("Retrieved info questions from catalog",
+                    keyValue("count", infoPage.getNumberOfElements()),
+                    keyValue("totalElements", infoPage.getTotalElements()));
+            return infoPage;
+        }
+
         Page<Question> questionsPage;
 
-        // Determine which query method to use based on parameters
         // Language is always present (defaults to Arabic)
-        if (searchTerm != null && !searchTerm.trim().isEmpty()) {
-            // Search is active - use text search queries with language filter
-            if (category != null && region != null) {
-                questionsPage = questionRepository.searchQuestionsByLanguageCategoryAndRegion(searchTerm, language, category, region, pageable);
-            } else if (category != null) {
-                questionsPage = questionRepository.searchQuestionsByLanguageAndCategory(searchTerm, language, category, pageable);
-            } else if (region != null) {
-                questionsPage = questionRepository.searchQuestionsByLanguageAndRegion(searchTerm, language, region, pageable);
-            } else {
-                questionsPage = questionRepository.searchQuestionsByLanguage(searchTerm, language, pageable);
-            }
+        if (hasSearch) {
+            // Search is active - one query returning the page and its total for the search term and filters
+            questionsPage = questionRepository.searchQuestions(searchTerm.trim(), language, category, region,
+                    searchMode(), pageable);
         } else {
-            // No search - use filter queries with language
-            if (category != null && region != null) {
-                questionsPage = questionRepository.findByContentLanguageAndCategoryAndRegion(language, category, region, pageable);
-            } else if (category != null) {
-                questionsPage = questionRepository.findByContentLanguageAndCategory(language, category, pageable);
-            } else if (region != null) {
-                questionsPage = questionRepository.findByContentLanguageAndRegion(language, region, pageable);
-            } else {
-                questionsPage = questionRepository.findByContentLanguage(language, pageable);
-            }
+            // No search - page query only, the total comes from the per-filter count cache
+            Query pageQuery = infoQuery(language, category, region).with(pageable);
+            pageQuery.fields().include(QuestionProjections.fields(QuestionProjections.INFO));
+            List<Question> questions = mongoTemplate.find(pageQuery, Question.class);
+            questionsPage = new PageImpl<>(questions, pageable, countInfo(language, category, region));
         }
 
         List<InfoQuestionDTO> dtoList = questionsPage.getContent().stream()
-                .map(this::convertToInfoDTO)
+                .map(QuestionMapper::toInfoDTO)
                 .toList();
 
         log.info("Retrieved info questions",
@@ -78,38 +135,98 @@ public class QuestionService {
         return new PageImpl<>(dtoList, pageable, questionsPage.getTotalElements());
     }
 
+    /**
+     * Number of info questions matching the filters. Counts only change when the question bank is
+     * reloaded, so they are cached per filter (bounded LRU) until the next {@link QuestionsChangedEvent}.
+     */
+    private long countInfo(String language, String category, String region) {
+        InfoFilterKey key = new InfoFilterKey(language, category, region);
+        long generation = cacheGeneration.get();
+        Long cached = infoCounts.get(key);
+        if (cached != null) {
+            return cached;
+        }
+        long count = mongoTemplate.count(infoQuery(language, category, region), Question.class);
+        cacheIfCurrent(infoCounts, key, count, generation);
+        return count;
+    }
+
+    static Query infoQuery(String language, String category, String region) {
+        Query query = new Query(Criteria.where("content_language").is(language));
+        query.addCriteria(Criteria.where("deleted").ne(true));
+        if (category != null) {
+            query.addCriteria(Criteria.where("category").is(category));
+        }
+        if (region != null) {
+            query.addCriteria(Criteria.where("region").is(region));
+        }
+        return query;
+    }
+
+    /**
+     * Create the questions text index from the {@link Question} mapping when search runs on it.
+     * Production has auto-index-creation off, and $text queries fail without the index; an
+     * existing index with the same definition is left as is.
+     */
+    @EventListener(ApplicationReadyEvent.class)
+    public void ensureTextIndex() {
+        if (searchMode() != SearchMode.TEXT) {
+            return;
+        }
+        IndexOperations indexOps = mongoTemplate.indexOps(Question.class);
+        IndexResolver.create(mongoTemplate.getConverter().getMappingContext())
+                .resolveIndexFor(Question.class)
+                .forEach(index -> {
+                    if (index instanceof TextIndexDefinition) {
+                        indexOps.ensureIndex(index);
+                    }
+                });
+        log.info("Questions text index ready for search");
+    }
+
+    SearchMode searchMode() {
+        return "text".equalsIgnoreCase(searchMode) ? SearchMode.TEXT : SearchMode.REGEX;
+    }
+
     public List<QuizQuestionDTO> getQuizzes(String category, String language, String region, String type, int size) {
+        return getQuizzes(category, language, region, type, size, null);
+    }
+
+    /**
+     * Quiz questions matching the filters. Without a seed every call draws a fresh random set; with
+     * a seed the same filters, size and seed always yield the same questions (whether served from
+     * the catalog or MongoDB), and the result is memoized in a bounded LRU cache that is cleared
+     * when the question bank changes.
+     */
+    public List<QuizQuestionDTO> getQuizzes(String category, String language, String region, String type, int size,
+            Long seed) {
         log.info("Fetching quiz questions",
                 keyValue("language", language),
                 keyValue("category", category),
                 keyValue("region", region),
                 keyValue("type", type),
-                keyValue("size", size));
+                keyValue("size", size),
+                keyValue("seed", seed));
 
-        List<Criteria> criteriaList = new ArrayList<>();
-        if (category != null) {
-            criteriaList.add(Criteria.where("category").is(category));
-        }
-        if (language != null) {
-          criteriaList.add(Criteria.where("content_language").is(language));
-        }
-        if (region != null) {
-            criteriaList.add(Criteria.where("region").is(region));
-        }
-        if (type != null && !type.equalsIgnoreCase("all")) {
-            criteriaList.add(Criteria.where("type").is(type));
+        if (seed != null) {
+            return getSeededQuiz(category, language, region, type, size, seed);
         }
 
-        MatchOperation matchOperation = null;
-        if (!criteriaList.isEmpty()) {
-            matchOperation = Aggregation.match(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        if (questionCatalog.isReady()) {
+            List<QuizQuestionDTO> quiz = questionCatalog.drawQuiz(category, language, region, type, size);
+            log.info("Retrieved random quiz questions from catalog",
+                    keyValue("count", quiz.size()));
+            return quiz;
         }
 
+        List<Criteria> criteriaList = quizCriteria(category, language, region, type);
+        MatchOperation matchOperation = Aggregation.match(
+                new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+
         List<AggregationOperation> aggregationOperations = new ArrayList<>();
-        if (matchOperation != null) {
-            aggregationOperations.add(matchOperation);
-        }
+        aggregationOperations.add(matchOperation);
         aggregationOperations.add(Aggregation.sample(size));
+        aggregationOperations.add(Aggregation.project(QuestionProjections.fields(QuestionProjections.QUIZ)));
 
         Aggregation aggregation = Aggregation.newAggregation(aggregationOperations);
 
@@ -120,35 +237,116 @@ public class QuestionService {
                 keyValue("count", randomQuestions.size()));
 
         return randomQuestions.stream()
-            .map(this::convertToQuizDTO)
+            .map(QuestionMapper::toQuizDTO)
             .toList();
     }
 
-    private InfoQuestionDTO convertToInfoDTO(Question question) {
-        InfoQuestionDTO dto = new InfoQuestionDTO();
-        dto.setQuestionText(question.getQuestionText());
-        dto.setAnswer(question.getAnswer());
-        dto.setCategory(question.getCategory());
-        dto.setLanguage(question.getContentLanguage());
-        dto.setRegion(question.getRegion());
-        dto.setSource(question.getSource());
-        dto.setImageUrl(question.getImageUrl());
-
-        return dto;
+    /**
+     * Seed of the daily challenge quiz: the current UTC day, so every instance serves the same
+     * questions for a given filter until midnight UTC.
+     */
+    public long dailySeed() {
+        return LocalDate.now(ZoneOffset.UTC).toEpochDay();
+    }
+
+    @EventListener(QuestionsChangedEvent.class)
+    public void onQuestionsChanged() {
+        cacheGeneration.incrementAndGet();
+        seededQuizzes.clear();
+        infoCounts.clear();
+    }
+
+    /**
+     * Cache {@code value} unless the questions changed since {@code generation} was read. Holds the
+     * map's lock, so the check and the put cannot interleave with a clear.
+     */
+    private <K, V> void cacheIfCurrent(Map<K, V> cache, K key, V value, long generation) {
+        synchronized (cache) {
+            if (cacheGeneration.get() == generation) {
+                cache.put(key, value);
+            }
+        }
+    }
+
+    private List<QuizQuestionDTO> getSeededQuiz(String category, String language, String region, String type,
+            int size, long seed) {
+        SeededQuizKey key = new SeededQuizKey(category, language, region, type, size, seed);
+        long generation = cacheGeneration.get();
+        List<QuizQuestionDTO> cached = seededQuizzes.get(key);
+        if (cached != null) {
+            log.debug("Seeded quiz served from cache", keyValue("seed", seed));
+            return cached;
+        }
+
+        List<QuizQuestionDTO> quiz = List.copyOf(questionCatalog.isReady()
+                ? questionCatalog.drawSeededQuiz(category, language, region, type, size, seed)
+                : drawSeededQuizFromDatabase(category, language, region, type, size, seed));
+        cacheIfCurrent(seededQuizzes, key, quiz, generation);
+
+        log.info("Generated seeded quiz questions",
+                keyValue("seed", seed),
+                keyValue("count", quiz.size()));
+        return quiz;
+    }
+
+    /**
+     * Same draw as {@link QuestionCatalog#drawSeededQuiz}: a partial Fisher–Yates shuffle seeded
+     * with {@code seed} over the matching ids in ascending order, then one fetch for the picks.
+     */
+    private List<QuizQuestionDTO> drawSeededQuizFromDatabase(String category, String language, String region,
+            String type, int size, long seed) {
+        List<Criteria> criteriaList = quizCriteria(category, language, region, type);
+        Query idQuery = new Query(new Criteria().andOperator(criteriaList.toArray(new Criteria[0])));
+        idQuery.with(Sort.by(Sort.Direction.ASC, "_id"));
+        idQuery.fields().include("_id");
+
+        String[] ids = mongoTemplate.find(idQuery, Question.class).stream()
+                .map(Question::getId)
+                .toArray(String[]::new);
+
+        int count = Math.max(0, Math.min(size, ids.length));
+        SplittableRandom random = new SplittableRandom(seed);
+        List<String> picked = new ArrayList<>(count);
+        for (int i = 0; i < count; i++) {
+            int j = i + random.nextInt(ids.length - i);
+            String id = ids[j];
+            ids[j] = ids[i];
+            ids[i] = id;
+            picked.add(id);
+        }
+
+        Map<String, Question> byId = questionRepository.findForQuizByIdIn(picked).stream()
+                .collect(Collectors.toMap(Question::getId, Function.identity()));
+        return picked.stream()
+                .map(byId::get)
+                .filter(Objects::nonNull)
+                .map(QuestionMapper::toQuizDTO)
+                .toList();
+    }
+
+    static List<Criteria> quizCriteria(String category, String language, String region, String type) {
+        List<Criteria> criteriaList = new ArrayList<>();
+        // Questions removed from their CSV file are never drawn
+        criteriaList.add(Criteria.where("deleted").ne(true));
+        if (category != null) {
+            criteriaList.add(Criteria.where("category").is(category));
+        }
+        if (language != null) {
+          criteriaList.add(Criteria.where("content_language").is(language));
+        }
+        if (region != null) {
+            criteriaList.add(Criteria.where("region").is(region));
+        }
+        if (type != null && !type.equalsIgnoreCase("all")) {
+            criteriaList.add(Criteria.where("type").is(type));
+        }
+        return criteriaList;
+    }
+
+    private record InfoFilterKey(String language, String category, String region) {
     }
 
-    private QuizQuestionDTO convertToQuizDTO(Question question) {
-        QuizQuestionDTO dto = new QuizQuestionDTO();
-        dto.setId(question.getId());
-        dto.setQuestionText(question.getQuestionText());
-        dto.setOptions(question.getOptions());
-        dto.setAnswer(question.getAnswer());
-        dto.setLanguage(question.getContentLanguage());
-        dto.setRegion(question.getRegion());
-        dto.setType(question.getType());
-        dto.setCategory(question.getCategory());
-        dto.setImageUrl(question.getImageUrl());
-
-        return dto;
+    private record SeededQuizKey(String category, String language, String region, String type, int size,
+            long seed) {
     }
-}
\ No newline at end of file
+}
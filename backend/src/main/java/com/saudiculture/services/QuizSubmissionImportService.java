@@ -0,0 +1,303 @@
+package com.saudiculture.services;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import com.fasterxml.jackson.core.JsonProcessingException;
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.saudiculture.dto.BulkQuizSubmissionLine;
+import com.saudiculture.dto.BulkQuizSubmissionResult;
+import com.saudiculture.dto.QuizSubmissionRequest;
+import com.saudiculture.models.Question;
+import com.saudiculture.models.QuizSubmission;
+import com.saudiculture.models.User;
+import com.saudiculture.repositories.QuestionRepository;
+import com.saudiculture.repositories.UserRepository;
+import java.io.BufferedReader;
+import java.io.IOException;
+import java.io.InputStream;
+import java.io.InputStreamReader;
+import java.io.OutputStream;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.HashMap;
+import java.util.HashSet;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.stream.Collectors;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.stereotype.Service;
+
+/**
+ * Bulk import of quiz attempts taken offline, one JSON submission per line (NDJSON).
+ * <p>
+ * Lines are processed in chunks of {@code quiz.submissions.bulk.chunk-size}: the questions and
+ * users referenced by a chunk are loaded with one query each, the chunk is graded with the regular
+ * grading rules on the request thread, and the graded submissions are stored with a single
+ * unordered bulk insert. A result line is written back for every input line as soon as its chunk
+ * is done, and a bad line only fails itself. If the bulk insert fails without per-document errors
+ * (e.g. the connection drops), the stored submissions are looked up by id so every line still
+ * reports whether it was persisted.
+ * <p>
+ * Grading is sequential on purpose. It is an in-memory comparison per answer, microseconds for a
+ * whole chunk against the milliseconds its lookups and bulk insert take, so grading on a thread
+ * pool would add hand-off cost and compete with request threads without shortening the import.
+ */
+@Slf4j
+@Service
+@RequiredArgsConstructor
+public class QuizSubmissionImportService {
+
+  private final QuizSubmissionService quizSubmissionService;
+  private final QuestionRepository questionRepository;
+  private final UserRepository userRepository;
+  private final UserStatsService userStatsService;
+  private final MongoTemplate mongoTemplate;
+  private final ObjectMapper objectMapper;
+
+  @Value("${quiz.submissions.bulk.chunk-size:500}")
+  private int chunkSize = 500;
+
+  /**
+   * Read NDJSON submissions from {@code in} and stream one NDJSON result per line to {@code out}.
+   *
+   * @return number of submissions created
+   */
+  public int importSubmissions(InputStream in, OutputStream out) throws IOException {
+    long start = System.currentTimeMillis();
+    BufferedReader reader = new BufferedReader(new InputStreamReader(in, StandardCharsets.UTF_8));
+
+    List<ParsedLine> chunk = new ArrayList<>(chunkSize);
+    int lineNumber = 0;
+    int created = 0;
+    String line;
+    while ((line = reader.readLine()) != null) {
+      lineNumber++;
+      if (line.isBlank()) {
+        continue;
+      }
+      chunk.add(parse(lineNumber, line));
+      if (chunk.size() == chunkSize) {
+        created += processChunk(chunk, out);
+        chunk.clear();
+      }
+    }
+    if (!chunk.isEmpty()) {
+      created += processChunk(chunk, out);
+    }
+
+    log.info("Bulk quiz submission import finished",
+        keyValue("lines", lineNumber),
+        keyValue("created", created),
+        keyValue("durationMs", System.currentTimeMillis() - start));
+    return created;
+  }
+
+  private ParsedLine parse(int lineNumber, String line) {
+    try {
+      JsonNode node = objectMapper.readTree(line);
+      if (node == null || !node.isObject()) {
+        return ParsedLine.failed(lineNumber, "Each line must be a JSON object");
+      }
+      BulkQuizSubmissionLine submission =
+          objectMapper.treeToValue(node, BulkQuizSubmissionLine.class);
+      if (submission.userId() == null || submission.userId().isBlank()) {
+        return ParsedLine.failed(lineNumber, "userId is required");
+      }
+      if (submission.answers() == null || submission.answers().isEmpty()) {
+        return ParsedLine.failed(lineNumber, "answers are required");
+      }
+      for (QuizSubmissionRequest.AnswerInput answer : submission.answers()) {
+        if (answer == null || answer.questionId() == null || answer.questionId().isBlank()) {
+          return ParsedLine.failed(lineNumber, "questionId is required for every answer");
+        }
+      }
+      return new ParsedLine(lineNumber, submission, null);
+    } catch (JsonProcessingException e) {
+      return ParsedLine.failed(lineNumber, "Invalid JSON: " + e.getOriginalMessage());
+    }
+  }
+
+  private int processChunk(List<ParsedLine> chunk, OutputStream out) throws IOException {
+    List<ParsedLine> valid = chunk.stream().filter(ParsedLine::isValid).toList();
+
+    // One lookup per chunk for all referenced questions and users
+    Set<String> questionIds = new HashSet<>();
+    Set<String> userIds = new HashSet<>();
+    for (ParsedLine line : valid) {
+      userIds.add(line.submission().userId());
+      line.submission().answers().forEach(answer -> questionIds.add(answer.questionId()));
+    }
+    Map<String, Question> questionsById = new HashMap<>();
+    questionRepository.findForGradingByIdIn(questionIds)
+        .forEach(question -> questionsById.put(question.getId(), question));
+    Set<String> knownUsers = userRepository.findAllById(userIds).stream()
+        .map(User::getId)
+        .collect(Collectors.toSet());
+
+    List<Graded> graded = valid.stream()
+        .map(line -> grade(line, questionsById, knownUsers))
+        .toList();
+
+    Map<Integer, BulkQuizSubmissionResult> results = new HashMap<>();
+    chunk.stream().filter(line -> !line.isValid())
+        .forEach(line -> results.put(line.lineNumber(),
+            BulkQuizSubmissionResult.failed(line.lineNumber(), line.error())));
+    List<Graded> toInsert = new ArrayList<>();
+    for (Graded item : graded) {
+      if (item.submission() == null) {
+        results.put(item.lineNumber(), BulkQuizSubmissionResult.failed(item.lineNumber(), item.error()));
+      } else {
+        toInsert.add(item);
+      }
+    }
+
+    Set<Integer> failedIndexes = insert(toInsert, results);
+    int created = 0;
+    for (int i = 0; i < toInsert.size(); i++) {
+      if (failedIndexes.contains(i)) {
+        continue;
+      }
+      QuizSubmission submission = toInsert.get(i).submission();
+      recordStats(submission);
+      results.put(toInsert.get(i).lineNumber(), BulkQuizSubmissionResult.created(
+          toInsert.get(i).lineNumber(), submission.getId(), submission.getScore(),
+          submission.getTotalQuestions()));
+      created++;
+    }
+
+    for (ParsedLine line : chunk) {
+      out.write(objectMapper.writeValueAsBytes(results.get(line.lineNumber())));
+      out.write('\n');
+    }
+    out.flush();
+    return created;
+  }
+
+  private Graded grade(ParsedLine line, Map<String, Question> questionsById,
+      Set<String> knownUsers) {
+    BulkQuizSubmissionLine submission = line.submission();
+    if (!knownUsers.contains(submission.userId())) {
+      return Graded.failed(line.lineNumber(), "User not found: " + submission.userId());
+    }
+    for (QuizSubmissionRequest.AnswerInput answer : submission.answers()) {
+      if (!questionsById.containsKey(answer.questionId())) {
+        return Graded.failed(line.lineNumber(), "Question not found: " + answer.questionId());
+      }
+    }
+
+    QuizSubmission graded = quizSubmissionService.gradeSubmission(submission.userId(),
+        submission.answers(), questionsById);
+    graded.setId(new ObjectId().toHexString());
+    graded.setSubmittedAt(submission.submittedAt() != null
+        ? submission.submittedAt() : LocalDateTime.now());
+    return new Graded(line.lineNumber(), graded, null);
+  }
+
+  /**
+   * Unordered bulk insert of the chunk. Documents the server rejected are reported as failed
+   * lines.
+   *
+   * @return positions in {@code toInsert} that were not inserted
+   */
+  private Set<Integer> insert(List<Graded> toInsert,
+      Map<Integer, BulkQuizSubmissionResult> results) {
+    if (toInsert.isEmpty()) {
+      return Set.of();
+    }
+    BulkOperations bulkOps = mongoTemplate.bulkOps(BulkMode.UNORDERED, QuizSubmission.class);
+    toInsert.forEach(item -> bulkOps.insert(item.submission()));
+    try {
+      bulkOps.execute();
+      return Set.of();
+    } catch (BulkOperationException e) {
+      Set<Integer> failed = new HashSet<>();
+      for (BulkWriteError error : e.getErrors()) {
+        failed.add(error.getIndex());
+        int lineNumber = toInsert.get(error.getIndex()).lineNumber();
+        results.put(lineNumber, BulkQuizSubmissionResult.failed(lineNumber, error.getMessage()));
+      }
+      return failed;
+    } catch (RuntimeException e) {
+      log.warn("Bulk insert failed, checking which submissions were stored",
+          keyValue("count", toInsert.size()), keyValue("error", e.getMessage()));
+      return notStored(toInsert, results, e);
+    }
+  }
+
+  /**
+   * After a bulk insert failed as a whole, report every submission that is not in the database.
+   * When even that lookup fails, each line is reported failed with the id it may be stored under.
+   */
+  private Set<Integer> notStored(List<Graded> toInsert,
+      Map<Integer, BulkQuizSubmissionResult> results, RuntimeException cause) {
+    List<String> ids = toInsert.stream().map(item -> item.submission().getId()).toList();
+    Set<String> stored;
+    try {
+      Query query = Query.query(Criteria.where("_id").in(ids));
+      query.fields().include("_id");
+      stored = mongoTemplate.find(query, QuizSubmission.class).stream()
+          .map(QuizSubmission::getId)
+          .collect(Collectors.toSet());
+    } catch (RuntimeException lookupFailure) {
+      log.error("Could not check which submissions were stored", keyValue("count", ids.size()),
+          lookupFailure);
+      stored = null;
+    }
+
+    Set<Integer> failed = new HashSet<>();
+    for (int i = 0; i < toInsert.size(); i++) {
+      String id = ids.get(i);
+      if (stored != null && stored.contains(id)) {
+        continue;
+      }
+      failed.add(i);
+      int lineNumber = toInsert.get(i).lineNumber();
+      results.put(lineNumber, stored == null
+          ? BulkQuizSubmissionResult.failed(lineNumber,
+              "Write failed, the submission may have been stored as " + id + ": " + cause.getMessage())
+          : BulkQuizSubmissionResult.failed(lineNumber, "Write failed: " + cause.getMessage()));
+    }
+    return failed;
+  }
+
+  private void recordStats(QuizSubmission submission) {
+    try {
+      userStatsService.recordSubmission(submission);
+    } catch (RuntimeException e) {
+      // The submission is stored; a rollup rebuild picks it up
+      log.error("Failed to record imported submission in user stats",
+          keyValue("submissionId", submission.getId()), e);
+    }
+  }
+
+  private record ParsedLine(int lineNumber, BulkQuizSubmissionLine submission, String error) {
+
+    static ParsedLine failed(int lineNumber, String error) {
+      return new ParsedLine(lineNumber, null, error);
+    }
+
+    boolean isValid() {
+      return error == null;
+    }
+  }
+
+  private record Graded(int lineNumber, QuizSubmission submission, String error) {
+
+    static Graded failed(int lineNumber, String error) {
+      return new Graded(lineNumber, null, error);
+    }
+  }
+}
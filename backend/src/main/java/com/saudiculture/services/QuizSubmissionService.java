@@ -1,19 +1,31 @@
 package com.saudiculture.services;
 
+import com.saudiculture.dto.QuizSubmissionPage;
 import com.saudiculture.dto.QuizSubmissionRequest;
 import com.saudiculture.dto.QuizSubmissionResponse;
+import com.saudiculture.dto.QuizSubmissionSummary;
+import com.saudiculture.exception.ResourceNotFoundException;
 import com.saudiculture.models.Question;
 import com.saudiculture.models.QuizAnswer;
 import com.saudiculture.models.QuizSubmission;
 import com.saudiculture.repositories.QuestionRepository;
 import com.saudiculture.repositories.QuizSubmissionRepository;
+import java.nio.charset.StandardCharsets;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeParseException;
 import java.util.ArrayList;
-import java.util.Arrays;
+import java.util.Base64;
 import java.util.HashMap;
 import java.util.List;
 import java.util.Map;
+import java.util.TreeMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.types.ObjectId;
+import org.springframework.beans.factory.annotation.Value;
 import org.springframework.stereotype.Service;
 
 import static net.logstash.logback.argument.StructuredArguments.keyValue;
@@ -25,8 +37,15 @@ public class QuizSubmissionService {
 
   private final QuizSubmissionRepository quizSubmissionRepository;
   private final QuestionRepository questionRepository;
-  private final List<String> FALSE_VARIANTS = new ArrayList<>(
-      Arrays.asList("false", "خطأ", "حطا", "خاطئ", "خاطئة"));
+  private final UserStatsService userStatsService;
+  private final AnswerGrader answerGrader;
+  private final QuizSubmissionWriter quizSubmissionWriter;
+
+  private static final int MAX_HISTORY_PAGE_SIZE = 100;
+
+  // Fraction of submissions that emit the grading diagnostic when DEBUG is on
+  @Value("${quiz.grading.diagnostics.sample-rate:0.01}")
+  private double diagnosticsSampleRate = 0.01;
 
 
   public QuizSubmissionResponse submitQuiz(QuizSubmissionRequest quizSubmissionRequest,
@@ -34,121 +53,178 @@ public class QuizSubmissionService {
     log.info("Submitting quiz", keyValue("userId", userId),
         keyValue("questionCount", quizSubmissionRequest.answers().size()));
 
-    QuizSubmission quizSubmission = new QuizSubmission();
-    quizSubmission.setUserId(userId);
-    quizSubmission.setTotalQuestions(quizSubmissionRequest.answers().size());
-
     List<String> questionIds = quizSubmissionRequest.answers().stream()
         .map(QuizSubmissionRequest.AnswerInput::questionId).toList();
 
     Map<String, Question> questionsMap = new HashMap<>();
-    questionRepository.findAllById(questionIds)
+    questionRepository.findForGradingByIdIn(questionIds)
         .forEach(question -> questionsMap.put(question.getId(), question));
 
-    List<QuizAnswer> userQuizAnswers = new ArrayList<>();
+    long gradingStart = System.nanoTime();
+    QuizSubmission quizSubmission = gradeSubmission(userId, quizSubmissionRequest.answers(),
+        questionsMap);
+    long gradingNanos = System.nanoTime() - gradingStart;
+    int score = quizSubmission.getScore();
+
+    // One grading diagnostic per sampled submission rather than per answer
+    if (log.isDebugEnabled() && ThreadLocalRandom.current().nextDouble() < diagnosticsSampleRate) {
+      log.debug("Graded quiz answers", keyValue("userId", userId),
+          keyValue("answers", quizSubmission.getAnswers().size()), keyValue("correct", score),
+          keyValue("byType", countByType(quizSubmission.getAnswers())),
+          keyValue("gradingMicros", TimeUnit.NANOSECONDS.toMicros(gradingNanos)));
+    }
+
+    if (quizSubmissionWriter.isEnabled()) {
+      // Respond with the graded result right away; the writer persists it and updates the stats
+      quizSubmission.setId(new ObjectId().toHexString());
+      quizSubmission.setSubmittedAt(LocalDateTime.now());
+      quizSubmissionWriter.submit(quizSubmission);
+    } else {
+      quizSubmission = quizSubmissionRepository.save(quizSubmission);
+      recordStats(quizSubmission);
+    }
+
+    log.info("Quiz submitted successfully", keyValue("userId", userId),
+        keyValue("submissionId", quizSubmission.getId()), keyValue("score", score),
+        keyValue("totalQuestions", quizSubmission.getTotalQuestions()));
+
+    return convertToQuizSubmissionResponse(quizSubmission);
+  }
+
+  /**
+   * Grade the answers against the already loaded questions into an unsaved submission.
+   *
+   * @throws RuntimeException if an answer references a question missing from {@code questionsById}
+   */
+  public QuizSubmission gradeSubmission(String userId,
+      List<QuizSubmissionRequest.AnswerInput> answers, Map<String, Question> questionsById) {
+    List<QuizAnswer> userQuizAnswers = new ArrayList<>(answers.size());
     int score = 0;
-    for (QuizSubmissionRequest.AnswerInput answer : quizSubmissionRequest.answers()) {
-      Question question = questionsMap.get(answer.questionId());
+    for (QuizSubmissionRequest.AnswerInput answer : answers) {
+      Question question = questionsById.get(answer.questionId());
 
       if (question == null) {
         throw new RuntimeException("Question not found: " + answer.questionId());
       }
 
-      boolean isCorrect = isCorrectAnswer(answer.userAnswer(), question.getAnswer(),
-          question.getType(), question.getContentLanguage());
+      boolean isCorrect = answerGrader.isCorrect(question, answer.userAnswer());
       if (isCorrect) {
         score++;
       }
-      QuizAnswer userAnswer = new QuizAnswer(question.getId(), question.getQuestionText(),
-          answer.userAnswer(), question.getAnswer(), isCorrect);
-
-      userQuizAnswers.add(userAnswer);
+      userQuizAnswers.add(QuizAnswer.of(question, answer.userAnswer(), isCorrect));
     }
 
+    QuizSubmission quizSubmission = new QuizSubmission();
+    quizSubmission.setUserId(userId);
+    quizSubmission.setTotalQuestions(answers.size());
     quizSubmission.setAnswers(userQuizAnswers);
     quizSubmission.setScore(score);
-    quizSubmission = quizSubmissionRepository.save(quizSubmission);
-
-    log.info("Quiz submitted successfully", keyValue("userId", userId),
-        keyValue("submissionId", quizSubmission.getId()), keyValue("score", score),
-        keyValue("totalQuestions", quizSubmission.getTotalQuestions()));
-
-    return convertToQuizSubmissionResponse(quizSubmission);
+    return quizSubmission;
   }
 
-  public List<QuizSubmissionResponse> getQuizSubmissions(String userId) {
-    log.info("Fetching quiz submissions", keyValue("userId", userId));
+  /**
+   * One page of the user's submission history, newest first, without the answers.
+   *
+   * @param cursor {@link QuizSubmissionPage#nextCursor()} of the previous page, null for the first
+   * @throws IllegalArgumentException if the cursor is malformed
+   */
+  public QuizSubmissionPage getQuizSubmissions(String userId, String cursor, int size) {
+    log.info("Fetching quiz submissions", keyValue("userId", userId), keyValue("size", size));
+
+    int pageSize = Math.max(1, Math.min(size, MAX_HISTORY_PAGE_SIZE));
+    Cursor after = Cursor.decode(cursor);
+
+    // One extra row tells whether there is a next page
+    List<QuizSubmission> quizSubmissions = quizSubmissionRepository.findHistoryPage(userId,
+        after == null ? null : after.submittedAt(), after == null ? null : after.id(),
+        pageSize + 1);
+    boolean hasMore = quizSubmissions.size() > pageSize;
+    if (hasMore) {
+      quizSubmissions = quizSubmissions.subList(0, pageSize);
+    }
 
-    List<QuizSubmission> quizSubmissions = quizSubmissionRepository.findByUserIdOrderBySubmittedAtDesc(
-        userId);
+    String nextCursor = null;
+    if (hasMore) {
+      QuizSubmission last = quizSubmissions.get(quizSubmissions.size() - 1);
+      nextCursor = new Cursor(last.getSubmittedAt(), last.getId()).encode();
+    }
 
     log.info("Retrieved quiz submissions", keyValue("userId", userId),
-        keyValue("count", quizSubmissions.size()));
+        keyValue("count", quizSubmissions.size()), keyValue("hasMore", hasMore));
 
-    return quizSubmissions.stream().map(this::convertToQuizSubmissionResponse).toList();
+    return new QuizSubmissionPage(
+        quizSubmissions.stream().map(this::convertToQuizSubmissionSummary).toList(), nextCursor);
   }
 
-  private boolean isCorrectAnswer(String userAnswer, String correctAnswer, String questionType,
-      String contentLanguage) {
-    // Trim both answers for consistent comparison
-    correctAnswer = correctAnswer.trim();
-    userAnswer = (userAnswer != null) ? userAnswer.trim() : "";
+  /**
+   * A single submission of the user, including its answers.
+   *
+   * @throws ResourceNotFoundException if the user has no submission with this id
+   */
+  public QuizSubmissionResponse getQuizSubmission(String userId, String submissionId) {
+    QuizSubmission quizSubmission = quizSubmissionRepository.findByIdAndUserId(submissionId, userId)
+        .orElseThrow(() -> new ResourceNotFoundException(
+            "Quiz submission not found: " + submissionId));
+    return convertToQuizSubmissionResponse(quizSubmission);
+  }
 
-    if (contentLanguage.equalsIgnoreCase("arabic")) {
-      if (userAnswer.equalsIgnoreCase("False")) {
-        userAnswer = "خطأ";
-      }
-    }
-    if (questionType.equalsIgnoreCase("open_ended")) {
-      // Accept exact match OR if user answer is contained within correct answer
-      return correctAnswer.equalsIgnoreCase(userAnswer)
-          || correctAnswer.toLowerCase().contains(userAnswer.toLowerCase());
-    } else if (questionType.equalsIgnoreCase(
-        "single_choice")) {
-      if (userAnswer == null || userAnswer.trim().isEmpty()) {
-        return false;
-      }
-      return correctAnswer.equalsIgnoreCase(userAnswer) || correctAnswer.contains(userAnswer);
-    } else if (questionType.equalsIgnoreCase("multiple_choice")) {
-      // Split by comma, trim whitespace, lowercase, and sort for order-independent comparison
-      String[] userOptions = Arrays.stream(userAnswer.split(","))
-          .map(String::trim)
-          .map(String::toLowerCase)
-          .sorted()
-          .toArray(String[]::new);
-      String[] correctOptions = Arrays.stream(correctAnswer.split(","))
-          .map(String::trim)
-          .map(String::toLowerCase)
-          .sorted()
-          .toArray(String[]::new);
-      return Arrays.equals(userOptions, correctOptions);
-    } else if (questionType.equalsIgnoreCase("true_false")) {
-      log.info("correctAnswer: {}", correctAnswer);
-      log.info("userAnswer: {}", userAnswer);
-      log.info("FALSE_VARIANTS: {}", FALSE_VARIANTS);
-
-      boolean userInFalse = FALSE_VARIANTS.contains(userAnswer.toLowerCase());
-      boolean correctInFalse = FALSE_VARIANTS.contains(correctAnswer.toLowerCase());
-      boolean result = userInFalse == correctInFalse;
-
-      log.info("userAnswer.toLowerCase(): {}", userAnswer.toLowerCase());
-      log.info("correctAnswer.toLowerCase(): {}", correctAnswer.toLowerCase());
-      log.info("userInFalse: {}", userInFalse);
-      log.info("correctInFalse: {}", correctInFalse);
-      log.info("result (userInFalse == correctInFalse): {}", result);
-
-      return result;
-    } else {
-      throw new RuntimeException("Invalid question type: " + questionType);
+  private void recordStats(QuizSubmission quizSubmission) {
+    try {
+      userStatsService.recordSubmission(quizSubmission);
+    } catch (RuntimeException e) {
+      // The submission is stored; failing the request would only make the client submit it again.
+      // A rollup rebuild picks it up
+      log.error("Failed to record submission in user stats",
+          keyValue("submissionId", quizSubmission.getId()), e);
     }
   }
 
+  private static Map<String, Long> countByType(List<QuizAnswer> answers) {
+    return answers.stream().collect(Collectors.groupingBy(
+        answer -> String.valueOf(answer.questionType()), TreeMap::new, Collectors.counting()));
+  }
+
+  private QuizSubmissionSummary convertToQuizSubmissionSummary(QuizSubmission quizSubmission) {
+    return new QuizSubmissionSummary(quizSubmission.getId(), quizSubmission.getScore(),
+        quizSubmission.getTotalQuestions(), percentageOf(quizSubmission),
+        quizSubmission.getSubmittedAt());
+  }
+
+  private static Double percentageOf(QuizSubmission quizSubmission) {
+    return (double) quizSubmission.getScore() / quizSubmission.getTotalQuestions() * 100;
+  }
+
   private QuizSubmissionResponse convertToQuizSubmissionResponse(QuizSubmission quizSubmission) {
-    Double percentage =
-        (double) quizSubmission.getScore() / quizSubmission.getTotalQuestions() * 100;
+    Double percentage = percentageOf(quizSubmission);
     return new QuizSubmissionResponse(quizSubmission.getId(), quizSubmission.getUserId(),
         quizSubmission.getAnswers(), quizSubmission.getScore(), quizSubmission.getTotalQuestions(),
         percentage, quizSubmission.getSubmittedAt());
   }
 
+  /**
+   * Position in the history: the (submittedAt, id) of the last submission already returned,
+   * encoded as an opaque URL-safe string.
+   */
+  private record Cursor(LocalDateTime submittedAt, String id) {
+
+    String encode() {
+      String raw = submittedAt + "|" + id;
+      return Base64.getUrlEncoder().withoutPadding()
+          .encodeToString(raw.getBytes(StandardCharsets.UTF_8));
+    }
+
+    static Cursor decode(String cursor) {
+      if (cursor == null || cursor.isBlank()) {
+        return null;
+      }
+      try {
+        String raw = new String(Base64.getUrlDecoder().decode(cursor), StandardCharsets.UTF_8);
+        int separator = raw.indexOf('|');
+        return new Cursor(LocalDateTime.parse(raw.substring(0, separator)),
+            raw.substring(separator + 1));
+      } catch (IllegalArgumentException | IndexOutOfBoundsException | DateTimeParseException e) {
+        throw new IllegalArgumentException("Invalid cursor: " + cursor);
+      }
+    }
+  }
 }
@@ -0,0 +1,330 @@
+package com.saudiculture.services;
+
+import static net.logstash.logback.argument.StructuredArguments.keyValue;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saudiculture.models.QuizSubmission;
+import jakarta.annotation.PostConstruct;
+import jakarta.annotation.PreDestroy;
+import java.io.BufferedWriter;
+import java.io.IOException;
+import java.io.UncheckedIOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardCopyOption;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.concurrent.ArrayBlockingQueue;
+import java.util.concurrent.BlockingQueue;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.locks.ReadWriteLock;
+import java.util.concurrent.locks.ReentrantReadWriteLock;
+import lombok.RequiredArgsConstructor;
+import lombok.extern.slf4j.Slf4j;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.dao.TransientDataAccessException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.stereotype.Component;
+
+/**
+ * Write-behind persistence for graded quiz submissions.
+ * <p>
+ * When enabled with {@code quiz.submissions.write-behind.enabled=true}, submissions (with their id
+ * and submission time already assigned) are queued to a bounded buffer and a background thread
+ * persists them with batched {@code insertMany} calls, then records them in the user stats rollup.
+ * When the buffer is full the submitting thread waits briefly and then writes its submission
+ * itself, so bursts slow down instead of dropping data.
+ * <p>
+ * Submissions that could not be written because the database is unavailable stay in the writer's
+ * batch and are retried with exponential backoff. Anything still unwritten when shutdown gives up
+ * waiting is appended to the spill file as NDJSON and written again on the next start. The next
+ * start renames the spill file to {@code <spill-file>.replaying} and only deletes it once every
+ * submission in it is stored, so a crash during the replay does not lose them. Submissions the
+ * database rejects are appended to the dead-letter file instead and never retried.
+ */
+@Slf4j
+@Component
+@RequiredArgsConstructor
+public class QuizSubmissionWriter {
+
+  private final MongoTemplate mongoTemplate;
+  private final UserStatsService userStatsService;
+  private final ObjectMapper objectMapper;
+
+  @Value("${quiz.submissions.write-behind.enabled:false}")
+  private boolean enabled;
+
+  @Value("${quiz.submissions.write-behind.queue-capacity:10000}")
+  private int queueCapacity = 10000;
+
+  @Value("${quiz.submissions.write-behind.batch-size:500}")
+  private int batchSize = 500;
+
+  @Value("${quiz.submissions.write-behind.offer-timeout-ms:50}")
+  private long offerTimeoutMs = 50;
+
+  @Value("${quiz.submissions.write-behind.retry-backoff-ms:500}")
+  private long retryBackoffMs = 500;
+
+  @Value("${quiz.submissions.write-behind.max-retry-backoff-ms:30000}")
+  private long maxRetryBackoffMs = 30000;
+
+  @Value("${quiz.submissions.write-behind.shutdown-timeout-ms:30000}")
+  private long shutdownTimeoutMs = 30000;
+
+  @Value("${quiz.submissions.write-behind.spill-file:quiz-submissions-spill.ndjson}")
+  private String spillFile = "quiz-submissions-spill.ndjson";
+
+  @Value("${quiz.submissions.write-behind.dead-letter-file:quiz-submissions-dead-letter.ndjson}")
+  private String deadLetterFile = "quiz-submissions-dead-letter.ndjson";
+
+  private BlockingQueue<QuizSubmission> queue;
+  private Thread writerThread;
+  private volatile boolean running;
+  // Offers hold the read lock, so none can land in the queue after shutdown stopped the writer
+  private final ReadWriteLock runningLock = new ReentrantReadWriteLock();
+
+  public boolean isEnabled() {
+    return enabled;
+  }
+
+  @PostConstruct
+  public void start() {
+    if (!enabled) {
+      return;
+    }
+    queue = new ArrayBlockingQueue<>(queueCapacity);
+    List<QuizSubmission> spilled = readSpilled();
+    running = true;
+    writerThread = new Thread(() -> run(spilled), "quiz-submission-writer");
+    writerThread.setDaemon(true);
+    writerThread.start();
+    log.info("Quiz submission write-behind started",
+        keyValue("queueCapacity", queueCapacity), keyValue("batchSize", batchSize),
+        keyValue("spilled", spilled.size()));
+  }
+
+  /**
+   * Queue a submission for persistence. Falls back to a synchronous write when the buffer stays
+   * full for longer than the offer timeout, or once the writer has stopped.
+   */
+  public void submit(QuizSubmission submission) {
+    runningLock.readLock().lock();
+    try {
+      if (running && queue.offer(submission, offerTimeoutMs, TimeUnit.MILLISECONDS)) {
+        return;
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+    } finally {
+      runningLock.readLock().unlock();
+    }
+    log.warn("Write-behind buffer unavailable, writing submission synchronously",
+        keyValue("submissionId", submission.getId()));
+    mongoTemplate.insert(submission);
+    record(submission);
+  }
+
+  /**
+   * Stop accepting work and flush everything still buffered. If the writer is still retrying
+   * when the shutdown timeout expires, its remaining submissions are spilled to disk.
+   */
+  @PreDestroy
+  public void shutdown() throws InterruptedException {
+    if (writerThread == null) {
+      return;
+    }
+    runningLock.writeLock().lock();
+    try {
+      running = false;
+    } finally {
+      runningLock.writeLock().unlock();
+    }
+    // Not interrupted right away: that could abort a batch insert in flight
+    writerThread.join(shutdownTimeoutMs);
+    if (writerThread.isAlive()) {
+      writerThread.interrupt();
+      writerThread.join();
+    }
+    log.info("Quiz submission write-behind stopped");
+  }
+
+  int pending() {
+    return queue == null ? 0 : queue.size();
+  }
+
+  private void run(List<QuizSubmission> spilled) {
+    List<QuizSubmission> batch = new ArrayList<>();
+    long backoffMs = 0;
+    try {
+      replay(spilled);
+      while (running || !batch.isEmpty() || !queue.isEmpty()) {
+        if (backoffMs > 0) {
+          TimeUnit.MILLISECONDS.sleep(backoffMs);
+        }
+        if (batch.isEmpty()) {
+          QuizSubmission first = running ? queue.poll(1, TimeUnit.SECONDS) : queue.poll();
+          if (first == null) {
+            continue;
+          }
+          batch.add(first);
+        }
+        queue.drainTo(batch, Math.max(0, batchSize - batch.size()));
+
+        List<QuizSubmission> failed = write(batch);
+        batch.clear();
+        batch.addAll(failed);
+        backoffMs = failed.isEmpty() ? 0 : nextBackoff(backoffMs);
+      }
+    } catch (InterruptedException e) {
+      Thread.currentThread().interrupt();
+      queue.drainTo(batch);
+      append(Path.of(spillFile), batch);
+    }
+  }
+
+  /**
+   * Insert the batch in one {@code insertMany}, then update each user's stats rollup. If the batch
+   * insert fails part way, the submissions are retried one by one and those that did get inserted
+   * are skipped. Submissions the database rejects go to the dead-letter file.
+   *
+   * @return the submissions not written because the database is unavailable, to be retried
+   */
+  List<QuizSubmission> write(List<QuizSubmission> submissions) {
+    List<QuizSubmission> inserted = submissions;
+    List<QuizSubmission> failed = new ArrayList<>();
+    try {
+      mongoTemplate.insert(submissions, QuizSubmission.class);
+    } catch (RuntimeException e) {
+      log.warn("Batch insert failed, retrying submissions individually",
+          keyValue("count", submissions.size()), keyValue("error", e.getMessage()));
+      inserted = new ArrayList<>(submissions.size());
+      for (QuizSubmission submission : submissions) {
+        if (!failed.isEmpty()) {
+          // The database is unavailable; keep the rest for the next attempt
+          failed.add(submission);
+          continue;
+        }
+        try {
+          mongoTemplate.insert(submission);
+          inserted.add(submission);
+        } catch (DuplicateKeyException duplicate) {
+          // Inserted by the failed batch; its stats update below is still pending
+          inserted.add(submission);
+        } catch (DataAccessResourceFailureException | TransientDataAccessException unavailable) {
+          log.warn("Database unavailable, keeping submissions for retry",
+              keyValue("error", unavailable.getMessage()));
+          failed.add(submission);
+        } catch (RuntimeException rejected) {
+          log.error("Quiz submission rejected by the database",
+              keyValue("submissionId", submission.getId()), rejected);
+          append(Path.of(deadLetterFile), List.of(submission));
+        }
+      }
+    }
+    inserted.forEach(this::record);
+    return failed;
+  }
+
+  private void record(QuizSubmission submission) {
+    try {
+      userStatsService.recordSubmission(submission);
+    } catch (RuntimeException e) {
+      // The submission is stored; a rollup rebuild picks it up
+      log.error("Failed to record submission in user stats",
+          keyValue("submissionId", submission.getId()), e);
+    }
+  }
+
+  /**
+   * Write the submissions spilled by a previous run, one batch at a time and retrying while the
+   * database is unavailable, then delete the replay file. If this is interrupted the replay file
+   * is kept and the next start writes what it still holds.
+   */
+  private void replay(List<QuizSubmission> spilled) throws InterruptedException {
+    if (!Files.exists(replayFile())) {
+      return;
+    }
+    for (int from = 0; from < spilled.size(); from += batchSize) {
+      List<QuizSubmission> pending =
+          spilled.subList(from, Math.min(from + batchSize, spilled.size()));
+      long backoffMs = 0;
+      while (!pending.isEmpty()) {
+        if (backoffMs > 0) {
+          TimeUnit.MILLISECONDS.sleep(backoffMs);
+        }
+        pending = write(pending);
+        backoffMs = nextBackoff(backoffMs);
+      }
+    }
+    try {
+      Files.delete(replayFile());
+      log.info("Replayed spilled quiz submissions", keyValue("count", spilled.size()));
+    } catch (IOException e) {
+      log.error("Failed to delete the replay file, it is written again on the next start",
+          keyValue("replayFile", replayFile()), e);
+    }
+  }
+
+  private long nextBackoff(long backoffMs) {
+    return Math.min(Math.max(backoffMs * 2, retryBackoffMs), maxRetryBackoffMs);
+  }
+
+  private synchronized void append(Path path, List<QuizSubmission> submissions) {
+    if (submissions.isEmpty()) {
+      return;
+    }
+    try (BufferedWriter writer = Files.newBufferedWriter(path,
+        StandardOpenOption.CREATE, StandardOpenOption.APPEND)) {
+      for (QuizSubmission submission : submissions) {
+        writer.write(objectMapper.writeValueAsString(submission));
+        writer.newLine();
+      }
+      log.error("Wrote unpersisted quiz submissions to file",
+          keyValue("count", submissions.size()), keyValue("file", path));
+    } catch (IOException e) {
+      log.error("Failed to write quiz submissions to file, they are lost",
+          keyValue("count", submissions.size()), keyValue("file", path),
+          keyValue("submissionIds", submissions.stream().map(QuizSubmission::getId).toList()), e);
+    }
+  }
+
+  private Path replayFile() {
+    return Path.of(spillFile + ".replaying");
+  }
+
+  /**
+   * Load the submissions spilled by a previous run. The spill file is moved into the replay file
+   * first, appended to whatever an interrupted replay left there, so the next shutdown can spill
+   * again without mixing its submissions into the ones being replayed.
+   */
+  private List<QuizSubmission> readSpilled() {
+    Path path = Path.of(spillFile);
+    Path replay = replayFile();
+    try {
+      if (Files.exists(path)) {
+        if (Files.exists(replay)) {
+          Files.write(replay, Files.readAllBytes(path), StandardOpenOption.APPEND);
+          Files.delete(path);
+        } else {
+          Files.move(path, replay, StandardCopyOption.ATOMIC_MOVE);
+        }
+      }
+      if (!Files.exists(replay)) {
+        return List.of();
+      }
+      List<QuizSubmission> spilled = new ArrayList<>();
+      for (String line : Files.readAllLines(replay)) {
+        if (!line.isBlank()) {
+          spilled.add(objectMapper.readValue(line, QuizSubmission.class));
+        }
+      }
+      return spilled;
+    } catch (IOException e) {
+      throw new UncheckedIOException("Failed to read spilled quiz submissions from " + path, e);
+    }
+  }
+}
@@ -0,0 +1,89 @@
+package com.saudiculture.services;
+
+import com.saudiculture.catalog.QuestionCatalog;
+import com.saudiculture.dto.InfoQuestionDTO;
+import com.saudiculture.dto.QuestionMapper;
+import com.saudiculture.dto.QuizQuestionDTO;
+import com.saudiculture.models.Question;
+import com.saudiculture.repositories.QuestionProjections;
+import com.saudiculture.repositories.QuestionSearchRepository;
+import java.util.List;
+import lombok.RequiredArgsConstructor;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import org.springframework.stereotype.Service;
+import reactor.core.publisher.Flux;
+import reactor.core.publisher.Mono;
+import reactor.core.scheduler.Schedulers;
+
+/**
+ * Non-blocking variant of the {@link QuestionService} info and quiz read paths, for the
+ * streaming endpoints. Same filters, ordering and DTOs, but questions are emitted as MongoDB
+ * returns them (reactive driver) instead of being collected into a page, and info pages carry no
+ * total.
+ * <p>
+ * The in-memory catalog is used when it is loaded, as in {@link QuestionService}. Seeded quizzes
+ * go through {@link QuestionService} so both paths share the memoized draw; a cache miss there
+ * reads MongoDB on the bounded elastic scheduler.
+ */
+@Service
+@RequiredArgsConstructor
+public class ReactiveQuestionService {
+
+  private final ReactiveMongoTemplate reactiveMongoTemplate;
+  private final QuestionCatalog questionCatalog;
+  private final QuestionService questionService;
+
+  public Flux<InfoQuestionDTO> getInfo(String language, String category, String region,
+      String searchTerm, int page, int size) {
+    PageRequest pageable = PageRequest.of(page, size);
+    boolean hasSearch = searchTerm != null && !searchTerm.trim().isEmpty();
+
+    if (questionCatalog.isReady()) {
+      return Flux.defer(() -> Flux.fromIterable((hasSearch
+          ? questionCatalog.searchInfo(searchTerm.trim(), language, category, region, pageable)
+          : questionCatalog.findInfo(language, category, region, pageable)).getContent()));
+    }
+
+    // $text queries sort by relevance; otherwise natural order, as the servlet path
+    Query query = hasSearch
+        ? QuestionSearchRepository.searchQuery(searchTerm.trim(), language, category, region,
+            questionService.searchMode())
+        : QuestionService.infoQuery(language, category, region);
+    if (query instanceof TextQuery textQuery) {
+      textQuery.sortByScore();
+    }
+    query.with(pageable);
+    query.fields().include(QuestionProjections.fields(QuestionProjections.INFO));
+
+    return reactiveMongoTemplate.find(query, Question.class).map(QuestionMapper::toInfoDTO);
+  }
+
+  public Flux<QuizQuestionDTO> getQuizzes(String category, String language, String region,
+      String type, int size, Long seed) {
+    if (seed != null) {
+      return Mono.fromCallable(
+              () -> questionService.getQuizzes(category, language, region, type, size, seed))
+          .subscribeOn(Schedulers.boundedElastic())
+          .flatMapIterable(quiz -> quiz);
+    }
+
+    if (questionCatalog.isReady()) {
+      return Flux.defer(() -> Flux.fromIterable(
+          questionCatalog.drawQuiz(category, language, region, type, size)));
+    }
+
+    List<Criteria> criteria = QuestionService.quizCriteria(category, language, region, type);
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.match(new Criteria().andOperator(criteria.toArray(new Criteria[0]))),
+        Aggregation.sample(size),
+        Aggregation.project(QuestionProjections.fields(QuestionProjections.QUIZ)));
+
+    return reactiveMongoTemplate.aggregate(aggregation, "questions", Question.class)
+        .map(QuestionMapper::toQuizDTO);
+  }
+}
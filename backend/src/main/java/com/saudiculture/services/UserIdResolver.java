@@ -0,0 +1,109 @@
+package com.saudiculture.services;
+
+import com.saudiculture.models.User;
+import com.saudiculture.repositories.UserRepository;
+import io.micrometer.core.instrument.Counter;
+import io.micrometer.core.instrument.Gauge;
+import io.micrometer.core.instrument.MeterRegistry;
+import java.time.Duration;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.stereotype.Component;
+
+/**
+ * Resolves the JWT subject (Cognito id) of an authenticated request to the internal MongoDB user
+ * id.
+ * <p>
+ * The mapping never changes once a user is created, so resolved ids are kept in a bounded,
+ * TTL-based concurrent cache and only a miss costs a {@code findByCognitoId} round trip.
+ * {@link UserService#syncUserFromJwt} keeps the cache warm. Hits and misses are published as
+ * {@code users.id.cache.requests} with a {@code result} tag.
+ */
+@Component
+public class UserIdResolver {
+
+  private final UserRepository userRepository;
+  private final Map<String, CachedId> cache = new ConcurrentHashMap<>();
+  private final Counter hits;
+  private final Counter misses;
+
+  @Value("${users.id-cache.max-size:10000}")
+  private int maxSize = 10000;
+
+  @Value("${users.id-cache.ttl:10m}")
+  private Duration ttl = Duration.ofMinutes(10);
+
+  public UserIdResolver(UserRepository userRepository, MeterRegistry meterRegistry) {
+    this.userRepository = userRepository;
+    this.hits = Counter.builder("users.id.cache.requests")
+        .description("Cognito id to user id resolutions")
+        .tag("result", "hit")
+        .register(meterRegistry);
+    this.misses = Counter.builder("users.id.cache.requests")
+        .description("Cognito id to user id resolutions")
+        .tag("result", "miss")
+        .register(meterRegistry);
+    Gauge.builder("users.id.cache.size", cache, Map::size)
+        .description("Cached cognito id to user id mappings")
+        .register(meterRegistry);
+  }
+
+  /**
+   * Internal user id for the given Cognito id.
+   *
+   * @throws IllegalStateException if the user has not been synced yet
+   */
+  public String resolve(String cognitoId) {
+    long now = System.nanoTime();
+    CachedId cached = cache.get(cognitoId);
+    if (cached != null && cached.isFresh(now)) {
+      hits.increment();
+      return cached.userId();
+    }
+
+    misses.increment();
+    User user = userRepository.findByCognitoId(cognitoId)
+        .orElseThrow(() -> new IllegalStateException(
+            "User not found. Please call /api/users/me to sync your profile first."));
+    put(cognitoId, user.getId(), now);
+    return user.getId();
+  }
+
+  /**
+   * Cache a known mapping, e.g. right after the user has been created or synced.
+   */
+  public void put(String cognitoId, String userId) {
+    put(cognitoId, userId, System.nanoTime());
+  }
+
+  private void put(String cognitoId, String userId, long now) {
+    if (cognitoId == null || userId == null) {
+      return;
+    }
+    if (cache.size() >= maxSize && !cache.containsKey(cognitoId)) {
+      evict(now);
+    }
+    cache.put(cognitoId, new CachedId(userId, now + ttl.toNanos()));
+  }
+
+  /**
+   * Drop expired entries, then arbitrary ones until there is room for one more.
+   */
+  private void evict(long now) {
+    cache.values().removeIf(cached -> !cached.isFresh(now));
+    Iterator<String> keys = cache.keySet().iterator();
+    while (cache.size() >= maxSize && keys.hasNext()) {
+      keys.next();
+      keys.remove();
+    }
+  }
+
+  private record CachedId(String userId, long expiresAtNanos) {
+
+    boolean isFresh(long now) {
+      return now - expiresAtNanos < 0;
+    }
+  }
+}
@@ -4,10 +4,18 @@ import static net.logstash.logback.argument.StructuredArguments.keyValue;
 
 import com.saudiculture.dto.UserDTO;
 import com.saudiculture.models.User;
-import com.saudiculture.repositories.UserRepository;
-import java.util.Objects;
+import java.util.Arrays;
+import java.util.Date;
+import java.util.List;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.AggregationUpdate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
 import org.springframework.security.oauth2.jwt.Jwt;
 import org.springframework.stereotype.Service;
 
@@ -16,39 +24,76 @@ import org.springframework.stereotype.Service;
 @RequiredArgsConstructor
 public class UserService {
 
-  private final UserRepository userRepository;
+  private final MongoTemplate mongoTemplate;
+  private final UserIdResolver userIdResolver;
 
 
+  /**
+   * Create or update the user behind the JWT in one {@code findAndModify} upsert.
+   * <p>
+   * The update is a pipeline that only moves {@code updatedAt} when the email or username actually
+   * differ, so a repeat login with unchanged claims leaves the document untouched and MongoDB
+   * skips the write. Two concurrent first logins can still both attempt the insert; the loser gets
+   * a duplicate-key error on the unique {@code cognitoId} index and is retried once, which then
+   * matches the winner's document.
+   */
   public UserDTO syncUserFromJwt(Jwt jwt) {
 
     String cognitoId = jwt.getClaim("sub");
     String email = jwt.getClaim("email");
     String username = jwt.getClaim("cognito:username");
 
-    if (userRepository.existsByCognitoId(cognitoId)) {
-      log.info("User already exists, updating username, and email if needed",
-          keyValue("username", username), keyValue("email", email));
-
-      User user = userRepository.findByCognitoId(cognitoId).get();
-      if (!Objects.equals(user.getUsername(), username)) {
-        user.setUsername(username);
-      }
-      if (!Objects.equals(user.getEmail(), email)) {
-        user.setEmail(email);
-      }
-      user = userRepository.save(user);
-
-      return convertToUserDTO(user);
-    } else {
-      log.info("Creating new user", keyValue("username", username), keyValue("email", email));
-      User user = new User();
-      user.setCognitoId(cognitoId);
-      user.setUsername(username);
-      user.setEmail(email);
-      user = userRepository.save(user);
-
-      return convertToUserDTO(user);
+    User user;
+    try {
+      user = upsertUser(cognitoId, email, username);
+    } catch (DuplicateKeyException e) {
+      log.info("Concurrent first login detected, retrying user sync", keyValue("cognitoId", cognitoId));
+      user = upsertUser(cognitoId, email, username);
     }
+
+    log.info("User synced", keyValue("userId", user.getId()),
+        keyValue("username", username), keyValue("email", email));
+    userIdResolver.put(cognitoId, user.getId());
+
+    return convertToUserDTO(user);
+  }
+
+  private User upsertUser(String cognitoId, String email, String username) {
+    Query query = new Query(Criteria.where("cognitoId").is(cognitoId));
+    FindAndModifyOptions options = FindAndModifyOptions.options().upsert(true).returnNew(true);
+    return mongoTemplate.findAndModify(query, syncUpdate(email, username), options, User.class);
+  }
+
+  /**
+   * Pipeline update: set the claims, stamp {@code createdAt} on insert and {@code updatedAt} only
+   * when a claim changed. The change check runs in a first stage, before the claims are
+   * overwritten. A null claim removes the field, as saving the entity did.
+   */
+  private static AggregationUpdate syncUpdate(String email, String username) {
+    Date now = new Date();
+    Document changed = new Document("$or", List.of(
+        differs("email", email),
+        differs("username", username)));
+
+    Document stamp = new Document("updatedAt",
+        new Document("$cond", Arrays.asList(changed, now, "$updatedAt")))
+        .append("createdAt", new Document("$ifNull", Arrays.asList("$createdAt", now)));
+    Document claims = new Document("email", claimValue(email))
+        .append("username", claimValue(username));
+
+    return AggregationUpdate.from(List.of(
+        context -> new Document("$set", stamp),
+        context -> new Document("$set", claims)));
+  }
+
+  private static Document differs(String field, String value) {
+    return new Document("$ne", Arrays.asList(
+        new Document("$ifNull", Arrays.asList("$" + field, null)),
+        new Document("$literal", value)));
+  }
+
+  private static Object claimValue(String value) {
+    return value == null ? "$$REMOVE" : new Document("$literal", value);
   }
 
   private UserDTO convertToUserDTO(User user) {
@@ -5,12 +5,31 @@ import com.saudiculture.dto.UserStatsResponse.*;
 import com.saudiculture.models.Question;
 import com.saudiculture.models.QuizAnswer;
 import com.saudiculture.models.QuizSubmission;
+import com.saudiculture.models.UserStats;
 import com.saudiculture.repositories.QuestionRepository;
 import com.saudiculture.repositories.QuizSubmissionRepository;
+import com.saudiculture.repositories.UserStatsRepository;
+import java.time.LocalDateTime;
+import java.time.ZoneId;
 import java.util.*;
+import java.util.function.BiFunction;
 import java.util.stream.Collectors;
 import lombok.RequiredArgsConstructor;
 import lombok.extern.slf4j.Slf4j;
+import org.bson.Document;
+import org.springframework.beans.factory.annotation.Value;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.domain.Sort;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.aggregation.AggregationExpression;
+import org.springframework.data.mongodb.core.aggregation.ArithmeticOperators;
+import org.springframework.data.mongodb.core.aggregation.ComparisonOperators;
+import org.springframework.data.mongodb.core.aggregation.ConditionalOperators;
+import org.springframework.data.mongodb.core.aggregation.GroupOperation;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
 import org.springframework.stereotype.Service;
 
 @Slf4j
@@ -20,13 +39,33 @@ public class UserStatsService {
 
   private final QuizSubmissionRepository quizSubmissionRepository;
   private final QuestionRepository questionRepository;
+  private final UserStatsRepository userStatsRepository;
+  private final MongoTemplate mongoTemplate;
+
+  /**
+   * Serve stats from the materialized user_stats rollup (default).
+   */
+  public static final String ENGINE_ROLLUP = "rollup";
+
+  /**
+   * Compute stats on the database with a single $facet aggregation over quiz_submissions.
+   */
+  public static final String ENGINE_AGGREGATION = "aggregation";
 
   private static final double STRENGTH_THRESHOLD = 80.0;
   private static final double WEAKNESS_THRESHOLD = 60.0;
   private static final int MIN_QUESTIONS_FOR_ANALYSIS = 10;
+  private static final int MAX_REBUILD_ATTEMPTS = 3;
+
+  @Value("${stats.engine:" + ENGINE_ROLLUP + "}")
+  private String engine = ENGINE_ROLLUP;
 
   /**
    * Get comprehensive statistics for a user's quiz performance
+   * <p>
+   * Served from the materialized {@link UserStats} rollup. Users without a rollup yet (existing
+   * history from before the rollup was introduced) are rebuilt once from their full history.
+   * With {@code stats.engine=aggregation} the stats are computed by MongoDB instead.
    *
    * @param userId The internal MongoDB user ID
    * @return Aggregated statistics including overall, by type, by region, by language, recent submissions, and strengths/weaknesses
@@ -34,180 +73,380 @@ public class UserStatsService {
   public UserStatsResponse getUserStats(String userId) {
     log.info("Calculating stats for user: {}", userId);
 
-    // Fetch all user submissions
-    List<QuizSubmission> submissions = quizSubmissionRepository.findAllByUserId(userId);
+    UserStats userStats = ENGINE_AGGREGATION.equalsIgnoreCase(engine)
+        ? aggregateUserStats(userId)
+        : userStatsRepository.findById(userId).orElseGet(() -> rebuildUserStats(userId));
 
-    if (submissions.isEmpty()) {
+    if (userStats.getTotalSubmissions() == 0) {
       return createEmptyStats();
     }
 
-    // Extract all unique question IDs from all submissions
-    Set<String> questionIds = submissions.stream()
-        .flatMap(sub -> sub.getAnswers().stream())
-        .map(QuizAnswer::questionId)
-        .collect(Collectors.toSet());
+    UserStatsResponse response = toResponse(userStats);
 
-    // Batch fetch all questions
-    List<Question> questions = questionRepository.findAllByIdIn(new ArrayList<>(questionIds));
-    Map<String, Question> questionMap = questions.stream()
-        .collect(Collectors.toMap(Question::getId, q -> q));
+    log.info("Stats calculated for user {}: {} questions, {}% average",
+        userId, response.overall().totalQuestionsAnswered(), response.overall().averageScore());
 
-    // Calculate all statistics
-    OverallStats overall = calculateOverallStats(submissions);
-    List<TypeStats> byType = aggregateByQuestionType(submissions, questionMap);
-    List<RegionStats> byRegion = aggregateByRegion(submissions, questionMap);
-    List<LanguageStats> byLanguage = aggregateByLanguage(submissions, questionMap);
-    List<RecentSubmission> recent = getRecentSubmissions(submissions, 10);
+    return response;
+  }
 
-    // Identify strengths and weaknesses
-    List<String> strengths = new ArrayList<>();
-    List<String> weaknesses = new ArrayList<>();
-    identifyStrengthsWeaknesses(byType, byRegion, byLanguage, strengths, weaknesses);
+  /**
+   * Apply a freshly saved submission to the user's rollup with a single atomic $inc update.
+   * <p>
+   * If the user has no rollup yet nothing is written; the next stats read rebuilds it from the
+   * full history, which already includes this submission. A rollup rebuilt after the submission
+   * was saved already counts it (it is among its recent submissions), so it is not applied twice.
+   *
+   * @param submission The persisted submission (id and submittedAt populated)
+   */
+  public void recordSubmission(QuizSubmission submission) {
+    Map<String, UserStats.Counter> byType = new HashMap<>();
+    Map<String, UserStats.Counter> byRegion = new HashMap<>();
+    Map<String, UserStats.Counter> byLanguage = new HashMap<>();
+    int correct = 0;
 
-    log.info("Stats calculated for user {}: {} questions, {}% average",
-        userId, overall.totalQuestionsAnswered(), overall.averageScore());
+    for (QuizAnswer answer : submission.getAnswers()) {
+      if (Boolean.TRUE.equals(answer.correct())) {
+        correct++;
+      }
+      accumulate(byType, answer.questionType(), answer.correct());
+      accumulate(byRegion, answer.region(), answer.correct());
+      accumulate(byLanguage, answer.contentLanguage(), answer.correct());
+    }
 
-    return new UserStatsResponse(overall, byType, byRegion, byLanguage, recent, strengths, weaknesses);
+    Update update = new Update()
+        .inc("totalSubmissions", 1)
+        .inc("totalQuestions", submission.getTotalQuestions())
+        .inc("totalCorrect", correct)
+        .inc("percentageSum", percentageOf(submission))
+        .set("updatedAt", LocalDateTime.now());
+    incCounters(update, "byType", byType);
+    incCounters(update, "byRegion", byRegion);
+    incCounters(update, "byLanguage", byLanguage);
+    update.inc("version", 1);
+    update.push("recentSubmissions")
+        .sort(Sort.by(Sort.Direction.DESC, "submittedAt"))
+        .slice(UserStats.RECENT_LIMIT)
+        .each(toRecentEntry(submission));
+
+    mongoTemplate.updateFirst(
+        Query.query(Criteria.where("_id").is(submission.getUserId())
+            .and("recentSubmissions.id").ne(submission.getId())),
+        update, UserStats.class);
   }
 
   /**
-   * Calculate overall statistics across all submissions
+   * Recompute a user's rollup from their full submission history and store it.
+   * <p>
+   * Submissions can be saved while the history is read. The rollup is only replaced if no
+   * {@link #recordSubmission} changed it since it was read (version check), and after writing the
+   * number of submissions is compared with the history again: a submission saved in between
+   * (whose $inc found no rollup yet) triggers another rebuild.
+   *
+   * @param userId The internal MongoDB user ID
+   * @return The rebuilt rollup
+   */
+  public UserStats rebuildUserStats(String userId) {
+    log.info("Rebuilding stats rollup for user: {}", userId);
+
+    UserStats userStats = null;
+    for (int attempt = 1; attempt <= MAX_REBUILD_ATTEMPTS; attempt++) {
+      UserStats current = userStatsRepository.findById(userId).orElse(null);
+      List<QuizSubmission> submissions = quizSubmissionRepository.findAllByUserId(userId);
+      userStats = buildUserStats(userId, submissions);
+
+      if (writeRebuilt(userStats, current)
+          && quizSubmissionRepository.countByUserId(userId) == userStats.getTotalSubmissions()) {
+        return userStats;
+      }
+    }
+    log.warn("Stats rollup of user {} changed during {} rebuild attempts", userId,
+        MAX_REBUILD_ATTEMPTS);
+    return userStats;
+  }
+
+  /**
+   * Insert the rollup, or replace {@code current} if it has not been written since it was read.
+   *
+   * @return false if another write got there first
+   */
+  private boolean writeRebuilt(UserStats userStats, UserStats current) {
+    if (current == null) {
+      userStats.setVersion(0L);
+      try {
+        mongoTemplate.insert(userStats);
+        return true;
+      } catch (DuplicateKeyException e) {
+        return false;
+      }
+    }
+
+    Criteria unchanged = current.getVersion() == null
+        ? Criteria.where("version").exists(false)
+        : Criteria.where("version").is(current.getVersion());
+    userStats.setVersion(current.getVersion() == null ? 0L : current.getVersion() + 1);
+    return mongoTemplate.findAndReplace(
+        Query.query(Criteria.where("_id").is(userStats.getUserId()).andOperator(unchanged)),
+        userStats) != null;
+  }
+
+  /**
+   * Rebuild the rollup of every user that has at least one submission. Used for backfilling.
+   *
+   * @return Number of rollups rebuilt
+   */
+  public int rebuildAllUserStats() {
+    List<String> userIds = mongoTemplate.findDistinct(new Query(), "userId", QuizSubmission.class,
+        String.class);
+    userIds.forEach(this::rebuildUserStats);
+    return userIds.size();
+  }
+
+  /**
+   * Build a rollup from a list of submissions. Question attributes come from the answers
+   * themselves; only legacy answers are resolved against the questions collection, in one batch.
    */
-  private OverallStats calculateOverallStats(List<QuizSubmission> submissions) {
-    int totalQuestions = submissions.stream()
-        .mapToInt(QuizSubmission::getTotalQuestions)
-        .sum();
+  private UserStats buildUserStats(String userId, List<QuizSubmission> submissions) {
+    UserStats userStats = new UserStats();
+    userStats.setUserId(userId);
+    userStats.setUpdatedAt(LocalDateTime.now());
 
-    int totalCorrect = submissions.stream()
+    if (submissions.isEmpty()) {
+      return userStats;
+    }
+
+    // Answers stored before question attributes were denormalized still need a lookup
+    Set<String> legacyQuestionIds = submissions.stream()
         .flatMap(sub -> sub.getAnswers().stream())
-        .mapToInt(answer -> Boolean.TRUE.equals(answer.correct()) ? 1 : 0)
-        .sum();
+        .filter(answer -> !answer.hasQuestionAttributes())
+        .map(QuizAnswer::questionId)
+        .collect(Collectors.toSet());
 
-    int totalIncorrect = totalQuestions - totalCorrect;
+    Map<String, Question> questionMap = legacyQuestionIds.isEmpty()
+        ? Map.of()
+        : questionRepository.findAllByIdIn(new ArrayList<>(legacyQuestionIds)).stream()
+            .collect(Collectors.toMap(Question::getId, q -> q));
 
-    double averageScore = submissions.stream()
-        .mapToDouble(sub -> (double) sub.getScore() / sub.getTotalQuestions() * 100)
-        .average()
-        .orElse(0.0);
+    for (QuizSubmission submission : submissions) {
+      userStats.setTotalSubmissions(userStats.getTotalSubmissions() + 1);
+      userStats.setTotalQuestions(userStats.getTotalQuestions() + submission.getTotalQuestions());
+      userStats.setPercentageSum(userStats.getPercentageSum() + percentageOf(submission));
 
-    return new OverallStats(
-        totalQuestions,
-        totalCorrect,
-        totalIncorrect,
-        Math.round(averageScore * 100) / 100.0,
-        submissions.size()
-    );
+      for (QuizAnswer answer : submission.getAnswers()) {
+        if (Boolean.TRUE.equals(answer.correct())) {
+          userStats.setTotalCorrect(userStats.getTotalCorrect() + 1);
+        }
+        if (answer.hasQuestionAttributes()) {
+          accumulate(userStats.getByType(), answer.questionType(), answer.correct());
+          accumulate(userStats.getByRegion(), answer.region(), answer.correct());
+          accumulate(userStats.getByLanguage(), answer.contentLanguage(), answer.correct());
+          continue;
+        }
+        Question question = questionMap.get(answer.questionId());
+        if (question != null) {
+          accumulate(userStats.getByType(), question.getType(), answer.correct());
+          accumulate(userStats.getByRegion(), question.getRegion(), answer.correct());
+          accumulate(userStats.getByLanguage(), question.getContentLanguage(), answer.correct());
+        }
+      }
+    }
+
+    userStats.setRecentSubmissions(submissions.stream()
+        .sorted(Comparator.comparing(QuizSubmission::getSubmittedAt).reversed())
+        .limit(UserStats.RECENT_LIMIT)
+        .map(this::toRecentEntry)
+        .collect(Collectors.toList()));
+
+    return userStats;
   }
 
   /**
-   * Aggregate statistics by question type
+   * Compute the rollup server-side in one $facet aggregation, so only counters and the recent
+   * submission summaries leave the database instead of whole submission documents.
+   * <p>
+   * Answers stored before question attributes were denormalized need their question looked up
+   * for the breakdowns; users that still have such answers are computed from their history like
+   * the rollup (run the quiz answer migration to serve them from the aggregation too).
    */
-  private List<TypeStats> aggregateByQuestionType(
-      List<QuizSubmission> submissions,
-      Map<String, Question> questionMap) {
-
-    Map<String, StatsAccumulator> typeAccumulators = new HashMap<>();
-
-    submissions.forEach(submission ->
-        submission.getAnswers().forEach(answer -> {
-          Question question = questionMap.get(answer.questionId());
-          if (question != null && question.getType() != null) {
-            String type = question.getType();
-            typeAccumulators.computeIfAbsent(type, k -> new StatsAccumulator())
-                .add(answer.correct());
-          }
-        })
+  private UserStats aggregateUserStats(String userId) {
+    if (hasLegacyAnswers(userId)) {
+      return buildUserStats(userId, quizSubmissionRepository.findAllByUserId(userId));
+    }
+
+    AggregationExpression correctAnswer = ConditionalOperators
+        .when(ComparisonOperators.valueOf("answers.correct").equalToValue(true))
+        .then(1)
+        .otherwise(0);
+    AggregationExpression percentage = ConditionalOperators
+        .when(ComparisonOperators.valueOf("totalQuestions").greaterThanValue(0))
+        .thenValueOf(ArithmeticOperators.Multiply
+            .valueOf(ArithmeticOperators.Divide.valueOf("score").divideBy("totalQuestions"))
+            .multiplyBy(100))
+        .otherwise(0);
+
+    Aggregation aggregation = Aggregation.newAggregation(
+        Aggregation.match(Criteria.where("userId").is(userId)),
+        // Sorted before $facet so the order comes from the userId_submittedAt_summary index;
+        // sub-pipelines see their input in this order and a $sort inside one runs in memory
+        Aggregation.sort(Sort.Direction.DESC, "submittedAt", "_id"),
+        Aggregation.facet(
+                Aggregation.group()
+                    .count().as("totalSubmissions")
+                    .sum("totalQuestions").as("totalQuestions")
+                    .sum(percentage).as("percentageSum")).as("overall")
+            .and(Aggregation.unwind("answers"),
+                Aggregation.group().sum(correctAnswer).as("totalCorrect")).as("answers")
+            .and(Aggregation.unwind("answers"),
+                groupCounters("answers.questionType", correctAnswer)).as("byType")
+            .and(Aggregation.unwind("answers"),
+                groupCounters("answers.region", correctAnswer)).as("byRegion")
+            .and(Aggregation.unwind("answers"),
+                groupCounters("answers.contentLanguage", correctAnswer)).as("byLanguage")
+            .and(Aggregation.limit(UserStats.RECENT_LIMIT),
+                Aggregation.project("submittedAt", "score", "totalQuestions")).as("recent")
     );
 
-    return typeAccumulators.entrySet().stream()
-        .map(entry -> new TypeStats(
-            entry.getKey(),
-            entry.getValue().total,
-            entry.getValue().correct,
-            entry.getValue().incorrect,
-            entry.getValue().getAccuracy()
-        ))
-        .sorted(Comparator.comparing(TypeStats::type))
-        .collect(Collectors.toList());
+    Document result = mongoTemplate.aggregate(aggregation, "quiz_submissions", Document.class)
+        .getUniqueMappedResult();
+
+    UserStats userStats = new UserStats();
+    userStats.setUserId(userId);
+    userStats.setUpdatedAt(LocalDateTime.now());
+    if (result == null) {
+      return userStats;
+    }
+
+    Document overall = firstFacetDocument(result, "overall");
+    if (overall == null) {
+      return userStats;
+    }
+    userStats.setTotalSubmissions(intValue(overall, "totalSubmissions"));
+    userStats.setTotalQuestions(intValue(overall, "totalQuestions"));
+    userStats.setPercentageSum(((Number) overall.get("percentageSum")).doubleValue());
+
+    Document answers = firstFacetDocument(result, "answers");
+    userStats.setTotalCorrect(answers == null ? 0 : intValue(answers, "totalCorrect"));
+
+    userStats.setByType(readCounters(result, "byType"));
+    userStats.setByRegion(readCounters(result, "byRegion"));
+    userStats.setByLanguage(readCounters(result, "byLanguage"));
+    userStats.setRecentSubmissions(result.getList("recent", Document.class).stream()
+        .map(doc -> new UserStats.RecentEntry(
+            String.valueOf(doc.get("_id")),
+            LocalDateTime.ofInstant(doc.getDate("submittedAt").toInstant(), ZoneId.systemDefault()),
+            intValue(doc, "score"),
+            intValue(doc, "totalQuestions")))
+        .collect(Collectors.toList()));
+
+    return userStats;
+  }
+
+  private boolean hasLegacyAnswers(String userId) {
+    return mongoTemplate.exists(Query.query(Criteria.where("userId").is(userId)
+        .and("answers").elemMatch(Criteria.where("questionType").is(null)
+            .and("region").is(null)
+            .and("contentLanguage").is(null))), QuizSubmission.class);
+  }
+
+  private GroupOperation groupCounters(String field, AggregationExpression correctAnswer) {
+    return Aggregation.group(field)
+        .count().as("total")
+        .sum(correctAnswer).as("correct");
+  }
+
+  private Document firstFacetDocument(Document result, String facet) {
+    List<Document> documents = result.getList(facet, Document.class);
+    return documents.isEmpty() ? null : documents.getFirst();
+  }
+
+  private Map<String, UserStats.Counter> readCounters(Document result, String facet) {
+    Map<String, UserStats.Counter> counters = new HashMap<>();
+    for (Document doc : result.getList(facet, Document.class)) {
+      Object key = doc.get("_id");
+      if (key == null) {
+        continue;
+      }
+      UserStats.Counter counter = new UserStats.Counter();
+      counter.setTotal(intValue(doc, "total"));
+      counter.setCorrect(intValue(doc, "correct"));
+      counters.put(counterKey(key.toString()), counter);
+    }
+    return counters;
+  }
+
+  private int intValue(Document document, String key) {
+    Object value = document.get(key);
+    return value == null ? 0 : ((Number) value).intValue();
   }
 
   /**
-   * Aggregate statistics by region
+   * Convert a rollup into the API response, deriving accuracies and strengths/weaknesses
    */
-  private List<RegionStats> aggregateByRegion(
-      List<QuizSubmission> submissions,
-      Map<String, Question> questionMap) {
-
-    Map<String, StatsAccumulator> regionAccumulators = new HashMap<>();
-
-    submissions.forEach(submission ->
-        submission.getAnswers().forEach(answer -> {
-          Question question = questionMap.get(answer.questionId());
-          if (question != null && question.getRegion() != null) {
-            String region = question.getRegion();
-            regionAccumulators.computeIfAbsent(region, k -> new StatsAccumulator())
-                .add(answer.correct());
-          }
-        })
-    );
+  private UserStatsResponse toResponse(UserStats userStats) {
+    OverallStats overall = calculateOverallStats(userStats);
+    List<TypeStats> byType = toStats(userStats.getByType(),
+        (key, counter) -> new TypeStats(key, counter.getTotal(), counter.getCorrect(),
+            counter.getTotal() - counter.getCorrect(), getAccuracy(counter)));
+    List<RegionStats> byRegion = toStats(userStats.getByRegion(),
+        (key, counter) -> new RegionStats(key, counter.getTotal(), counter.getCorrect(),
+            counter.getTotal() - counter.getCorrect(), getAccuracy(counter)));
+    List<LanguageStats> byLanguage = toStats(userStats.getByLanguage(),
+        (key, counter) -> new LanguageStats(key, counter.getTotal(), counter.getCorrect(),
+            counter.getTotal() - counter.getCorrect(), getAccuracy(counter)));
+    List<RecentSubmission> recent = getRecentSubmissions(userStats.getRecentSubmissions());
 
-    return regionAccumulators.entrySet().stream()
-        .map(entry -> new RegionStats(
-            entry.getKey(),
-            entry.getValue().total,
-            entry.getValue().correct,
-            entry.getValue().incorrect,
-            entry.getValue().getAccuracy()
-        ))
-        .sorted(Comparator.comparing(RegionStats::region))
-        .collect(Collectors.toList());
+    // Identify strengths and weaknesses
+    List<String> strengths = new ArrayList<>();
+    List<String> weaknesses = new ArrayList<>();
+    identifyStrengthsWeaknesses(byType, byRegion, byLanguage, strengths, weaknesses);
+
+    return new UserStatsResponse(overall, byType, byRegion, byLanguage, recent, strengths, weaknesses);
   }
 
   /**
-   * Aggregate statistics by content language
+   * Calculate overall statistics across all submissions
    */
-  private List<LanguageStats> aggregateByLanguage(
-      List<QuizSubmission> submissions,
-      Map<String, Question> questionMap) {
-
-    Map<String, StatsAccumulator> languageAccumulators = new HashMap<>();
-
-    submissions.forEach(submission ->
-        submission.getAnswers().forEach(answer -> {
-          Question question = questionMap.get(answer.questionId());
-          if (question != null && question.getContentLanguage() != null) {
-            String language = question.getContentLanguage();
-            languageAccumulators.computeIfAbsent(language, k -> new StatsAccumulator())
-                .add(answer.correct());
-          }
-        })
+  private OverallStats calculateOverallStats(UserStats userStats) {
+    int totalQuestions = userStats.getTotalQuestions();
+    int totalCorrect = userStats.getTotalCorrect();
+    int totalIncorrect = totalQuestions - totalCorrect;
+
+    double averageScore = userStats.getTotalSubmissions() == 0
+        ? 0.0
+        : userStats.getPercentageSum() / userStats.getTotalSubmissions();
+
+    return new OverallStats(
+        totalQuestions,
+        totalCorrect,
+        totalIncorrect,
+        Math.round(averageScore * 100) / 100.0,
+        userStats.getTotalSubmissions()
     );
+  }
 
-    return languageAccumulators.entrySet().stream()
-        .map(entry -> new LanguageStats(
-            entry.getKey(),
-            entry.getValue().total,
-            entry.getValue().correct,
-            entry.getValue().incorrect,
-            entry.getValue().getAccuracy()
-        ))
-        .sorted(Comparator.comparing(LanguageStats::language))
+  /**
+   * Convert a counter map into a list of stats sorted by key
+   */
+  private <T> List<T> toStats(Map<String, UserStats.Counter> counters,
+      BiFunction<String, UserStats.Counter, T> mapper) {
+    return counters.entrySet().stream()
+        .sorted(Map.Entry.comparingByKey())
+        .map(entry -> mapper.apply(entry.getKey(), entry.getValue()))
         .collect(Collectors.toList());
   }
 
   /**
    * Get recent submissions ordered by date descending
    */
-  private List<RecentSubmission> getRecentSubmissions(List<QuizSubmission> submissions, int limit) {
-    return submissions.stream()
-        .sorted(Comparator.comparing(QuizSubmission::getSubmittedAt).reversed())
-        .limit(limit)
-        .map(sub -> new RecentSubmission(
-            sub.getId(),
-            sub.getSubmittedAt(),
-            sub.getScore(),
-            sub.getTotalQuestions(),
-            Math.round((double) sub.getScore() / sub.getTotalQuestions() * 10000) / 100.0
+  private List<RecentSubmission> getRecentSubmissions(List<UserStats.RecentEntry> entries) {
+    return entries.stream()
+        .sorted(Comparator.comparing(UserStats.RecentEntry::submittedAt).reversed())
+        .limit(UserStats.RECENT_LIMIT)
+        .map(entry -> new RecentSubmission(
+            entry.id(),
+            entry.submittedAt(),
+            entry.score(),
+            entry.totalQuestions(),
+            Math.round((double) entry.score() / entry.totalQuestions() * 10000) / 100.0
         ))
         .collect(Collectors.toList());
   }
@@ -272,25 +511,39 @@ public class UserStatsService {
     );
   }
 
-  /**
-   * Helper class to accumulate statistics
-   */
-  private static class StatsAccumulator {
-    int total = 0;
-    int correct = 0;
-    int incorrect = 0;
+  private UserStats.RecentEntry toRecentEntry(QuizSubmission submission) {
+    return new UserStats.RecentEntry(submission.getId(), submission.getSubmittedAt(),
+        submission.getScore(), submission.getTotalQuestions());
+  }
 
-    void add(Boolean isCorrect) {
-      total++;
-      if (Boolean.TRUE.equals(isCorrect)) {
-        correct++;
-      } else {
-        incorrect++;
-      }
-    }
+  private double percentageOf(QuizSubmission submission) {
+    return (double) submission.getScore() / submission.getTotalQuestions() * 100;
+  }
+
+  private double getAccuracy(UserStats.Counter counter) {
+    return counter.getTotal() == 0 ? 0.0
+        : Math.round((double) counter.getCorrect() / counter.getTotal() * 10000) / 100.0;
+  }
 
-    double getAccuracy() {
-      return total == 0 ? 0.0 : Math.round((double) correct / total * 10000) / 100.0;
+  private void accumulate(Map<String, UserStats.Counter> counters, String key, Boolean isCorrect) {
+    if (key != null) {
+      counters.computeIfAbsent(counterKey(key), k -> new UserStats.Counter()).add(isCorrect);
     }
   }
+
+  private void incCounters(Update update, String field, Map<String, UserStats.Counter> counters) {
+    counters.forEach((key, counter) -> {
+      update.inc(field + "." + key + ".total", counter.getTotal());
+      update.inc(field + "." + key + ".correct", counter.getCorrect());
+    });
+  }
+
+  /**
+   * Map keys become document field names, so dots and a leading '$' are not allowed: they are
+   * replaced with '_', and the API reports the replaced key
+   */
+  private String counterKey(String key) {
+    String sanitized = key.replace('.', '_');
+    return sanitized.startsWith("$") ? "_" + sanitized.substring(1) : sanitized;
+  }
 }
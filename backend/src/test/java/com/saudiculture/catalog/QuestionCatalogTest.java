@@ -0,0 +1,211 @@
+package com.saudiculture.catalog;
+
+import com.saudiculture.dto.InfoQuestionDTO;
+import com.saudiculture.dto.QuizQuestionDTO;
+import com.saudiculture.models.Question;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.verify;
+import static org.mockito.Mockito.when;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QuestionCatalog Tests")
+class QuestionCatalogTest {
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @InjectMocks
+  private QuestionCatalog questionCatalog;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(questionCatalog, "enabled", true);
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(
+        createQuestion("1", "arabic", "food", "west"),
+        createQuestion("2", "arabic", "food", "east"),
+        createQuestion("3", "arabic", "clothing", "west"),
+        createQuestion("4", "english", "food", "west"),
+        createQuestion("5", "arabic", "food", "west")
+    ));
+    questionCatalog.refresh();
+  }
+
+  @Test
+  @DisplayName("Should only load the fields the catalog maps and indexes")
+  void shouldOnlyLoadCatalogFields() {
+    // Assert
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(query.capture(), eq(Question.class));
+    assertThat(query.getValue().getFieldsObject().keySet()).containsExactlyInAnyOrder(
+        "question_text", "options", "answer", "category", "content_language", "region", "type",
+        "source", "image_url", "term", "term_meaning");
+    assertThat(query.getValue().getFieldsObject().values()).containsOnly(1);
+  }
+
+  @Test
+  @DisplayName("Should be ready once a snapshot is loaded")
+  void shouldBeReadyAfterRefresh() {
+    assertThat(questionCatalog.isReady()).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should filter by language only")
+  void shouldFilterByLanguage() {
+    Page<InfoQuestionDTO> page = questionCatalog.findInfo("arabic", null, null, PageRequest.of(0, 20));
+
+    assertThat(page.getTotalElements()).isEqualTo(4);
+    assertThat(page.getContent()).extracting(InfoQuestionDTO::getQuestionText)
+        .containsExactly("Question 1", "Question 2", "Question 3", "Question 5");
+  }
+
+  @Test
+  @DisplayName("Should filter by language, category and region")
+  void shouldFilterByAllFilters() {
+    Page<InfoQuestionDTO> page = questionCatalog.findInfo("arabic", "food", "west", PageRequest.of(0, 20));
+
+    assertThat(page.getContent()).extracting(InfoQuestionDTO::getQuestionText)
+        .containsExactly("Question 1", "Question 5");
+  }
+
+  @Test
+  @DisplayName("Should page results with exact totals")
+  void shouldPageResultsWithExactTotals() {
+    Page<InfoQuestionDTO> page = questionCatalog.findInfo("arabic", null, null, PageRequest.of(1, 3));
+
+    assertThat(page.getTotalElements()).isEqualTo(4);
+    assertThat(page.getTotalPages()).isEqualTo(2);
+    assertThat(page.getContent()).extracting(InfoQuestionDTO::getQuestionText)
+        .containsExactly("Question 5");
+  }
+
+  @Test
+  @DisplayName("Should return empty page for unknown filters")
+  void shouldReturnEmptyPageForUnknownFilters() {
+    Page<InfoQuestionDTO> page = questionCatalog.findInfo("arabic", "music", null, PageRequest.of(0, 20));
+
+    assertThat(page.getTotalElements()).isZero();
+    assertThat(page.getContent()).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should draw distinct random quiz questions matching the filters")
+  void shouldDrawDistinctQuizQuestions() {
+    List<QuizQuestionDTO> quiz = questionCatalog.drawQuiz("food", "arabic", null, "all", 20);
+
+    assertThat(quiz).extracting(QuizQuestionDTO::getId)
+        .containsExactlyInAnyOrder("1", "2", "5");
+  }
+
+  @Test
+  @DisplayName("Should cap the quiz at the requested size")
+  void shouldCapQuizAtRequestedSize() {
+    List<QuizQuestionDTO> quiz = questionCatalog.drawQuiz(null, null, null, null, 2);
+
+    assertThat(quiz).hasSize(2);
+    assertThat(quiz).extracting(QuizQuestionDTO::getId).doesNotHaveDuplicates();
+  }
+
+  @Test
+  @DisplayName("Should draw the same seeded quiz for the same seed")
+  void shouldDrawReproducibleSeededQuiz() {
+    List<QuizQuestionDTO> first = questionCatalog.drawSeededQuiz(null, "arabic", null, "all", 3, 42L);
+    List<QuizQuestionDTO> second = questionCatalog.drawSeededQuiz(null, "arabic", null, "all", 3, 42L);
+
+    assertThat(first).hasSize(3).containsExactlyElementsOf(second);
+    assertThat(first).extracting(QuizQuestionDTO::getLanguage).containsOnly("arabic");
+  }
+
+  @Test
+  @DisplayName("Should not depend on load order for seeded quizzes")
+  void shouldDrawSeededQuizIndependentOfLoadOrder() {
+    List<QuizQuestionDTO> before = questionCatalog.drawSeededQuiz(null, null, null, null, 3, 7L);
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(
+        createQuestion("5", "arabic", "food", "west"),
+        createQuestion("4", "english", "food", "west"),
+        createQuestion("3", "arabic", "clothing", "west"),
+        createQuestion("2", "arabic", "food", "east"),
+        createQuestion("1", "arabic", "food", "west")
+    ));
+    questionCatalog.refresh();
+
+    List<QuizQuestionDTO> after = questionCatalog.drawSeededQuiz(null, null, null, null, 3, 7L);
+
+    assertThat(after).extracting(QuizQuestionDTO::getId)
+        .containsExactlyElementsOf(before.stream().map(QuizQuestionDTO::getId).toList());
+  }
+
+  @Test
+  @DisplayName("Should return an empty quiz when nothing matches")
+  void shouldReturnEmptyQuizWhenNothingMatches() {
+    assertThat(questionCatalog.drawQuiz("food", "english", "east", null, 5)).isEmpty();
+    assertThat(questionCatalog.drawQuiz(null, "arabic", null, "true_false", 5)).isEmpty();
+  }
+
+  @Test
+  @DisplayName("Should search with Arabic normalization and prefix matching")
+  void shouldSearchWithArabicNormalization() {
+    Question kabsa = createQuestion("10", "arabic", "food", "central");
+    kabsa.setQuestionText("ما هو الطبق الوطني؟");
+    kabsa.setAnswer("الكَبْسة");
+    Question coffee = createQuestion("11", "arabic", "food", "central");
+    coffee.setQuestionText("ماذا يقدم مع القهوة؟");
+    coffee.setAnswer("التمر");
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(kabsa, coffee));
+    questionCatalog.refresh();
+
+    assertThat(questionCatalog.searchInfo("كبسة", "arabic", null, null, PageRequest.of(0, 20))
+        .getContent()).extracting(InfoQuestionDTO::getAnswer).containsExactly("الكَبْسة");
+    assertThat(questionCatalog.searchInfo("قهو", "arabic", "food", null, PageRequest.of(0, 20))
+        .getContent()).extracting(InfoQuestionDTO::getAnswer).containsExactly("التمر");
+    assertThat(questionCatalog.searchInfo("كبسة", "english", null, null, PageRequest.of(0, 20))
+        .getTotalElements()).isZero();
+  }
+
+  @Test
+  @DisplayName("Should rank exact matches ahead of prefix matches")
+  void shouldRankExactMatchesFirst() {
+    Question prefix = createQuestion("20", "english", "food", "west");
+    prefix.setQuestionText("Where does the dateline pass?");
+    Question exact = createQuestion("21", "english", "food", "west");
+    exact.setQuestionText("Which date is famous?");
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(prefix, exact));
+    questionCatalog.refresh();
+
+    Page<InfoQuestionDTO> page = questionCatalog.searchInfo("dat", "english", null, null, PageRequest.of(0, 20));
+    assertThat(page.getTotalElements()).isEqualTo(2);
+
+    page = questionCatalog.searchInfo("date", "english", null, null, PageRequest.of(0, 20));
+    assertThat(page.getContent()).extracting(InfoQuestionDTO::getQuestionText)
+        .containsExactly("Which date is famous?", "Where does the dateline pass?");
+  }
+
+  private Question createQuestion(String id, String language, String category, String region) {
+    Question question = new Question();
+    question.setId(id);
+    question.setQuestionText("Question " + id);
+    question.setAnswer("Answer " + id);
+    question.setContentLanguage(language);
+    question.setCategory(category);
+    question.setRegion(region);
+    question.setType("open_ended");
+    return question;
+  }
+}
@@ -0,0 +1,45 @@
+package com.saudiculture.catalog;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("TextNormalizer Tests")
+class TextNormalizerTest {
+
+  @Test
+  @DisplayName("Should strip tashkeel and tatweel")
+  void shouldStripTashkeelAndTatweel() {
+    assertThat(TextNormalizer.normalize("القَهْوَة العـربية")).isEqualTo("القهوه العربيه");
+  }
+
+  @Test
+  @DisplayName("Should unify alef forms, taa marbuta and alif maqsura")
+  void shouldUnifyArabicLetterForms() {
+    assertThat(TextNormalizer.normalize("أإآٱ")).isEqualTo("اااا");
+    assertThat(TextNormalizer.normalize("مدينة")).isEqualTo("مدينه");
+    assertThat(TextNormalizer.normalize("مستشفى")).isEqualTo("مستشفي");
+  }
+
+  @Test
+  @DisplayName("Should tokenize Arabic and remove the definite article")
+  void shouldTokenizeArabic() {
+    assertThat(TextNormalizer.tokenize("ما هو طبق الكَبْسة؟"))
+        .containsExactly("ما", "هو", "طبق", "كبسه");
+  }
+
+  @Test
+  @DisplayName("Should lowercase and stem English tokens")
+  void shouldLowercaseAndStemEnglish() {
+    assertThat(TextNormalizer.tokenize("Traditional Dances, Festivities and Clothing"))
+        .containsExactly("traditional", "dance", "festivity", "and", "cloth");
+  }
+
+  @Test
+  @DisplayName("Should return no tokens for blank input")
+  void shouldReturnNoTokensForBlankInput() {
+    assertThat(TextNormalizer.tokenize("  ؟ ")).isEmpty();
+    assertThat(TextNormalizer.tokenize(null)).isEmpty();
+  }
+}
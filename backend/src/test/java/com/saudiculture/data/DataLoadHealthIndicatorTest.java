@@ -0,0 +1,167 @@
+package com.saudiculture.data;
+
+import com.saudiculture.catalog.QuestionCatalog;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.boot.actuate.health.Health;
+import org.springframework.boot.actuate.health.HealthEndpointGroup;
+import org.springframework.boot.actuate.health.HealthEndpointGroups;
+import org.springframework.boot.actuate.health.Status;
+
+import java.util.List;
+import java.util.Map;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.Mockito.mock;
+import static org.mockito.Mockito.when;
+
+@DisplayName("DataLoadHealthIndicator Tests")
+class DataLoadHealthIndicatorTest {
+
+  private final DataLoadProgress progress = new DataLoadProgress();
+  private final QuestionCatalog questionCatalog = mock(QuestionCatalog.class);
+  private final DataLoadHealthIndicator indicator =
+      new DataLoadHealthIndicator(progress, questionCatalog);
+
+  @BeforeEach
+  void setUp() {
+    when(questionCatalog.isEnabled()).thenReturn(true);
+  }
+
+  @Test
+  @DisplayName("Should be out of service until the startup load has finished")
+  void shouldBeOutOfServiceWhileLoading() {
+    // Act
+    Status pending = indicator.health().getStatus();
+    progress.start();
+    progress.attempt();
+    progress.moveTo(DataLoadProgress.State.SYNCING_CSV);
+    Status syncing = indicator.health().getStatus();
+    progress.complete();
+    Status completed = indicator.health().getStatus();
+
+    // Assert
+    assertThat(pending).isEqualTo(Status.OUT_OF_SERVICE);
+    assertThat(syncing).isEqualTo(Status.OUT_OF_SERVICE);
+    assertThat(completed).isEqualTo(Status.UP);
+  }
+
+  @Test
+  @DisplayName("Should stay out of service with the error while a failed load is retried")
+  void shouldStayOutOfServiceWhileRetrying() {
+    // Arrange
+    progress.start();
+    progress.attempt();
+    progress.retry("Database not reachable");
+
+    // Act
+    Health retrying = indicator.health();
+    progress.attempt();
+    progress.complete();
+    Health completed = indicator.health();
+
+    // Assert
+    assertThat(retrying.getStatus()).isEqualTo(Status.OUT_OF_SERVICE);
+    assertThat(retrying.getDetails())
+        .containsEntry("state", DataLoadProgress.State.RETRYING)
+        .containsEntry("attempts", 1)
+        .containsEntry("error", "Database not reachable");
+    assertThat(completed.getStatus()).isEqualTo(Status.UP);
+    assertThat(completed.getDetails()).containsEntry("attempts", 2).doesNotContainKey("error");
+  }
+
+  @Test
+  @DisplayName("Should be up with the failed files when some CSV files failed to sync")
+  void shouldReportFailedFilesWithoutFailingReadiness() {
+    // Arrange
+    progress.start();
+    progress.attempt();
+    progress.complete(List.of("WEST.csv"));
+
+    // Act
+    Health health = indicator.health();
+
+    // Assert
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails()).containsEntry("failedFiles", List.of("WEST.csv"));
+  }
+
+  @Test
+  @DisplayName("Should not hold back readiness when the catalog is disabled")
+  void shouldBeUpWithoutCatalog() {
+    // Arrange
+    when(questionCatalog.isEnabled()).thenReturn(false);
+    progress.start();
+    progress.attempt();
+    progress.retry("Database not reachable");
+
+    // Act
+    Health health = indicator.health();
+
+    // Assert
+    assertThat(health.getStatus()).isEqualTo(Status.UP);
+    assertThat(health.getDetails()).containsEntry("state", DataLoadProgress.State.RETRYING);
+  }
+
+  @Test
+  @DisplayName("Should report a load stopped by shutdown as down")
+  void shouldReportInterruptedLoad() {
+    // Arrange
+    progress.start();
+    progress.attempt();
+    progress.fail("Interrupted");
+
+    // Act
+    Health health = indicator.health();
+
+    // Assert
+    assertThat(health.getStatus()).isEqualTo(Status.DOWN);
+    assertThat(health.getDetails())
+        .containsEntry("state", DataLoadProgress.State.FAILED)
+        .containsEntry("error", "Interrupted");
+  }
+
+  @Test
+  @DisplayName("Should only report the data load in the readiness group")
+  void shouldLeaveDataLoadOutOfRootHealth() {
+    // Arrange
+    HealthEndpointGroup primary = mock(HealthEndpointGroup.class);
+    HealthEndpointGroup readiness = mock(HealthEndpointGroup.class);
+    when(primary.isMember(anyString())).thenReturn(true);
+    when(readiness.isMember("dataLoad")).thenReturn(true);
+    HealthEndpointGroups groups = HealthEndpointGroups.of(primary, Map.of("readiness", readiness));
+
+    // Act
+    HealthEndpointGroups processed = new DataLoadHealthGroups().postProcessHealthEndpointGroups(groups);
+
+    // Assert
+    assertThat(processed.getPrimary().isMember("dataLoad")).isFalse();
+    assertThat(processed.getPrimary().isMember("mongo")).isTrue();
+    assertThat(processed.get("readiness").isMember("dataLoad")).isTrue();
+  }
+
+  @Test
+  @DisplayName("Should count files and rows as they finish")
+  void shouldTrackProgress() {
+    // Arrange
+    CsvLoadResult result = new CsvLoadResult("WEST.csv");
+    result.incrementLoaded();
+    result.incrementLoaded();
+    result.incrementSkipped();
+
+    // Act
+    progress.start();
+    progress.filesFound(3);
+    progress.fileDone(result);
+    DataLoadProgress.Snapshot snapshot = progress.snapshot();
+
+    // Assert
+    assertThat(snapshot.filesTotal()).isEqualTo(3);
+    assertThat(snapshot.filesDone()).isEqualTo(1);
+    assertThat(snapshot.rowsLoaded()).isEqualTo(2);
+    assertThat(snapshot.rowsSkipped()).isEqualTo(1);
+    assertThat(snapshot.durationMs()).isNotNull();
+  }
+}
@@ -0,0 +1,313 @@
+package com.saudiculture.data;
+
+import com.mongodb.bulk.BulkWriteError;
+import com.saudiculture.catalog.QuestionCatalog;
+import com.saudiculture.catalog.QuestionsChangedEvent;
+import com.saudiculture.data.DataLoadProgress.State;
+import com.saudiculture.models.CsvSyncState;
+import com.saudiculture.models.Question;
+import com.saudiculture.repositories.QuestionRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.context.ApplicationContext;
+import org.springframework.core.io.ByteArrayResource;
+import org.springframework.core.io.Resource;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.List;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+/**
+ * Runs the CSV sync against a real MongoDB with CSV files supplied in memory, so the upserts,
+ * the soft-delete sweep, the content key backfill and the per-file sync state are checked against
+ * what the server actually stores.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "file:.env")
+@DisplayName("DataLoader Tests")
+class DataLoaderTest {
+
+  private static final String HEADER = "Question,Choices,Answer,Question Type,Category,Language";
+  private static final String TEXT_PREFIX = "DataLoaderTest";
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private QuestionRepository questionRepository;
+
+  @Autowired
+  private QuestionValidator validator;
+
+  private ApplicationContext applicationContext;
+
+  @BeforeEach
+  void setUp() {
+    applicationContext = mock(ApplicationContext.class);
+  }
+
+  @AfterEach
+  void tearDown() {
+    mongoTemplate.remove(Query.query(Criteria.where("question_text").regex("^" + TEXT_PREFIX)),
+        Question.class);
+    mongoTemplate.remove(Query.query(Criteria.where("_id").in("GENERAL.csv", "WEST.csv")),
+        CsvSyncState.class);
+  }
+
+  @Test
+  @DisplayName("Should insert the rows of a new file and skip it while its checksum is unchanged")
+  void shouldSkipUnchangedFile() throws IOException {
+    // Arrange
+    Resource file = csv("GENERAL.csv", row("one"), row("two"));
+
+    // Act
+    sync(mongoTemplate, file);
+    CsvSyncState firstSync = mongoTemplate.findById("GENERAL.csv", CsvSyncState.class);
+    DataLoadProgress.Snapshot second = sync(mongoTemplate, file);
+
+    // Assert
+    assertThat(questions()).hasSize(2).allSatisfy(question -> {
+      assertThat(question.getContentKey()).isNotNull();
+      assertThat(question.getSourceFile()).isEqualTo("GENERAL.csv");
+      assertThat(question.getSourceChecksum()).isEqualTo(firstSync.getChecksum());
+      assertThat(question.isDeleted()).isFalse();
+    });
+    assertThat(firstSync.getRows()).isEqualTo(2);
+    assertThat(mongoTemplate.findById("GENERAL.csv", CsvSyncState.class)).isEqualTo(firstSync);
+    assertThat(second.state()).isEqualTo(State.COMPLETED);
+    assertThat(second.rowsLoaded()).isZero();
+    verify(applicationContext, times(1)).publishEvent(any(QuestionsChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should soft delete removed rows and restore them with their id when re-added")
+  void shouldSoftDeleteRemovedRowsAndRestoreReAddedOnes() throws IOException {
+    // Arrange
+    sync(mongoTemplate, csv("GENERAL.csv", row("one"), row("two")));
+    String removedId = question("two").getId();
+
+    // Act
+    sync(mongoTemplate, csv("GENERAL.csv", row("one")));
+
+    // Assert
+    assertThat(question("one").isDeleted()).isFalse();
+    assertThat(question("two").isDeleted()).isTrue();
+
+    // Act
+    sync(mongoTemplate, csv("GENERAL.csv", row("one"), row("two")));
+
+    // Assert
+    assertThat(questions()).hasSize(2).noneMatch(Question::isDeleted);
+    assertThat(question("two").getId()).isEqualTo(removedId);
+    verify(applicationContext, times(3)).publishEvent(any(QuestionsChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should skip the sweep and keep the file unsynced when rows fail to write")
+  void shouldNotSweepAfterWriteFailure() throws IOException {
+    // Arrange
+    sync(mongoTemplate, csv("GENERAL.csv", row("one"), row("two")));
+    CsvSyncState firstSync = mongoTemplate.findById("GENERAL.csv", CsvSyncState.class);
+    Resource changed = csv("GENERAL.csv", row("one"), row("three"));
+
+    // Act - the server rejects the first row of the changed file
+    sync(rejectingUpsert(0), changed);
+
+    // Assert
+    assertThat(question("two").isDeleted()).isFalse();
+    assertThat(mongoTemplate.findById("GENERAL.csv", CsvSyncState.class)).isEqualTo(firstSync);
+
+    // Act - the next start retries the file
+    sync(mongoTemplate, changed);
+
+    // Assert
+    assertThat(question("two").isDeleted()).isTrue();
+    assertThat(mongoTemplate.findById("GENERAL.csv", CsvSyncState.class).getChecksum())
+        .isNotEqualTo(firstSync.getChecksum());
+  }
+
+  @Test
+  @DisplayName("Should key legacy questions and soft delete their duplicates once")
+  void shouldBackfillContentKeys() throws IOException {
+    // Arrange
+    Question legacy = insertLegacy("one");
+    Question duplicate = insertLegacy("one");
+    Question other = insertLegacy("two");
+
+    // Act
+    sync(mongoTemplate);
+
+    // Assert
+    String key = QuestionContentKey.of("general", "arabic", TEXT_PREFIX + " one");
+    List<Question> stored = questions();
+    assertThat(stored).filteredOn(question -> question.getId().equals(legacy.getId()))
+        .singleElement().satisfies(question -> {
+          assertThat(question.getContentKey()).isEqualTo(key);
+          assertThat(question.isDeleted()).isFalse();
+        });
+    assertThat(stored).filteredOn(question -> question.getId().equals(duplicate.getId()))
+        .singleElement().satisfies(question -> {
+          assertThat(question.getContentKey()).isNull();
+          assertThat(question.isDeleted()).isTrue();
+        });
+    assertThat(stored).filteredOn(question -> question.getId().equals(other.getId()))
+        .singleElement().extracting(Question::getContentKey).isNotNull();
+
+    // Act - nothing is left to backfill
+    sync(mongoTemplate);
+
+    // Assert
+    verify(applicationContext, times(1)).publishEvent(any(QuestionsChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should complete with the failed file reported when one file fails to load")
+  void shouldReportFailedFile() throws IOException {
+    // Arrange
+    MongoTemplate template = spy(mongoTemplate);
+    doThrow(new IllegalStateException("sync state unavailable"))
+        .when(template).findById(eq("WEST.csv"), eq(CsvSyncState.class));
+
+    // Act
+    DataLoadProgress.Snapshot snapshot = sync(template,
+        csv("GENERAL.csv", row("one"), row("two")),
+        csv("WEST.csv", row("three")));
+
+    // Assert
+    assertThat(questions()).extracting(Question::getSourceFile).containsOnly("GENERAL.csv");
+    assertThat(mongoTemplate.findById("GENERAL.csv", CsvSyncState.class)).isNotNull();
+    assertThat(snapshot.filesDone()).isEqualTo(1);
+    assertThat(snapshot.rowsLoaded()).isEqualTo(2);
+    assertThat(snapshot.state()).isEqualTo(State.COMPLETED);
+    assertThat(snapshot.failedFiles()).containsExactly("WEST.csv");
+    verify(applicationContext, times(1)).publishEvent(any(QuestionsChangedEvent.class));
+  }
+
+  @Test
+  @DisplayName("Should retry the load until the database is reachable")
+  void shouldRetryUntilDatabaseIsReachable() throws IOException {
+    // Arrange
+    QuestionRepository unreachable = mock(QuestionRepository.class);
+    when(unreachable.count())
+        .thenThrow(new IllegalStateException("connection refused"))
+        .thenThrow(new IllegalStateException("connection refused"))
+        .thenReturn(0L);
+
+    // Act
+    DataLoadProgress.Snapshot snapshot = sync(unreachable, mongoTemplate,
+        csv("GENERAL.csv", row("one")));
+
+    // Assert
+    assertThat(snapshot.state()).isEqualTo(State.COMPLETED);
+    assertThat(snapshot.attempts()).isEqualTo(3);
+    assertThat(snapshot.error()).isNull();
+    assertThat(questions()).hasSize(1);
+  }
+
+  // Helper methods
+  private DataLoadProgress.Snapshot sync(MongoTemplate template, Resource... files)
+      throws IOException {
+    return sync(questionRepository, template, files);
+  }
+
+  private DataLoadProgress.Snapshot sync(QuestionRepository repository, MongoTemplate template,
+      Resource... files) throws IOException {
+    when(applicationContext.getResources("classpath:data/*.csv")).thenReturn(files);
+    DataLoadProgress progress = new DataLoadProgress();
+    DataLoader loader = new DataLoader(repository, template, applicationContext,
+        validator, mock(QuestionCatalog.class), progress);
+    ReflectionTestUtils.setField(loader, "loadingEnabled", true);
+    ReflectionTestUtils.setField(loader, "retries", 1);
+    ReflectionTestUtils.setField(loader, "retryDelayMs", 10L);
+    ReflectionTestUtils.setField(loader, "maxRetryDelayMs", 20L);
+    ReflectionTestUtils.setField(loader, "parallelism", 2);
+    loader.run();
+    return progress.snapshot();
+  }
+
+  /**
+   * Template whose question bulk writes are applied but then reported as failed for the row at
+   * {@code index}, as when the server rejects one row of an unordered bulk write.
+   */
+  private MongoTemplate rejectingUpsert(int index) {
+    BulkOperationException error = mock(BulkOperationException.class);
+    when(error.getErrors()).thenReturn(List.of(
+        new BulkWriteError(121, "Document failed validation", new BsonDocument(), index)));
+    MongoTemplate template = spy(mongoTemplate);
+    doAnswer(invocation -> {
+      BulkOperations bulkOps = spy((BulkOperations) invocation.callRealMethod());
+      AtomicBoolean upserts = new AtomicBoolean();
+      doAnswer(upsert -> {
+        upserts.set(true);
+        return upsert.callRealMethod();
+      }).when(bulkOps).upsert(any(Query.class), any(Update.class));
+      doAnswer(execute -> {
+        Object result = execute.callRealMethod();
+        if (upserts.get()) {
+          throw error;
+        }
+        return result;
+      }).when(bulkOps).execute();
+      return bulkOps;
+    }).when(template).bulkOps(BulkMode.UNORDERED, Question.class);
+    return template;
+  }
+
+  private static Resource csv(String filename, String... rows) {
+    String content = HEADER + "\n" + String.join("\n", Arrays.asList(rows)) + "\n";
+    return new ByteArrayResource(content.getBytes(StandardCharsets.UTF_8)) {
+      @Override
+      public String getFilename() {
+        return filename;
+      }
+    };
+  }
+
+  private static String row(String name) {
+    return TEXT_PREFIX + " " + name + ",,Answer " + name + ",Open-ended,food,Arabic";
+  }
+
+  private List<Question> questions() {
+    return mongoTemplate.find(
+        Query.query(Criteria.where("question_text").regex("^" + TEXT_PREFIX)), Question.class);
+  }
+
+  private Question question(String name) {
+    return mongoTemplate.findOne(
+        Query.query(Criteria.where("question_text").is(TEXT_PREFIX + " " + name)), Question.class);
+  }
+
+  private Question insertLegacy(String name) {
+    Question question = new Question();
+    question.setQuestionText(TEXT_PREFIX + " " + name);
+    question.setAnswer("Answer " + name);
+    question.setCategory("food");
+    question.setType("open-ended");
+    question.setContentLanguage("arabic");
+    question.setRegion("general");
+    return mongoTemplate.insert(question);
+  }
+}
@@ -0,0 +1,37 @@
+package com.saudiculture.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QuestionContentKey Tests")
+class QuestionContentKeyTest {
+
+  @Test
+  @DisplayName("Should keep the key across cosmetic edits of the question text")
+  void shouldIgnoreCosmeticEdits() {
+    String key = QuestionContentKey.of("west", "arabic", "ما هي القهوة العربية؟");
+
+    assertThat(QuestionContentKey.of("WEST", "Arabic", "  ما هي القَهْوَة   العربيّة؟ "))
+        .isEqualTo(key);
+    assertThat(QuestionContentKey.of("west", "arabic", "ما هي القهوه العربيه؟")).isEqualTo(key);
+  }
+
+  @Test
+  @DisplayName("Should give the same question in another region or language its own key")
+  void shouldSeparateRegionsAndLanguages() {
+    String key = QuestionContentKey.of("west", "english", "What is Kabsa?");
+
+    assertThat(QuestionContentKey.of("east", "english", "What is Kabsa?")).isNotEqualTo(key);
+    assertThat(QuestionContentKey.of("west", "arabic", "What is Kabsa?")).isNotEqualTo(key);
+    assertThat(QuestionContentKey.of("west", "english", "What is Jareesh?")).isNotEqualTo(key);
+  }
+
+  @Test
+  @DisplayName("Should not let field boundaries shift between region and language")
+  void shouldSeparateFieldBoundaries() {
+    assertThat(QuestionContentKey.of("we", "starabic", "Question"))
+        .isNotEqualTo(QuestionContentKey.of("west", "arabic", "Question"));
+  }
+}
@@ -0,0 +1,114 @@
+package com.saudiculture.data;
+
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import java.io.IOException;
+import java.io.StringReader;
+import java.util.Arrays;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("QuestionCsvReader Tests")
+class QuestionCsvReaderTest {
+
+  private static final String HEADER =
+      "Question,Choices,Answer,Question Type,Domain,Category,Language,The Count of Category,Type\n";
+
+  @Test
+  @DisplayName("Should map columns by header name and refill the same record per row")
+  void shouldMapColumnsByHeader() throws IOException {
+    // Arrange
+    String csv = "Language,Answer,Unknown,Question\r\n"
+        + "English,Kabsa,ignored,What is the national dish?\r\n"
+        + "Arabic,القهوة,,ما هو مشروب الضيافة؟";
+    QuestionCsvRecord csvRecord = new QuestionCsvRecord();
+
+    try (QuestionCsvReader reader = new QuestionCsvReader(new StringReader(csv))) {
+      // Act & Assert
+      assertThat(reader.next(csvRecord)).isTrue();
+      assertThat(csvRecord.getQuestion()).isEqualTo("What is the national dish?");
+      assertThat(csvRecord.getAnswer()).isEqualTo("Kabsa");
+      assertThat(csvRecord.getLanguage()).isEqualTo("English");
+      assertThat(csvRecord.getCategory()).isNull();
+
+      assertThat(reader.next(csvRecord)).isTrue();
+      assertThat(csvRecord.getQuestion()).isEqualTo("ما هو مشروب الضيافة؟");
+      assertThat(csvRecord.getAnswer()).isEqualTo("القهوة");
+
+      assertThat(reader.next(csvRecord)).isFalse();
+    }
+  }
+
+  @Test
+  @DisplayName("Should match header names ignoring case")
+  void shouldMatchHeaderNamesIgnoringCase() throws IOException {
+    // Arrange
+    String csv = "QUESTION,answer, Question TYPE ,the count of CATEGORY\n"
+        + "What is the national dish?,Kabsa,Open Ended,3\n";
+    QuestionCsvRecord csvRecord = new QuestionCsvRecord();
+
+    try (QuestionCsvReader reader = new QuestionCsvReader(new StringReader(csv))) {
+      // Act & Assert
+      assertThat(reader.next(csvRecord)).isTrue();
+      assertThat(csvRecord.getQuestion()).isEqualTo("What is the national dish?");
+      assertThat(csvRecord.getAnswer()).isEqualTo("Kabsa");
+      assertThat(csvRecord.getQuestionType()).isEqualTo("Open Ended");
+      assertThat(csvRecord.getCountOfCategory()).isEqualTo("3");
+    }
+  }
+
+  @Test
+  @DisplayName("Should parse quoted fields with commas, escaped quotes and line breaks")
+  void shouldParseQuotedFields() throws IOException {
+    // Arrange
+    String csv = "\uFEFF" + HEADER
+        + "\"Which dish is \"\"Kabsa\"\"?\",  \"A. Rice, meat B. Bread\",A,MCQ,Food,Cuisine,"
+        + "English,3,\"line one\nline two\"\n"
+        + "\n"
+        + "Short row, with spaces\n";
+    QuestionCsvRecord csvRecord = new QuestionCsvRecord();
+
+    try (QuestionCsvReader reader = new QuestionCsvReader(new StringReader(csv))) {
+      // Act & Assert
+      assertThat(reader.next(csvRecord)).isTrue();
+      assertThat(csvRecord.getQuestion()).isEqualTo("Which dish is \"Kabsa\"?");
+      assertThat(csvRecord.getChoices()).isEqualTo("A. Rice, meat B. Bread");
+      assertThat(csvRecord.getQuestionType()).isEqualTo("MCQ");
+      assertThat(csvRecord.getCountOfCategory()).isEqualTo("3");
+      assertThat(csvRecord.getType()).isEqualTo("line one\nline two");
+
+      // The empty line is skipped and missing columns are cleared
+      assertThat(reader.next(csvRecord)).isTrue();
+      assertThat(csvRecord.getQuestion()).isEqualTo("Short row");
+      assertThat(csvRecord.getChoices()).isEqualTo(" with spaces");
+      assertThat(csvRecord.getType()).isNull();
+
+      assertThat(reader.next(csvRecord)).isFalse();
+    }
+  }
+
+  @Test
+  @DisplayName("Should split choices the same way as the previous letter pattern split")
+  void shouldSplitChoices() {
+    String[] inputs = {
+        "A. Kabsa B. Jareesh C. Mandi D. Saleeg",
+        "A.Coffee\nB.Tea",
+        "  A. True  B. False  ",
+        "The U.S. B. Other",
+        "no letters here",
+        "A.B.C."
+    };
+
+    for (String input : inputs) {
+      String[] expected = Arrays.stream(input.split("[A-Z]\\.\\s*"))
+          .map(String::trim)
+          .filter(s -> !s.isEmpty())
+          .toArray(String[]::new);
+      assertThat(QuestionCsvReader.parseChoices(input)).as(input).containsExactly(expected);
+    }
+    assertThat(QuestionCsvReader.parseChoices("–")).isEmpty();
+    assertThat(QuestionCsvReader.parseChoices(" ")).isEmpty();
+    assertThat(QuestionCsvReader.parseChoices(null)).isEmpty();
+  }
+}
@@ -0,0 +1,130 @@
+package com.saudiculture.repositories;
+
+import com.saudiculture.models.Question;
+import org.bson.Document;
+import org.bson.RawBsonDocument;
+import org.bson.conversions.Bson;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Measures the bytes the driver receives for question reads with and without the
+ * {@link QuestionProjections}, and checks the repository finders apply them.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "file:.env")
+@DisplayName("QuestionProjections Tests")
+class QuestionProjectionsTest {
+
+  private static final String LANGUAGE = "projection-test";
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private QuestionRepository questionRepository;
+
+  private final List<Question> inserted = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 20; i++) {
+      Question question = new Question();
+      question.setTerm("القهوة العربية " + i);
+      question.setTermMeaning("Arabic coffee, served with dates as a sign of hospitality. ".repeat(8));
+      question.setQuestionText("What is served to guests on arrival? " + i);
+      question.setOptions(new String[]{"Coffee", "Tea", "Water", "Juice"});
+      question.setAnswer("Coffee");
+      question.setCategory("Customs and Traditions");
+      question.setType("single_choice");
+      question.setContentLanguage(LANGUAGE);
+      question.setRegion("CENTRAL");
+      question.setSource("Cultural heritage reference " + i);
+      inserted.add(mongoTemplate.insert(question));
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    inserted.forEach(mongoTemplate::remove);
+    inserted.clear();
+  }
+
+  @Test
+  @DisplayName("Should receive fewer bytes for every projection than for full documents")
+  void shouldReceiveFewerBytesWithProjections() {
+    // Arrange
+    Document filter = new Document("content_language", LANGUAGE);
+    long full = responseBytes(filter, null);
+
+    // Act
+    long info = responseBytes(filter, Document.parse(QuestionProjections.INFO));
+    long quiz = responseBytes(filter, Document.parse(QuestionProjections.QUIZ));
+    long grading = responseBytes(filter, Document.parse(QuestionProjections.GRADING));
+
+    // Assert
+    assertThat(info).isLessThan(full);
+    assertThat(quiz).isLessThan(full);
+    assertThat(grading).isLessThan(quiz);
+  }
+
+  @Test
+  @DisplayName("Should only load the info fields in the info finders")
+  void shouldOnlyLoadInfoFields() {
+    // Act
+    Page<Question> page = questionRepository.findByContentLanguage(LANGUAGE, PageRequest.of(0, 5));
+
+    // Assert
+    assertThat(page.getTotalElements()).isEqualTo(inserted.size());
+    assertThat(page.getContent()).hasSize(5).allSatisfy(question -> {
+      assertThat(question.getQuestionText()).isNotNull();
+      assertThat(question.getSource()).isNotNull();
+      assertThat(question.getTerm()).isNull();
+      assertThat(question.getTermMeaning()).isNull();
+      assertThat(question.getOptions()).isNull();
+    });
+  }
+
+  @Test
+  @DisplayName("Should only load the grading fields when fetching questions for grading")
+  void shouldOnlyLoadGradingFields() {
+    // Act
+    List<Question> questions = questionRepository.findForGradingByIdIn(
+        inserted.stream().map(Question::getId).toList());
+
+    // Assert
+    assertThat(questions).hasSize(inserted.size()).allSatisfy(question -> {
+      assertThat(question.getAnswer()).isEqualTo("Coffee");
+      assertThat(question.getType()).isEqualTo("single_choice");
+      assertThat(question.getTermMeaning()).isNull();
+      assertThat(question.getOptions()).isNull();
+    });
+  }
+
+  // Helper methods
+  private long responseBytes(Document filter, Bson projection) {
+    long bytes = 0;
+    for (RawBsonDocument document : mongoTemplate.getCollection("questions")
+        .withDocumentClass(RawBsonDocument.class)
+        .find(filter)
+        .projection(projection)) {
+      bytes += document.getByteBuffer().remaining();
+    }
+    return bytes;
+  }
+}
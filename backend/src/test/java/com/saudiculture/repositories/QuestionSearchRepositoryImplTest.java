@@ -0,0 +1,91 @@
+package com.saudiculture.repositories;
+
+import com.saudiculture.models.Question;
+import com.saudiculture.repositories.QuestionSearchRepository.SearchMode;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.domain.Page;
+import org.springframework.data.domain.PageRequest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "file:.env")
+@DisplayName("QuestionSearchRepository Tests")
+class QuestionSearchRepositoryImplTest {
+
+  private static final String LANGUAGE = "search-test";
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private QuestionRepository questionRepository;
+
+  private final List<Question> inserted = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    for (int i = 0; i < 25; i++) {
+      Question question = new Question();
+      question.setQuestionText((i % 5 == 0 ? "Which coffee" : "Which dance") + " question " + i + "?");
+      question.setTerm(i % 5 == 0 ? "Qahwa" : "Ardah");
+      question.setAnswer("Answer " + i);
+      question.setCategory("culture");
+      question.setType("open_ended");
+      question.setContentLanguage(LANGUAGE);
+      question.setRegion(i % 2 == 0 ? "WEST" : "EAST");
+      inserted.add(mongoTemplate.insert(question));
+    }
+  }
+
+  @AfterEach
+  void tearDown() {
+    inserted.forEach(mongoTemplate::remove);
+    inserted.clear();
+  }
+
+  @Test
+  @DisplayName("Should return the page and the total of all matches from one query")
+  void shouldReturnPageAndTotal() {
+    // Act
+    Page<Question> page = questionRepository.searchQuestions("DANCE", LANGUAGE, "culture", null,
+        SearchMode.REGEX, PageRequest.of(1, 8));
+
+    // Assert
+    assertThat(page.getTotalElements()).isEqualTo(20);
+    assertThat(page.getTotalPages()).isEqualTo(3);
+    assertThat(page.getContent()).hasSize(8).allSatisfy(question -> {
+      assertThat(question.getQuestionText()).contains("dance");
+      assertThat(question.getId()).isNotNull();
+      assertThat(question.getTerm()).isNull();
+    });
+  }
+
+  @Test
+  @DisplayName("Should apply the filters to the total and report no matches as an empty page")
+  void shouldApplyFiltersToTotal() {
+    // Act
+    Page<Question> west = questionRepository.searchQuestions("coffee", LANGUAGE, null, "WEST",
+        SearchMode.REGEX, PageRequest.of(0, 20));
+    Page<Question> none = questionRepository.searchQuestions("kabsa", LANGUAGE, null, null,
+        SearchMode.REGEX, PageRequest.of(0, 20));
+
+    // Assert
+    assertThat(west.getTotalElements()).isEqualTo(3);
+    assertThat(west.getContent()).hasSize(3);
+    assertThat(none.getTotalElements()).isZero();
+    assertThat(none.getContent()).isEmpty();
+  }
+}
@@ -0,0 +1,277 @@
+package com.saudiculture.repositories;
+
+import com.mongodb.event.CommandListener;
+import com.mongodb.event.CommandStartedEvent;
+import com.saudiculture.models.QuizSubmission;
+import com.saudiculture.services.UserStatsService;
+import org.bson.BsonDocument;
+import org.bson.BsonString;
+import org.bson.Document;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.autoconfigure.mongo.MongoClientSettingsBuilderCustomizer;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.boot.test.context.TestConfiguration;
+import org.springframework.context.annotation.Bean;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Explains every per-user quiz_submissions read against a real MongoDB and checks the plans stay
+ * on the {@code userId_submittedAt_summary} index: no collection scans and no in-memory sorts.
+ * <p>
+ * The explained commands are the ones the repository and service methods actually send, recorded
+ * with a command listener on the client.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "file:.env")
+@DisplayName("QuizSubmission Index Tests")
+class QuizSubmissionIndexTest {
+
+  private static final String COLLECTION = "quiz_submissions";
+  private static final String USER_ID = "index-test-user";
+
+  // Session and routing fields the driver adds, which explain does not accept inside the command
+  private static final Set<String> DRIVER_FIELDS = Set.of("$db", "lsid", "$clusterTime",
+      "$readPreference", "txnNumber", "autocommit", "startTransaction", "apiVersion", "apiStrict",
+      "apiDeprecationErrors");
+
+  private static final List<BsonDocument> COMMANDS = new CopyOnWriteArrayList<>();
+
+  @TestConfiguration
+  static class CommandRecorderConfig {
+
+    @Bean
+    MongoClientSettingsBuilderCustomizer commandRecorder() {
+      return builder -> builder.addCommandListener(new CommandListener() {
+        @Override
+        public void commandStarted(CommandStartedEvent event) {
+          BsonDocument command = event.getCommand();
+          if (command.isString(event.getCommandName())
+              && COLLECTION.equals(command.getString(event.getCommandName()).getValue())) {
+            COMMANDS.add(command.clone());
+          }
+        }
+      });
+    }
+  }
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @Autowired
+  private QuizSubmissionRepository quizSubmissionRepository;
+
+  @Autowired
+  private UserStatsService userStatsService;
+
+  private final List<QuizSubmission> inserted = new ArrayList<>();
+
+  @BeforeEach
+  void setUp() {
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+    for (int i = 0; i < 50; i++) {
+      QuizSubmission submission = new QuizSubmission();
+      submission.setUserId(i % 5 == 0 ? USER_ID : "other-user-" + (i % 5));
+      submission.setScore(i % 10);
+      submission.setTotalQuestions(10);
+      // Each user's submissions come in pairs sharing a timestamp, so the cursor tie-break on _id
+      // is exercised
+      submission.setSubmittedAt(start.plusMinutes(i / 10));
+      submission.setAnswers(List.of());
+      inserted.add(mongoTemplate.insert(submission));
+    }
+    COMMANDS.clear();
+  }
+
+  @AfterEach
+  void tearDown() {
+    inserted.forEach(mongoTemplate::remove);
+    inserted.clear();
+  }
+
+  @Test
+  @DisplayName("Should serve the first history page from the index alone")
+  void shouldCoverFirstHistoryPage() {
+    // Act
+    quizSubmissionRepository.findHistoryPage(USER_ID, null, null, 21);
+    Document explain = explain(lastCommand("find"));
+
+    // Assert
+    assertIndexed(explain);
+    assertCovered(explain);
+  }
+
+  @Test
+  @DisplayName("Should serve a history page after a cursor from the index alone")
+  void shouldCoverHistoryPageAfterCursor() {
+    // Arrange
+    QuizSubmission cursor = inserted.get(20);
+
+    // Act
+    List<QuizSubmission> page = quizSubmissionRepository.findHistoryPage(USER_ID,
+        cursor.getSubmittedAt(), cursor.getId(), 21);
+    Document explain = explain(lastCommand("find"));
+
+    // Assert
+    assertThat(page).extracting(QuizSubmission::getId)
+        .containsExactly(inserted.get(15).getId(), inserted.get(10).getId(),
+            inserted.get(5).getId(), inserted.get(0).getId());
+    assertIndexed(explain);
+    assertCovered(explain);
+  }
+
+  @Test
+  @DisplayName("Should count a user's submissions from the index alone")
+  void shouldCoverCountByUserId() {
+    // Act
+    quizSubmissionRepository.countByUserId(USER_ID);
+    Document explain = explain(lastCommand("aggregate", "count"));
+
+    // Assert
+    assertIndexed(explain);
+    assertCovered(explain);
+  }
+
+  @Test
+  @DisplayName("Should use the index for a user's full submission list and single submission")
+  void shouldUseIndexForUserLookups() {
+    // Act
+    quizSubmissionRepository.findAllByUserId(USER_ID);
+    Document all = explain(lastCommand("find"));
+    quizSubmissionRepository.findByIdAndUserId(inserted.get(0).getId(), USER_ID);
+    Document one = explain(lastCommand("find"));
+
+    // Assert
+    assertIndexed(all);
+    assertIndexed(one);
+  }
+
+  @Test
+  @DisplayName("Should use the index for distinct users")
+  void shouldUseIndexForDistinctUsers() {
+    // Act - the lookup rebuildAllUserStats starts with
+    mongoTemplate.findDistinct(new Query(), "userId", QuizSubmission.class, String.class);
+    Document explain = explain(lastCommand("distinct"));
+
+    // Assert
+    assertIndexed(explain);
+  }
+
+  @Test
+  @DisplayName("Should use the index for the stats aggregation, including its recent submissions")
+  void shouldUseIndexForStatsAggregation() {
+    // Arrange
+    Object engine = ReflectionTestUtils.getField(userStatsService, "engine");
+    ReflectionTestUtils.setField(userStatsService, "engine", UserStatsService.ENGINE_AGGREGATION);
+
+    // Act
+    try {
+      userStatsService.getUserStats(USER_ID);
+    } finally {
+      ReflectionTestUtils.setField(userStatsService, "engine", engine);
+    }
+    Document explain = explain(lastCommand("aggregate"));
+
+    // Assert
+    assertThat(explain.toJson()).contains("$facet");
+    assertIndexed(explain);
+  }
+
+  // Helper methods
+  private BsonDocument lastCommand(String... names) {
+    List<String> accepted = List.of(names);
+    for (int i = COMMANDS.size() - 1; i >= 0; i--) {
+      BsonDocument command = COMMANDS.get(i);
+      if (accepted.contains(command.getFirstKey())) {
+        return command;
+      }
+    }
+    throw new AssertionError("No " + accepted + " command on " + COLLECTION + " was sent");
+  }
+
+  private Document explain(BsonDocument command) {
+    BsonDocument explained = command.clone();
+    DRIVER_FIELDS.forEach(explained::remove);
+    return mongoTemplate.getDb().runCommand(new BsonDocument("explain", explained)
+        .append("verbosity", new BsonString("executionStats")));
+  }
+
+  private void assertIndexed(Document explain) {
+    List<String> stages = stages(explain);
+    assertThat(stages).containsAnyOf("IXSCAN", "DISTINCT_SCAN", "COUNT_SCAN", "IDHACK")
+        .doesNotContain("COLLSCAN", "SORT");
+  }
+
+  private void assertCovered(Document explain) {
+    assertThat(stages(explain)).doesNotContain("FETCH");
+    assertThat(docsExamined(explain)).isZero();
+  }
+
+  /**
+   * Stage names of the winning plan, walking nested input stages and the per-stage plans of
+   * aggregations (an aggregation {@code $sort} counts as SORT). Rejected plans are skipped.
+   */
+  private static List<String> stages(Object node) {
+    List<String> stages = new ArrayList<>();
+    collectStages(node, stages);
+    return stages;
+  }
+
+  private static void collectStages(Object node, List<String> stages) {
+    if (node instanceof Map<?, ?> map) {
+      for (Map.Entry<?, ?> entry : map.entrySet()) {
+        String key = String.valueOf(entry.getKey());
+        if (key.equals("rejectedPlans") || key.equals("allPlansExecution")) {
+          continue;
+        }
+        if (key.equals("stage") && entry.getValue() instanceof String stage) {
+          stages.add(stage);
+        } else if (key.equals("$sort")) {
+          // Aggregation stage (e.g. inside $facet) that was not pushed down to the index scan
+          stages.add("SORT");
+          collectStages(entry.getValue(), stages);
+        } else {
+          collectStages(entry.getValue(), stages);
+        }
+      }
+    } else if (node instanceof List<?> list) {
+      list.forEach(item -> collectStages(item, stages));
+    }
+  }
+
+  private static long docsExamined(Object node) {
+    if (node instanceof Map<?, ?> map) {
+      Object executionStats = map.get("executionStats");
+      if (executionStats instanceof Map<?, ?> stats
+          && stats.get("totalDocsExamined") instanceof Number n) {
+        return n.longValue();
+      }
+      long total = 0;
+      for (Object value : map.values()) {
+        total += docsExamined(value);
+      }
+      return total;
+    }
+    if (node instanceof List<?> list) {
+      return list.stream().mapToLong(QuizSubmissionIndexTest::docsExamined).sum();
+    }
+    return 0;
+  }
+}
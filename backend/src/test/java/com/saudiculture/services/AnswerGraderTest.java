@@ -0,0 +1,98 @@
+package com.saudiculture.services;
+
+import com.saudiculture.models.Question;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+@DisplayName("AnswerGrader Tests")
+class AnswerGraderTest {
+
+  private final AnswerGrader answerGrader = new AnswerGrader();
+
+  @Test
+  @DisplayName("Should accept exact or contained open ended answers ignoring case")
+  void shouldGradeOpenEndedAnswers() {
+    Question question = createQuestion("q1", "The Red Sea Coast", "open_ended", "English");
+
+    assertThat(answerGrader.isCorrect(question, "  the red sea coast ")).isTrue();
+    assertThat(answerGrader.isCorrect(question, "RED SEA")).isTrue();
+    assertThat(answerGrader.isCorrect(question, "Arabian Gulf")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should reject blank single choice answers")
+  void shouldGradeSingleChoiceAnswers() {
+    Question question = createQuestion("q2", "Option A", "single_choice", "English");
+
+    assertThat(answerGrader.isCorrect(question, "option a")).isTrue();
+    assertThat(answerGrader.isCorrect(question, "   ")).isFalse();
+    assertThat(answerGrader.isCorrect(question, null)).isFalse();
+    assertThat(answerGrader.isCorrect(question, "Option B")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should compare multiple choice options in any order")
+  void shouldGradeMultipleChoiceAnswers() {
+    Question question = createQuestion("q3", "Option A, Option B", "multiple_choice", "English");
+
+    assertThat(answerGrader.isCorrect(question, "option b,OPTION A")).isTrue();
+    assertThat(answerGrader.isCorrect(question, "Option A,Option B,")).isTrue();
+    assertThat(answerGrader.isCorrect(question, "Option A")).isFalse();
+    assertThat(answerGrader.isCorrect(question, "Option A,Option C")).isFalse();
+    assertThat(answerGrader.isCorrect(question, "Option A,,Option B")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should treat Arabic and English false variants as false")
+  void shouldGradeTrueFalseAnswers() {
+    Question falseQuestion = createQuestion("q4", "خطأ", "true_false", "Arabic");
+    Question trueQuestion = createQuestion("q5", "True", "true_false", "English");
+
+    assertThat(answerGrader.isCorrect(falseQuestion, "خاطئ")).isTrue();
+    assertThat(answerGrader.isCorrect(falseQuestion, "False")).isTrue();
+    assertThat(answerGrader.isCorrect(falseQuestion, "صح")).isFalse();
+    assertThat(answerGrader.isCorrect(trueQuestion, "true")).isTrue();
+    assertThat(answerGrader.isCorrect(trueQuestion, "FALSE")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should match false variants regardless of hamza and diacritics")
+  void shouldNormalizeFalseVariants() {
+    Question falseQuestion = createQuestion("q8", "خَطَأ", "true_false", "Arabic");
+
+    assertThat(answerGrader.isCorrect(falseQuestion, "خطا")).isTrue();
+    assertThat(answerGrader.isCorrect(falseQuestion, "خاطئة")).isTrue();
+    assertThat(answerGrader.isCorrect(falseQuestion, "صحيح")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should grade unknown question types as incorrect instead of failing")
+  void shouldGradeUnknownTypeAsIncorrect() {
+    Question question = createQuestion("q6", "Anything", "matching", "English");
+
+    assertThat(answerGrader.isCorrect(question, "Anything")).isFalse();
+  }
+
+  @Test
+  @DisplayName("Should recompile a cached answer when the question changes")
+  void shouldRecompileChangedQuestion() {
+    Question question = createQuestion("q7", "Option A", "single_choice", "English");
+    assertThat(answerGrader.isCorrect(question, "Option A")).isTrue();
+
+    question.setAnswer("Option B");
+
+    assertThat(answerGrader.isCorrect(question, "Option A")).isFalse();
+    assertThat(answerGrader.isCorrect(question, "Option B")).isTrue();
+  }
+
+  private Question createQuestion(String id, String answer, String type, String language) {
+    Question question = new Question();
+    question.setId(id);
+    question.setAnswer(answer);
+    question.setType(type);
+    question.setContentLanguage(language);
+    return question;
+  }
+}
@@ -0,0 +1,119 @@
+package com.saudiculture.services;
+
+import com.mongodb.client.gridfs.model.GridFSFile;
+import com.saudiculture.services.QuestionImageService.StoredImage;
+import org.bson.BsonObjectId;
+import org.bson.Document;
+import org.bson.types.ObjectId;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.gridfs.GridFsOperations;
+import org.springframework.data.mongodb.gridfs.GridFsResource;
+
+import java.io.ByteArrayInputStream;
+import java.io.InputStream;
+import java.nio.charset.StandardCharsets;
+import java.util.Date;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QuestionImageService Tests")
+class QuestionImageServiceTest {
+
+  private static final byte[] PNG = "\u0089PNG image bytes".getBytes(StandardCharsets.ISO_8859_1);
+
+  @Mock
+  private GridFsOperations gridFsOperations;
+
+  @InjectMocks
+  private QuestionImageService questionImageService;
+
+  @Test
+  @DisplayName("Should store a new image with its checksum")
+  void shouldStoreNewImageWithChecksum() {
+    // Arrange
+    ObjectId id = new ObjectId();
+    when(gridFsOperations.findOne(any(Query.class))).thenReturn(null);
+    when(gridFsOperations.store(any(InputStream.class), eq("question-1"), eq("image/png"), any(Object.class)))
+        .thenReturn(id);
+
+    // Act
+    String imageId = questionImageService.store(PNG, "image/png", "question-1");
+
+    // Assert
+    ArgumentCaptor<Object> metadata = ArgumentCaptor.forClass(Object.class);
+    verify(gridFsOperations).store(any(InputStream.class), eq("question-1"), eq("image/png"),
+        metadata.capture());
+    assertThat(imageId).isEqualTo(id.toHexString());
+    assertThat(((Document) metadata.getValue()).getString("sha256"))
+        .isEqualTo(QuestionImageService.sha256(PNG));
+  }
+
+  @Test
+  @DisplayName("Should reuse an identical stored image instead of writing a copy")
+  void shouldReuseIdenticalImage() {
+    // Arrange
+    GridFSFile existing = createFile(new ObjectId(), "image/png");
+    when(gridFsOperations.findOne(any(Query.class))).thenReturn(existing);
+
+    // Act
+    String imageId = questionImageService.store(PNG, "image/png", "question-2");
+
+    // Assert
+    assertThat(imageId).isEqualTo(existing.getObjectId().toHexString());
+    verify(gridFsOperations, never()).store(any(InputStream.class), any(String.class),
+        any(String.class), any(Object.class));
+  }
+
+  @Test
+  @DisplayName("Should find an image with a resource that can be read repeatedly")
+  void shouldFindImageWithRereadableResource() throws Exception {
+    // Arrange
+    ObjectId id = new ObjectId();
+    GridFSFile file = createFile(id, "image/png");
+    when(gridFsOperations.findOne(any(Query.class))).thenReturn(file);
+    when(gridFsOperations.getResource(file)).thenAnswer(invocation ->
+        new GridFsResource(file, new ByteArrayInputStream(PNG)));
+
+    // Act
+    Optional<StoredImage> image = questionImageService.find(id.toHexString());
+
+    // Assert
+    assertThat(image).isPresent();
+    assertThat(image.get().contentType()).isEqualTo("image/png");
+    assertThat(image.get().length()).isEqualTo(PNG.length);
+    assertThat(image.get().checksum()).isEqualTo(QuestionImageService.sha256(PNG));
+    assertThat(image.get().content().getInputStream().readAllBytes()).isEqualTo(PNG);
+    assertThat(image.get().content().getInputStream().readAllBytes()).isEqualTo(PNG);
+  }
+
+  @Test
+  @DisplayName("Should not query GridFS for a malformed image id")
+  void shouldReturnEmptyForMalformedId() {
+    // Act
+    Optional<StoredImage> image = questionImageService.find("not-an-object-id");
+
+    // Assert
+    assertThat(image).isEmpty();
+    verifyNoInteractions(gridFsOperations);
+  }
+
+  // Helper methods
+  private GridFSFile createFile(ObjectId id, String contentType) {
+    Document metadata = new Document("_contentType", contentType)
+        .append("sha256", QuestionImageService.sha256(PNG));
+    return new GridFSFile(new BsonObjectId(id), "question-image", PNG.length, 261120, new Date(),
+        metadata);
+  }
+}
@@ -1,12 +1,17 @@
 package com.saudiculture.services;
 
+import com.saudiculture.catalog.QuestionCatalog;
 import com.saudiculture.dto.InfoQuestionDTO;
+import com.saudiculture.dto.QuizQuestionDTO;
 import com.saudiculture.models.Question;
 import com.saudiculture.repositories.QuestionRepository;
+import com.saudiculture.repositories.QuestionSearchRepository.SearchMode;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
@@ -15,11 +20,17 @@ import org.springframework.data.domain.PageImpl;
 import org.springframework.data.domain.PageRequest;
 import org.springframework.data.domain.Pageable;
 import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.util.List;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyInt;
+import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
 import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
@@ -33,6 +44,9 @@ class QuestionServiceTest {
   @Mock
   private MongoTemplate mongoTemplate;
 
+  @Mock
+  private QuestionCatalog questionCatalog;
+
   @InjectMocks
   private QuestionService questionService;
 
@@ -46,48 +60,95 @@ class QuestionServiceTest {
   @Test
   @DisplayName("Should return paginated info questions when only language provided")
   void shouldReturnPaginatedInfoQuestionsWithLanguageFilter() {
-    Page<Question> samplePage = new PageImpl<>(List.of(sampleQuestion), PageRequest.of(0, 20), 1);
-    when(questionRepository.findByContentLanguage(eq("Arabic"), any(Pageable.class))).thenReturn(samplePage);
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(sampleQuestion));
+    when(mongoTemplate.count(any(Query.class), eq(Question.class))).thenReturn(1L);
 
     Page<InfoQuestionDTO> response = questionService.getInfo("Arabic", null, null, null, 0, 20);
 
     assertThat(response.getTotalElements()).isEqualTo(1);
     assertThat(response.getContent()).hasSize(1);
-    verify(questionRepository, times(1)).findByContentLanguage(eq("Arabic"), any(Pageable.class));
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(query.capture(), eq(Question.class));
+    assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("content_language", "Arabic")
+        .append("deleted", new Document("$ne", true)));
+    assertThat(query.getValue().getLimit()).isEqualTo(20);
+    assertThat(query.getValue().getFieldsObject()).containsKeys("question_text", "answer")
+        .doesNotContainKeys("term", "term_meaning");
   }
 
   @Test
   @DisplayName("Should filter by language and category when both provided")
   void shouldFilterByLanguageAndCategory() {
-    Page<Question> samplePage = new PageImpl<>(List.of(sampleQuestion), PageRequest.of(0, 20), 1);
-    when(questionRepository.findByContentLanguageAndCategory(eq("English"), eq("culture"), any(Pageable.class)))
-        .thenReturn(samplePage);
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(sampleQuestion));
+    when(mongoTemplate.count(any(Query.class), eq(Question.class))).thenReturn(1L);
 
     Page<InfoQuestionDTO> response = questionService.getInfo("English", "culture", null, null, 0, 20);
 
     assertThat(response.getTotalElements()).isEqualTo(1);
-    verify(questionRepository, times(1)).findByContentLanguageAndCategory(eq("English"), eq("culture"), any(Pageable.class));
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).count(query.capture(), eq(Question.class));
+    assertThat(query.getValue().getQueryObject())
+        .isEqualTo(new Document("content_language", "English").append("deleted", new Document("$ne", true))
+            .append("category", "culture"));
   }
 
   @Test
   @DisplayName("Should filter by language, category and region when all provided")
   void shouldFilterByLanguageCategoryAndRegion() {
-    Page<Question> samplePage = new PageImpl<>(List.of(sampleQuestion), PageRequest.of(0, 20), 1);
-    when(questionRepository.findByContentLanguageAndCategoryAndRegion(
-        eq("English"), eq("culture"), eq("general"), any(Pageable.class))).thenReturn(samplePage);
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(sampleQuestion));
+    when(mongoTemplate.count(any(Query.class), eq(Question.class))).thenReturn(1L);
 
     Page<InfoQuestionDTO> response = questionService.getInfo("English", "culture", "general", null, 0, 20);
 
     assertThat(response.getTotalElements()).isEqualTo(1);
-    verify(questionRepository, times(1)).findByContentLanguageAndCategoryAndRegion(
-        eq("English"), eq("culture"), eq("general"), any(Pageable.class));
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).find(query.capture(), eq(Question.class));
+    assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("content_language", "English")
+        .append("deleted", new Document("$ne", true))
+        .append("category", "culture").append("region", "general"));
+  }
+
+  @Test
+  @DisplayName("Should count each filter once until the question bank changes")
+  void shouldCacheInfoCountsPerFilter() {
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(sampleQuestion));
+    when(mongoTemplate.count(any(Query.class), eq(Question.class))).thenReturn(45L);
+
+    questionService.getInfo("English", "culture", null, null, 0, 20);
+    Page<InfoQuestionDTO> secondPage = questionService.getInfo("English", "culture", null, null, 1, 20);
+    questionService.getInfo("English", "food", null, null, 0, 20);
+    questionService.onQuestionsChanged();
+    questionService.getInfo("English", "culture", null, null, 2, 20);
+
+    assertThat(secondPage.getTotalElements()).isEqualTo(45);
+    verify(mongoTemplate, times(4)).find(any(Query.class), eq(Question.class));
+    verify(mongoTemplate, times(3)).count(any(Query.class), eq(Question.class));
+  }
+
+  @Test
+  @DisplayName("Should not cache a count read before the question bank changed")
+  void shouldNotCacheCountReadBeforeQuestionsChanged() {
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(sampleQuestion));
+    when(mongoTemplate.count(any(Query.class), eq(Question.class)))
+        .thenAnswer(invocation -> {
+          // The questions change while the first count is in flight
+          questionService.onQuestionsChanged();
+          return 45L;
+        })
+        .thenReturn(50L);
+
+    questionService.getInfo("English", "culture", null, null, 0, 20);
+    Page<InfoQuestionDTO> afterChange = questionService.getInfo("English", "culture", null, null, 0, 20);
+
+    assertThat(afterChange.getTotalElements()).isEqualTo(50);
+    verify(mongoTemplate, times(2)).count(any(Query.class), eq(Question.class));
   }
 
   @Test
   @DisplayName("Should convert Question to InfoQuestionDTO correctly")
   void shouldConvertQuestionToInfoQuestionDTO() {
-    Page<Question> samplePage = new PageImpl<>(List.of(sampleQuestion), PageRequest.of(0, 20), 1);
-    when(questionRepository.findByContentLanguage(eq("English"), any(Pageable.class))).thenReturn(samplePage);
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(List.of(sampleQuestion));
+    when(mongoTemplate.count(any(Query.class), eq(Question.class))).thenReturn(1L);
 
     Page<InfoQuestionDTO> response = questionService.getInfo("English", null, null, null, 0, 20);
 
@@ -99,6 +160,107 @@ class QuestionServiceTest {
     assertThat(dto.getLanguage()).isEqualTo("English");
   }
 
+  @Test
+  @DisplayName("Should serve filter pages from the catalog when it is loaded")
+  void shouldServeFilterPagesFromCatalog() {
+    InfoQuestionDTO dto = new InfoQuestionDTO();
+    dto.setQuestionText("What is the traditional dance in Saudi Arabia?");
+    Page<InfoQuestionDTO> catalogPage = new PageImpl<>(List.of(dto), PageRequest.of(0, 20), 1);
+    when(questionCatalog.isReady()).thenReturn(true);
+    when(questionCatalog.findInfo(eq("English"), eq("culture"), eq(null), any(Pageable.class)))
+        .thenReturn(catalogPage);
+
+    Page<InfoQuestionDTO> response = questionService.getInfo("English", "culture", null, null, 0, 20);
+
+    assertThat(response).isSameAs(catalogPage);
+    verifyNoInteractions(questionRepository);
+  }
+
+  @Test
+  @DisplayName("Should run a single search query with all filters")
+  void shouldRunSingleSearchQueryWithFilters() {
+    Page<Question> samplePage = new PageImpl<>(List.of(sampleQuestion), PageRequest.of(0, 20), 1);
+    when(questionRepository.searchQuestions(eq("dance"), eq("English"), eq("culture"), eq(null),
+        eq(SearchMode.REGEX), any(Pageable.class))).thenReturn(samplePage);
+
+    Page<InfoQuestionDTO> response = questionService.getInfo("English", "culture", null, "  dance ", 0, 20);
+
+    assertThat(response.getTotalElements()).isEqualTo(1);
+    assertThat(response.getContent().getFirst().getAnswer()).isEqualTo("Al-Ardah");
+  }
+
+  @Test
+  @DisplayName("Should use $text search when text mode is configured")
+  void shouldUseTextSearchWhenConfigured() {
+    ReflectionTestUtils.setField(questionService, "searchMode", "text");
+    Page<Question> samplePage = new PageImpl<>(List.of(sampleQuestion), PageRequest.of(0, 20), 1);
+    when(questionRepository.searchQuestions(eq("dance"), eq("English"), eq(null), eq(null),
+        eq(SearchMode.TEXT), any(Pageable.class))).thenReturn(samplePage);
+
+    Page<InfoQuestionDTO> response = questionService.getInfo("English", null, null, "dance", 0, 20);
+
+    assertThat(response.getTotalElements()).isEqualTo(1);
+  }
+
+  @Test
+  @DisplayName("Should draw random quizzes from the catalog without querying MongoDB")
+  void shouldDrawQuizFromCatalog() {
+    QuizQuestionDTO dto = new QuizQuestionDTO();
+    dto.setId("123");
+    when(questionCatalog.isReady()).thenReturn(true);
+    when(questionCatalog.drawQuiz("culture", "English", null, "all", 10)).thenReturn(List.of(dto));
+
+    List<QuizQuestionDTO> quiz = questionService.getQuizzes("culture", "English", null, "all", 10);
+
+    assertThat(quiz).containsExactly(dto);
+    verifyNoInteractions(mongoTemplate);
+  }
+
+  @Test
+  @DisplayName("Should memoize seeded quizzes drawn from the catalog")
+  void shouldMemoizeSeededQuizFromCatalog() {
+    QuizQuestionDTO dto = new QuizQuestionDTO();
+    dto.setId("123");
+    when(questionCatalog.isReady()).thenReturn(true);
+    when(questionCatalog.drawSeededQuiz("culture", "English", null, "all", 10, 42L)).thenReturn(List.of(dto));
+
+    List<QuizQuestionDTO> first = questionService.getQuizzes("culture", "English", null, "all", 10, 42L);
+    List<QuizQuestionDTO> second = questionService.getQuizzes("culture", "English", null, "all", 10, 42L);
+
+    assertThat(first).containsExactly(dto);
+    assertThat(second).isEqualTo(first);
+    verify(questionCatalog, times(1)).drawSeededQuiz("culture", "English", null, "all", 10, 42L);
+    verify(questionCatalog, never()).drawQuiz(any(), any(), any(), any(), anyInt());
+  }
+
+  @Test
+  @DisplayName("Should draw the same seeded quiz from MongoDB when the catalog is disabled")
+  void shouldDrawReproducibleSeededQuizFromDatabase() {
+    List<Question> questions = List.of(question("a"), question("b"), question("c"), question("d"));
+    when(mongoTemplate.find(any(Query.class), eq(Question.class))).thenReturn(questions);
+    when(questionRepository.findForQuizByIdIn(anyList())).thenAnswer(invocation -> {
+      List<String> ids = invocation.getArgument(0);
+      // Database order is not the requested order
+      return questions.stream().filter(q -> ids.contains(q.getId())).toList();
+    });
+
+    List<QuizQuestionDTO> first = questionService.getQuizzes(null, "English", null, null, 3, 7L);
+    questionService.onQuestionsChanged();
+    List<QuizQuestionDTO> second = questionService.getQuizzes(null, "English", null, null, 3, 7L);
+
+    assertThat(first).hasSize(3);
+    assertThat(first).extracting(QuizQuestionDTO::getId).doesNotHaveDuplicates()
+        .containsExactlyElementsOf(second.stream().map(QuizQuestionDTO::getId).toList());
+    verify(mongoTemplate, times(2)).find(any(Query.class), eq(Question.class));
+    verify(mongoTemplate, never()).aggregate(any(Aggregation.class), anyString(), eq(Question.class));
+  }
+
+  private Question question(String id) {
+    Question question = createSampleQuestion();
+    question.setId(id);
+    return question;
+  }
+
   // Helper method to create a sample question
   private Question createSampleQuestion() {
     Question question = new Question();
@@ -0,0 +1,234 @@
+package com.saudiculture.services;
+
+import com.fasterxml.jackson.databind.JsonNode;
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.mongodb.bulk.BulkWriteError;
+import com.saudiculture.models.Question;
+import com.saudiculture.models.QuizSubmission;
+import com.saudiculture.models.User;
+import com.saudiculture.repositories.QuestionRepository;
+import com.saudiculture.repositories.QuizSubmissionRepository;
+import com.saudiculture.repositories.UserRepository;
+import org.bson.BsonDocument;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.data.mongodb.BulkOperationException;
+import org.springframework.data.mongodb.core.BulkOperations;
+import org.springframework.data.mongodb.core.BulkOperations.BulkMode;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.ByteArrayInputStream;
+import java.io.ByteArrayOutputStream;
+import java.io.IOException;
+import java.nio.charset.StandardCharsets;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyIterable;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QuizSubmissionImportService Tests")
+class QuizSubmissionImportServiceTest {
+
+  @Mock
+  private QuizSubmissionRepository quizSubmissionRepository;
+
+  @Mock
+  private QuestionRepository questionRepository;
+
+  @Mock
+  private UserRepository userRepository;
+
+  @Mock
+  private UserStatsService userStatsService;
+
+  @Mock
+  private QuizSubmissionWriter quizSubmissionWriter;
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @Mock
+  private BulkOperations bulkOperations;
+
+  private final ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  private QuizSubmissionImportService importService;
+
+  @BeforeEach
+  void setUp() {
+    QuizSubmissionService quizSubmissionService = new QuizSubmissionService(quizSubmissionRepository,
+        questionRepository, userStatsService, new AnswerGrader(), quizSubmissionWriter);
+    importService = new QuizSubmissionImportService(quizSubmissionService, questionRepository,
+        userRepository, userStatsService, mongoTemplate, objectMapper);
+
+    lenient().when(questionRepository.findForGradingByIdIn(anyCollection())).thenReturn(List.of(createQuestion()));
+    lenient().when(userRepository.findAllById(anyIterable())).thenReturn(List.of(createUser()));
+    lenient().when(mongoTemplate.bulkOps(BulkMode.UNORDERED, QuizSubmission.class)).thenReturn(bulkOperations);
+  }
+
+  @Test
+  @DisplayName("Should stream one result per line and only fail the bad lines")
+  void shouldReportPerLineResults() throws IOException {
+    // Arrange
+    String ndjson = String.join("\n",
+        "{\"userId\":\"user-1\",\"submittedAt\":\"2025-01-15T10:00:00\",\"answers\":[{\"questionId\":\"q1\",\"userAnswer\":\"Option A\"}]}",
+        "not json",
+        "",
+        "{\"userId\":\"user-1\",\"answers\":[{\"questionId\":\"missing\",\"userAnswer\":\"x\"}]}",
+        "{\"userId\":\"user-2\",\"answers\":[{\"questionId\":\"q1\",\"userAnswer\":\"Option B\"}]}",
+        "{\"userId\":\"user-1\",\"answers\":[]}");
+
+    // Act
+    List<JsonNode> results = runImport(ndjson);
+
+    // Assert
+    assertThat(results).extracting(result -> result.get("line").asInt()).containsExactly(1, 2, 4, 5, 6);
+    assertThat(results).extracting(result -> result.get("status").asText())
+        .containsExactly("CREATED", "FAILED", "FAILED", "FAILED", "FAILED");
+    assertThat(results.get(0).get("score").asInt()).isEqualTo(1);
+    assertThat(results.get(0).get("submissionId").asText()).hasSize(24);
+    assertThat(results.get(2).get("error").asText()).isEqualTo("Question not found: missing");
+    assertThat(results.get(3).get("error").asText()).isEqualTo("User not found: user-2");
+    verify(bulkOperations, times(1)).insert(any(Object.class));
+    verify(bulkOperations, times(1)).execute();
+    verify(userStatsService, times(1)).recordSubmission(any(QuizSubmission.class));
+  }
+
+  @Test
+  @DisplayName("Should look up questions and users once per chunk")
+  void shouldBatchLookupsPerChunk() throws IOException {
+    // Arrange
+    ReflectionTestUtils.setField(importService, "chunkSize", 2);
+    String line = "{\"userId\":\"user-1\",\"answers\":[{\"questionId\":\"q1\",\"userAnswer\":\"Option A\"}]}";
+
+    // Act
+    List<JsonNode> results = runImport(String.join("\n", line, line, line));
+
+    // Assert
+    assertThat(results).extracting(result -> result.get("status").asText()).containsOnly("CREATED");
+    verify(questionRepository, times(2)).findForGradingByIdIn(anyCollection());
+    verify(userRepository, times(2)).findAllById(anyIterable());
+    verify(bulkOperations, times(2)).execute();
+  }
+
+  @Test
+  @DisplayName("Should report documents rejected by the bulk insert as failed lines")
+  void shouldReportBulkWriteErrors() throws IOException {
+    // Arrange
+    BulkOperationException bulkError = mock(BulkOperationException.class);
+    when(bulkError.getErrors()).thenReturn(List.of(
+        new BulkWriteError(11000, "E11000 duplicate key error", new BsonDocument(), 1)));
+    when(bulkOperations.execute()).thenThrow(bulkError);
+    String line = "{\"userId\":\"user-1\",\"answers\":[{\"questionId\":\"q1\",\"userAnswer\":\"Option A\"}]}";
+
+    // Act
+    List<JsonNode> results = runImport(String.join("\n", line, line));
+
+    // Assert
+    assertThat(results).extracting(result -> result.get("status").asText())
+        .containsExactly("CREATED", "FAILED");
+    assertThat(results.get(1).get("error").asText()).contains("duplicate key");
+    verify(userStatsService, times(1)).recordSubmission(any(QuizSubmission.class));
+  }
+
+  @Test
+  @DisplayName("Should fail lines with an answer missing its questionId")
+  void shouldFailLinesWithoutQuestionId() throws IOException {
+    // Arrange
+    String ndjson = String.join("\n",
+        "{\"userId\":\"user-1\",\"answers\":[{\"userAnswer\":\"Option A\"}]}",
+        "{\"userId\":\"user-1\",\"answers\":[null]}");
+
+    // Act
+    List<JsonNode> results = runImport(ndjson);
+
+    // Assert
+    assertThat(results).extracting(result -> result.get("error").asText())
+        .containsOnly("questionId is required for every answer");
+    verifyNoInteractions(bulkOperations);
+  }
+
+  @Test
+  @DisplayName("Should fail lines that are not JSON objects and keep importing")
+  void shouldFailNonObjectLines() throws IOException {
+    // Arrange
+    String ndjson = String.join("\n",
+        "null",
+        "42",
+        "[]",
+        "{\"userId\":\"user-1\",\"answers\":[{\"questionId\":\"q1\",\"userAnswer\":\"Option A\"}]}");
+
+    // Act
+    List<JsonNode> results = runImport(ndjson);
+
+    // Assert
+    assertThat(results).extracting(result -> result.get("status").asText())
+        .containsExactly("FAILED", "FAILED", "FAILED", "CREATED");
+    assertThat(results.subList(0, 3)).extracting(result -> result.get("error").asText())
+        .containsOnly("Each line must be a JSON object");
+  }
+
+  @Test
+  @DisplayName("Should report which lines were stored when the bulk insert fails as a whole")
+  void shouldReportStoredLinesAfterWriteFailure() throws IOException {
+    // Arrange
+    List<QuizSubmission> queued = new ArrayList<>();
+    when(bulkOperations.insert(any(Object.class))).thenAnswer(invocation -> {
+      queued.add(invocation.getArgument(0));
+      return bulkOperations;
+    });
+    when(bulkOperations.execute()).thenThrow(new DataAccessResourceFailureException("connection reset"));
+    when(mongoTemplate.find(any(Query.class), eq(QuizSubmission.class)))
+        .thenAnswer(invocation -> List.of(queued.get(0)));
+    String line = "{\"userId\":\"user-1\",\"answers\":[{\"questionId\":\"q1\",\"userAnswer\":\"Option A\"}]}";
+
+    // Act
+    List<JsonNode> results = runImport(String.join("\n", line, line));
+
+    // Assert
+    assertThat(results).extracting(result -> result.get("status").asText())
+        .containsExactly("CREATED", "FAILED");
+    assertThat(results.get(0).get("submissionId").asText()).isEqualTo(queued.get(0).getId());
+    assertThat(results.get(1).get("error").asText()).contains("connection reset");
+    verify(userStatsService, times(1)).recordSubmission(queued.get(0));
+  }
+
+  private List<JsonNode> runImport(String ndjson) throws IOException {
+    ByteArrayOutputStream out = new ByteArrayOutputStream();
+    importService.importSubmissions(
+        new ByteArrayInputStream(ndjson.getBytes(StandardCharsets.UTF_8)), out);
+
+    List<JsonNode> results = new ArrayList<>();
+    for (String line : out.toString(StandardCharsets.UTF_8).split("\n")) {
+      results.add(objectMapper.readTree(line));
+    }
+    return results;
+  }
+
+  private Question createQuestion() {
+    Question question = new Question();
+    question.setId("q1");
+    question.setAnswer("Option A");
+    question.setType("single_choice");
+    question.setContentLanguage("English");
+    return question;
+  }
+
+  private User createUser() {
+    User user = new User();
+    user.setId("user-1");
+    return user;
+  }
+}
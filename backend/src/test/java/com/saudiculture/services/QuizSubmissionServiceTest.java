@@ -1,7 +1,10 @@
 package com.saudiculture.services;
 
+import com.saudiculture.dto.QuizSubmissionPage;
 import com.saudiculture.dto.QuizSubmissionRequest;
 import com.saudiculture.dto.QuizSubmissionResponse;
+import com.saudiculture.dto.QuizSubmissionSummary;
+import com.saudiculture.exception.ResourceNotFoundException;
 import com.saudiculture.models.Question;
 import com.saudiculture.models.QuizSubmission;
 import com.saudiculture.repositories.QuestionRepository;
@@ -12,9 +15,12 @@ import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
+import org.mockito.Spy;
 import org.mockito.junit.jupiter.MockitoExtension;
 
+import java.time.LocalDateTime;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
 import static org.assertj.core.api.Assertions.assertThatThrownBy;
@@ -32,6 +38,15 @@ class QuizSubmissionServiceTest {
   @Mock
   private QuestionRepository questionRepository;
 
+  @Mock
+  private UserStatsService userStatsService;
+
+  @Spy
+  private AnswerGrader answerGrader = new AnswerGrader();
+
+  @Mock
+  private QuizSubmissionWriter quizSubmissionWriter;
+
   @InjectMocks
   private QuizSubmissionService quizSubmissionService;
 
@@ -53,7 +68,7 @@ class QuizSubmissionServiceTest {
         new QuizSubmissionRequest.AnswerInput("q4", "صح")                // Correct
     ));
 
-    when(questionRepository.findAllById(anyList())).thenReturn(sampleQuestions);
+    when(questionRepository.findForGradingByIdIn(anyList())).thenReturn(sampleQuestions);
     when(quizSubmissionRepository.save(any(QuizSubmission.class))).thenAnswer(invocation -> {
       QuizSubmission submission = invocation.getArgument(0);
       submission.setId("submission-123");
@@ -69,6 +84,54 @@ class QuizSubmissionServiceTest {
     assertThat(response.totalQuestions()).isEqualTo(4);
     assertThat(response.percentage()).isEqualTo(100.0);
     verify(quizSubmissionRepository, times(1)).save(any(QuizSubmission.class));
+    verify(userStatsService, times(1)).recordSubmission(any(QuizSubmission.class));
+  }
+
+  @Test
+  @DisplayName("Should return the stored submission when recording the stats fails")
+  void shouldReturnStoredSubmissionWhenStatsFail() {
+    // Arrange
+    QuizSubmissionRequest request = new QuizSubmissionRequest(List.of(
+        new QuizSubmissionRequest.AnswerInput("q2", "Option A")
+    ));
+    when(questionRepository.findForGradingByIdIn(anyList())).thenReturn(sampleQuestions);
+    when(quizSubmissionRepository.save(any(QuizSubmission.class))).thenAnswer(invocation -> {
+      QuizSubmission submission = invocation.getArgument(0);
+      submission.setId("submission-789");
+      return submission;
+    });
+    doThrow(new RuntimeException("stats unavailable"))
+        .when(userStatsService).recordSubmission(any(QuizSubmission.class));
+
+    // Act
+    QuizSubmissionResponse response = quizSubmissionService.submitQuiz(request, "user-123");
+
+    // Assert
+    assertThat(response.id()).isEqualTo("submission-789");
+    assertThat(response.score()).isEqualTo(1);
+    verify(quizSubmissionRepository, times(1)).save(any(QuizSubmission.class));
+  }
+
+  @Test
+  @DisplayName("Should hand the graded submission to the write-behind writer when enabled")
+  void shouldQueueSubmissionWhenWriteBehindEnabled() {
+    // Arrange
+    QuizSubmissionRequest request = new QuizSubmissionRequest(List.of(
+        new QuizSubmissionRequest.AnswerInput("q2", "Option A")
+    ));
+    when(questionRepository.findForGradingByIdIn(anyList())).thenReturn(sampleQuestions);
+    when(quizSubmissionWriter.isEnabled()).thenReturn(true);
+
+    // Act
+    QuizSubmissionResponse response = quizSubmissionService.submitQuiz(request, "user-123");
+
+    // Assert
+    assertThat(response.id()).hasSize(24);
+    assertThat(response.submittedAt()).isNotNull();
+    assertThat(response.score()).isEqualTo(1);
+    verify(quizSubmissionWriter, times(1)).submit(any(QuizSubmission.class));
+    verify(quizSubmissionRepository, never()).save(any(QuizSubmission.class));
+    verify(userStatsService, never()).recordSubmission(any(QuizSubmission.class));
   }
 
   @Test
@@ -82,7 +145,7 @@ class QuizSubmissionServiceTest {
         new QuizSubmissionRequest.AnswerInput("q4", "صح")                // Correct
     ));
 
-    when(questionRepository.findAllById(anyList())).thenReturn(sampleQuestions);
+    when(questionRepository.findForGradingByIdIn(anyList())).thenReturn(sampleQuestions);
     when(quizSubmissionRepository.save(any(QuizSubmission.class))).thenAnswer(invocation -> {
       QuizSubmission submission = invocation.getArgument(0);
       submission.setId("submission-456");
@@ -107,7 +170,7 @@ class QuizSubmissionServiceTest {
         new QuizSubmissionRequest.AnswerInput("non-existent-id", "answer")
     ));
 
-    when(questionRepository.findAllById(anyList())).thenReturn(List.of()); // No questions found
+    when(questionRepository.findForGradingByIdIn(anyList())).thenReturn(List.of()); // No questions found
 
     // Act & Assert
     assertThatThrownBy(() -> quizSubmissionService.submitQuiz(request, "user-123"))
@@ -124,7 +187,7 @@ class QuizSubmissionServiceTest {
     ));
 
     List<Question> questions = List.of(sampleQuestions.get(2)); // Multiple choice question
-    when(questionRepository.findAllById(anyList())).thenReturn(questions);
+    when(questionRepository.findForGradingByIdIn(anyList())).thenReturn(questions);
     when(quizSubmissionRepository.save(any(QuizSubmission.class))).thenAnswer(invocation -> {
       QuizSubmission submission = invocation.getArgument(0);
       submission.setId("submission-789");
@@ -153,7 +216,7 @@ class QuizSubmissionServiceTest {
     List<Question> trueQuestion = List.of(sampleQuestions.get(3)); // True/False with "صح" answer
     List<Question> falseQuestion = List.of(createFalseQuestion()); // True/False with "خطأ" answer
 
-    when(questionRepository.findAllById(anyList()))
+    when(questionRepository.findForGradingByIdIn(anyList()))
         .thenReturn(trueQuestion)
         .thenReturn(falseQuestion);
     when(quizSubmissionRepository.save(any(QuizSubmission.class))).thenAnswer(invocation -> {
@@ -171,6 +234,59 @@ class QuizSubmissionServiceTest {
     assertThat(response2.score()).isEqualTo(1);
   }
 
+  @Test
+  @DisplayName("Should page submission history with a cursor for the next page")
+  void shouldPageSubmissionHistory() {
+    // Arrange
+    LocalDateTime now = LocalDateTime.of(2025, 1, 15, 10, 0);
+    when(quizSubmissionRepository.findHistoryPage("user-123", null, null, 3)).thenReturn(List.of(
+        createSubmission("s3", now), createSubmission("s2", now.minusMinutes(1)),
+        createSubmission("s1", now.minusMinutes(2))));
+    when(quizSubmissionRepository.findHistoryPage("user-123", now.minusMinutes(1), "s2", 3))
+        .thenReturn(List.of(createSubmission("s1", now.minusMinutes(2))));
+
+    // Act
+    QuizSubmissionPage first = quizSubmissionService.getQuizSubmissions("user-123", null, 2);
+    QuizSubmissionPage second = quizSubmissionService.getQuizSubmissions("user-123", first.nextCursor(), 2);
+
+    // Assert
+    assertThat(first.items()).extracting(QuizSubmissionSummary::id).containsExactly("s3", "s2");
+    assertThat(first.items().get(0).percentage()).isEqualTo(50.0);
+    assertThat(first.nextCursor()).isNotBlank();
+    assertThat(second.items()).extracting(QuizSubmissionSummary::id).containsExactly("s1");
+    assertThat(second.nextCursor()).isNull();
+  }
+
+  @Test
+  @DisplayName("Should reject a malformed history cursor")
+  void shouldRejectMalformedCursor() {
+    // Act & Assert
+    assertThatThrownBy(() -> quizSubmissionService.getQuizSubmissions("user-123", "not-a-cursor", 20))
+        .isInstanceOf(IllegalArgumentException.class)
+        .hasMessageContaining("Invalid cursor");
+  }
+
+  @Test
+  @DisplayName("Should not return another user's submission")
+  void shouldNotReturnOtherUsersSubmission() {
+    // Arrange
+    when(quizSubmissionRepository.findByIdAndUserId("s1", "user-123")).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThatThrownBy(() -> quizSubmissionService.getQuizSubmission("user-123", "s1"))
+        .isInstanceOf(ResourceNotFoundException.class);
+  }
+
+  private QuizSubmission createSubmission(String id, LocalDateTime submittedAt) {
+    QuizSubmission submission = new QuizSubmission();
+    submission.setId(id);
+    submission.setUserId("user-123");
+    submission.setScore(1);
+    submission.setTotalQuestions(2);
+    submission.setSubmittedAt(submittedAt);
+    return submission;
+  }
+
   // Helper methods
   private List<Question> createSampleQuestions() {
     Question q1 = new Question();
@@ -0,0 +1,298 @@
+package com.saudiculture.services;
+
+import com.fasterxml.jackson.databind.ObjectMapper;
+import com.saudiculture.models.QuizSubmission;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.junit.jupiter.api.io.TempDir;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.Spy;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DataAccessResourceFailureException;
+import org.springframework.dao.DataIntegrityViolationException;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.Collection;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.anyCollection;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("QuizSubmissionWriter Tests")
+class QuizSubmissionWriterTest {
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
+  @Mock
+  private UserStatsService userStatsService;
+
+  @Spy
+  private ObjectMapper objectMapper = new ObjectMapper().findAndRegisterModules();
+
+  @InjectMocks
+  private QuizSubmissionWriter quizSubmissionWriter;
+
+  @TempDir
+  private Path tempDir;
+
+  @BeforeEach
+  void setUp() {
+    ReflectionTestUtils.setField(quizSubmissionWriter, "spillFile",
+        tempDir.resolve("spill.ndjson").toString());
+    ReflectionTestUtils.setField(quizSubmissionWriter, "deadLetterFile",
+        tempDir.resolve("dead-letter.ndjson").toString());
+  }
+
+  @Test
+  @DisplayName("Should persist every queued submission by shutdown")
+  void shouldPersistQueuedSubmissionsByShutdown() throws InterruptedException {
+    // Arrange
+    List<String> inserted = new ArrayList<>();
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class))).thenAnswer(invocation -> {
+      Collection<QuizSubmission> batch = invocation.getArgument(0);
+      synchronized (inserted) {
+        batch.forEach(submission -> inserted.add(submission.getId()));
+      }
+      return batch;
+    });
+    ReflectionTestUtils.setField(quizSubmissionWriter, "enabled", true);
+    ReflectionTestUtils.setField(quizSubmissionWriter, "batchSize", 7);
+    quizSubmissionWriter.start();
+
+    // Act
+    for (int i = 0; i < 50; i++) {
+      quizSubmissionWriter.submit(createSubmission("submission-" + i));
+    }
+    quizSubmissionWriter.shutdown();
+
+    // Assert
+    assertThat(quizSubmissionWriter.pending()).isZero();
+    assertThat(inserted).hasSize(50).doesNotHaveDuplicates();
+    verify(userStatsService, times(50)).recordSubmission(any(QuizSubmission.class));
+  }
+
+  @Test
+  @DisplayName("Should write synchronously when the buffer is full")
+  void shouldWriteSynchronouslyWhenBufferFull() throws InterruptedException {
+    // Arrange - a one-slot buffer the writer thread never empties while the first insert blocks
+    Object gate = new Object();
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class))).thenAnswer(invocation -> {
+      if (!Thread.currentThread().getName().equals("quiz-submission-writer")) {
+        return invocation.getArgument(0);
+      }
+      synchronized (gate) {
+        gate.wait(2000);
+      }
+      return invocation.getArgument(0);
+    });
+    ReflectionTestUtils.setField(quizSubmissionWriter, "enabled", true);
+    ReflectionTestUtils.setField(quizSubmissionWriter, "queueCapacity", 1);
+    ReflectionTestUtils.setField(quizSubmissionWriter, "offerTimeoutMs", 10L);
+    quizSubmissionWriter.start();
+
+    // Act
+    for (int i = 0; i < 5; i++) {
+      quizSubmissionWriter.submit(createSubmission("submission-" + i));
+    }
+    synchronized (gate) {
+      gate.notifyAll();
+    }
+    quizSubmissionWriter.shutdown();
+
+    // Assert
+    verify(userStatsService, times(5)).recordSubmission(any(QuizSubmission.class));
+  }
+
+  @Test
+  @DisplayName("Should retry a failed batch one submission at a time")
+  void shouldRetryFailedBatchIndividually() {
+    // Arrange
+    QuizSubmission saved = createSubmission("submission-1");
+    QuizSubmission unsaved = createSubmission("submission-2");
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class)))
+        .thenThrow(new DataAccessResourceFailureException("connection reset"));
+    when(mongoTemplate.insert(saved)).thenThrow(new DuplicateKeyException("E11000 duplicate key error"));
+    when(mongoTemplate.insert(unsaved)).thenReturn(unsaved);
+
+    // Act
+    List<QuizSubmission> failed = quizSubmissionWriter.write(List.of(saved, unsaved));
+
+    // Assert
+    assertThat(failed).isEmpty();
+    verify(mongoTemplate).insert(unsaved);
+    verify(userStatsService).recordSubmission(saved);
+    verify(userStatsService).recordSubmission(unsaved);
+  }
+
+  @Test
+  @DisplayName("Should keep submissions for retry while the database is unavailable")
+  void shouldKeepSubmissionsWhileDatabaseUnavailable() {
+    // Arrange
+    QuizSubmission first = createSubmission("submission-1");
+    QuizSubmission second = createSubmission("submission-2");
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class)))
+        .thenThrow(new DataAccessResourceFailureException("timed out"));
+    when(mongoTemplate.insert(first)).thenThrow(new DataAccessResourceFailureException("timed out"));
+
+    // Act
+    List<QuizSubmission> failed = quizSubmissionWriter.write(List.of(first, second));
+
+    // Assert
+    assertThat(failed).containsExactly(first, second);
+    verify(mongoTemplate, never()).insert(second);
+    verifyNoInteractions(userStatsService);
+  }
+
+  @Test
+  @DisplayName("Should retry a batch with backoff until the database is back")
+  void shouldRetryBatchUntilDatabaseIsBack() throws InterruptedException {
+    // Arrange
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class)))
+        .thenThrow(new DataAccessResourceFailureException("timed out"))
+        .thenThrow(new DataAccessResourceFailureException("timed out"))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    when(mongoTemplate.insert(any(QuizSubmission.class)))
+        .thenThrow(new DataAccessResourceFailureException("timed out"));
+    ReflectionTestUtils.setField(quizSubmissionWriter, "enabled", true);
+    ReflectionTestUtils.setField(quizSubmissionWriter, "retryBackoffMs", 10L);
+    quizSubmissionWriter.start();
+
+    // Act
+    for (int i = 0; i < 3; i++) {
+      quizSubmissionWriter.submit(createSubmission("submission-" + i));
+    }
+    quizSubmissionWriter.shutdown();
+
+    // Assert
+    verify(userStatsService, times(3)).recordSubmission(any(QuizSubmission.class));
+    assertThat(tempDir.resolve("spill.ndjson")).doesNotExist();
+  }
+
+  @Test
+  @DisplayName("Should spill unwritten submissions on shutdown and write them on the next start")
+  void shouldSpillOnShutdownAndReplayOnStart() throws InterruptedException, IOException {
+    // Arrange
+    Path spillFile = tempDir.resolve("spill.ndjson");
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class)))
+        .thenThrow(new DataAccessResourceFailureException("timed out"));
+    when(mongoTemplate.insert(any(QuizSubmission.class)))
+        .thenThrow(new DataAccessResourceFailureException("timed out"));
+    ReflectionTestUtils.setField(quizSubmissionWriter, "enabled", true);
+    ReflectionTestUtils.setField(quizSubmissionWriter, "retryBackoffMs", 10L);
+    ReflectionTestUtils.setField(quizSubmissionWriter, "shutdownTimeoutMs", 100L);
+    quizSubmissionWriter.start();
+    for (int i = 0; i < 3; i++) {
+      quizSubmissionWriter.submit(createSubmission("submission-" + i));
+    }
+
+    // Act
+    quizSubmissionWriter.shutdown();
+
+    // Assert
+    assertThat(Files.readAllLines(spillFile)).hasSize(3);
+    verifyNoInteractions(userStatsService);
+
+    // Act - the next start finds the database back
+    List<String> inserted = new ArrayList<>();
+    reset(mongoTemplate);
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class))).thenAnswer(invocation -> {
+      Collection<QuizSubmission> batch = invocation.getArgument(0);
+      batch.forEach(submission -> inserted.add(submission.getId()));
+      return batch;
+    });
+    quizSubmissionWriter.start();
+    quizSubmissionWriter.shutdown();
+
+    // Assert
+    assertThat(inserted).containsExactlyInAnyOrder("submission-0", "submission-1", "submission-2");
+    assertThat(spillFile).doesNotExist();
+    assertThat(tempDir.resolve("spill.ndjson.replaying")).doesNotExist();
+    verify(userStatsService, times(3)).recordSubmission(any(QuizSubmission.class));
+  }
+
+  @Test
+  @DisplayName("Should keep the spilled submissions until the replay has written them")
+  void shouldKeepReplayFileUntilWritten() throws InterruptedException, IOException {
+    // Arrange
+    Path spillFile = tempDir.resolve("spill.ndjson");
+    Path replayFile = tempDir.resolve("spill.ndjson.replaying");
+    Files.write(spillFile, List.of(
+        objectMapper.writeValueAsString(createSubmission("submission-0")),
+        objectMapper.writeValueAsString(createSubmission("submission-1"))));
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class)))
+        .thenThrow(new DataAccessResourceFailureException("timed out"));
+    when(mongoTemplate.insert(any(QuizSubmission.class)))
+        .thenThrow(new DataAccessResourceFailureException("timed out"));
+    ReflectionTestUtils.setField(quizSubmissionWriter, "enabled", true);
+    ReflectionTestUtils.setField(quizSubmissionWriter, "retryBackoffMs", 10L);
+    ReflectionTestUtils.setField(quizSubmissionWriter, "shutdownTimeoutMs", 100L);
+
+    // Act - the database stays down for the whole replay
+    quizSubmissionWriter.start();
+    quizSubmissionWriter.shutdown();
+
+    // Assert
+    assertThat(spillFile).doesNotExist();
+    assertThat(Files.readAllLines(replayFile)).hasSize(2);
+
+    // Act - the next start finds the database back
+    reset(mongoTemplate);
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class)))
+        .thenAnswer(invocation -> invocation.getArgument(0));
+    quizSubmissionWriter.start();
+    quizSubmissionWriter.shutdown();
+
+    // Assert
+    assertThat(replayFile).doesNotExist();
+    verify(userStatsService, times(2)).recordSubmission(any(QuizSubmission.class));
+  }
+
+  @Test
+  @DisplayName("Should move rejected submissions to the dead-letter file instead of replaying them")
+  void shouldDeadLetterRejectedSubmissions() throws IOException {
+    // Arrange
+    QuizSubmission rejected = createSubmission("submission-1");
+    QuizSubmission accepted = createSubmission("submission-2");
+    when(mongoTemplate.insert(anyCollection(), eq(QuizSubmission.class)))
+        .thenThrow(new DataIntegrityViolationException("document failed validation"));
+    when(mongoTemplate.insert(rejected))
+        .thenThrow(new DataIntegrityViolationException("document failed validation"));
+    when(mongoTemplate.insert(accepted)).thenReturn(accepted);
+
+    // Act
+    List<QuizSubmission> failed = quizSubmissionWriter.write(List.of(rejected, accepted));
+
+    // Assert
+    assertThat(failed).isEmpty();
+    assertThat(Files.readAllLines(tempDir.resolve("dead-letter.ndjson")))
+        .singleElement().asString().contains("submission-1");
+    assertThat(tempDir.resolve("spill.ndjson")).doesNotExist();
+    verify(userStatsService).recordSubmission(accepted);
+    verify(userStatsService, never()).recordSubmission(rejected);
+  }
+
+  private QuizSubmission createSubmission(String id) {
+    QuizSubmission submission = new QuizSubmission();
+    submission.setId(id);
+    submission.setUserId("user-123");
+    submission.setScore(1);
+    submission.setTotalQuestions(1);
+    submission.setSubmittedAt(LocalDateTime.of(2025, 1, 1, 12, 0));
+    return submission;
+  }
+}
@@ -0,0 +1,154 @@
+package com.saudiculture.services;
+
+import com.saudiculture.catalog.QuestionCatalog;
+import com.saudiculture.dto.InfoQuestionDTO;
+import com.saudiculture.dto.QuizQuestionDTO;
+import com.saudiculture.models.Question;
+import com.saudiculture.repositories.QuestionSearchRepository.SearchMode;
+import org.bson.Document;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
+import org.mockito.InjectMocks;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.data.domain.PageImpl;
+import org.springframework.data.mongodb.core.ReactiveMongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.TextQuery;
+import reactor.core.publisher.Flux;
+
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("ReactiveQuestionService Tests")
+class ReactiveQuestionServiceTest {
+
+  @Mock
+  private ReactiveMongoTemplate reactiveMongoTemplate;
+
+  @Mock
+  private QuestionCatalog questionCatalog;
+
+  @Mock
+  private QuestionService questionService;
+
+  @InjectMocks
+  private ReactiveQuestionService reactiveQuestionService;
+
+  @Test
+  @DisplayName("Should stream an info page with the servlet path's filter and projection")
+  void shouldStreamInfoPage() {
+    // Arrange
+    when(reactiveMongoTemplate.find(any(Query.class), eq(Question.class)))
+        .thenReturn(Flux.just(createQuestion("1"), createQuestion("2")));
+
+    // Act
+    List<InfoQuestionDTO> info = reactiveQuestionService.getInfo("Arabic", "culture", null, null, 1, 2)
+        .collectList().block();
+
+    // Assert
+    assertThat(info).extracting(InfoQuestionDTO::getQuestionText).containsExactly("Question 1", "Question 2");
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(reactiveMongoTemplate).find(query.capture(), eq(Question.class));
+    assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("content_language", "Arabic")
+        .append("deleted", new Document("$ne", true))
+        .append("category", "culture"));
+    assertThat(query.getValue().getSkip()).isEqualTo(2);
+    assertThat(query.getValue().getLimit()).isEqualTo(2);
+    assertThat(query.getValue().getFieldsObject()).containsKeys("question_text", "answer")
+        .doesNotContainKeys("term", "term_meaning");
+  }
+
+  @Test
+  @DisplayName("Should rank text search results by relevance")
+  void shouldRankTextSearch() {
+    // Arrange
+    when(questionService.searchMode()).thenReturn(SearchMode.TEXT);
+    when(reactiveMongoTemplate.find(any(Query.class), eq(Question.class)))
+        .thenReturn(Flux.just(createQuestion("1")));
+
+    // Act
+    List<InfoQuestionDTO> info = reactiveQuestionService.getInfo("English", null, null, " coffee ", 0, 20)
+        .collectList().block();
+
+    // Assert
+    assertThat(info).hasSize(1);
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(reactiveMongoTemplate).find(query.capture(), eq(Question.class));
+    assertThat(query.getValue()).isInstanceOf(TextQuery.class);
+    assertThat(query.getValue().getSortObject()).containsKey("score");
+  }
+
+  @Test
+  @DisplayName("Should stream from the catalog without querying MongoDB when it is loaded")
+  void shouldStreamFromCatalog() {
+    // Arrange
+    when(questionCatalog.isReady()).thenReturn(true);
+    InfoQuestionDTO dto = new InfoQuestionDTO();
+    dto.setQuestionText("Question 1");
+    when(questionCatalog.findInfo(eq("Arabic"), eq(null), eq(null), any()))
+        .thenReturn(new PageImpl<>(List.of(dto)));
+
+    // Act
+    List<InfoQuestionDTO> info = reactiveQuestionService.getInfo("Arabic", null, null, null, 0, 20)
+        .collectList().block();
+
+    // Assert
+    assertThat(info).containsExactly(dto);
+    verifyNoInteractions(reactiveMongoTemplate);
+  }
+
+  @Test
+  @DisplayName("Should draw random quizzes with $sample on the reactive driver")
+  void shouldDrawRandomQuiz() {
+    // Arrange
+    when(reactiveMongoTemplate.aggregate(any(Aggregation.class), eq("questions"), eq(Question.class)))
+        .thenReturn(Flux.just(createQuestion("1"), createQuestion("2")));
+
+    // Act
+    List<QuizQuestionDTO> quiz = reactiveQuestionService.getQuizzes("culture", "English", null, "all", 2, null)
+        .collectList().block();
+
+    // Assert
+    assertThat(quiz).extracting(QuizQuestionDTO::getId).containsExactly("1", "2");
+    verifyNoInteractions(questionService);
+  }
+
+  @Test
+  @DisplayName("Should serve seeded quizzes from the shared memoized draw")
+  void shouldServeSeededQuizFromQuestionService() {
+    // Arrange
+    QuizQuestionDTO dto = new QuizQuestionDTO();
+    dto.setId("1");
+    when(questionService.getQuizzes("culture", "English", null, null, 5, 42L)).thenReturn(List.of(dto));
+
+    // Act
+    List<QuizQuestionDTO> quiz = reactiveQuestionService.getQuizzes("culture", "English", null, null, 5, 42L)
+        .collectList().block();
+
+    // Assert
+    assertThat(quiz).containsExactly(dto);
+    verifyNoInteractions(reactiveMongoTemplate);
+  }
+
+  // Helper methods
+  private Question createQuestion(String id) {
+    Question question = new Question();
+    question.setId(id);
+    question.setQuestionText("Question " + id);
+    question.setAnswer("Al-Ardah");
+    question.setCategory("culture");
+    question.setType("open_ended");
+    question.setContentLanguage("English");
+    question.setRegion("general");
+    return question;
+  }
+}
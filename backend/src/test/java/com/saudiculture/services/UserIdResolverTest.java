@@ -0,0 +1,124 @@
+package com.saudiculture.services;
+
+import com.saudiculture.models.User;
+import com.saudiculture.repositories.UserRepository;
+import io.micrometer.core.instrument.simple.SimpleMeterRegistry;
+import org.junit.jupiter.api.BeforeEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.Mock;
+import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.Duration;
+import java.util.Optional;
+
+import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
+import static org.mockito.Mockito.*;
+
+@ExtendWith(MockitoExtension.class)
+@DisplayName("UserIdResolver Tests")
+class UserIdResolverTest {
+
+  @Mock
+  private UserRepository userRepository;
+
+  private SimpleMeterRegistry meterRegistry;
+
+  private UserIdResolver userIdResolver;
+
+  @BeforeEach
+  void setUp() {
+    meterRegistry = new SimpleMeterRegistry();
+    userIdResolver = new UserIdResolver(userRepository, meterRegistry);
+  }
+
+  @Test
+  @DisplayName("Should look up the user once and serve repeats from the cache")
+  void shouldCacheResolvedUserId() {
+    // Arrange
+    when(userRepository.findByCognitoId("cognito-1")).thenReturn(Optional.of(createUser("user-1", "cognito-1")));
+
+    // Act
+    String first = userIdResolver.resolve("cognito-1");
+    String second = userIdResolver.resolve("cognito-1");
+
+    // Assert
+    assertThat(first).isEqualTo("user-1");
+    assertThat(second).isEqualTo("user-1");
+    verify(userRepository, times(1)).findByCognitoId("cognito-1");
+    assertThat(requests("hit")).isEqualTo(1.0);
+    assertThat(requests("miss")).isEqualTo(1.0);
+  }
+
+  @Test
+  @DisplayName("Should serve ids put by the user sync without a lookup")
+  void shouldServeWarmedEntries() {
+    // Arrange
+    userIdResolver.put("cognito-1", "user-1");
+
+    // Act
+    String userId = userIdResolver.resolve("cognito-1");
+
+    // Assert
+    assertThat(userId).isEqualTo("user-1");
+    verifyNoInteractions(userRepository);
+  }
+
+  @Test
+  @DisplayName("Should look the user up again once the entry has expired")
+  void shouldReloadExpiredEntries() {
+    // Arrange
+    ReflectionTestUtils.setField(userIdResolver, "ttl", Duration.ZERO);
+    when(userRepository.findByCognitoId("cognito-1")).thenReturn(Optional.of(createUser("user-1", "cognito-1")));
+
+    // Act
+    userIdResolver.resolve("cognito-1");
+    userIdResolver.resolve("cognito-1");
+
+    // Assert
+    verify(userRepository, times(2)).findByCognitoId("cognito-1");
+    assertThat(requests("miss")).isEqualTo(2.0);
+  }
+
+  @Test
+  @DisplayName("Should stay within the configured maximum size")
+  void shouldBoundCacheSize() {
+    // Arrange
+    ReflectionTestUtils.setField(userIdResolver, "maxSize", 2);
+
+    // Act
+    userIdResolver.put("cognito-1", "user-1");
+    userIdResolver.put("cognito-2", "user-2");
+    userIdResolver.put("cognito-3", "user-3");
+
+    // Assert
+    assertThat(meterRegistry.get("users.id.cache.size").gauge().value()).isEqualTo(2.0);
+    assertThat(userIdResolver.resolve("cognito-3")).isEqualTo("user-3");
+  }
+
+  @Test
+  @DisplayName("Should throw when the user has not been synced")
+  void shouldThrowWhenUserNotFound() {
+    // Arrange
+    when(userRepository.findByCognitoId("unknown")).thenReturn(Optional.empty());
+
+    // Act & Assert
+    assertThatThrownBy(() -> userIdResolver.resolve("unknown"))
+        .isInstanceOf(IllegalStateException.class)
+        .hasMessageContaining("/api/users/me");
+  }
+
+  private double requests(String result) {
+    return meterRegistry.get("users.id.cache.requests").tag("result", result).counter().count();
+  }
+
+  private User createUser(String id, String cognitoId) {
+    User user = new User();
+    user.setId(id);
+    user.setCognitoId(cognitoId);
+    return user;
+  }
+}
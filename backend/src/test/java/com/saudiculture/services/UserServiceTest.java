@@ -2,22 +2,29 @@ package com.saudiculture.services;
 
 import com.saudiculture.dto.UserDTO;
 import com.saudiculture.models.User;
-import com.saudiculture.repositories.UserRepository;
+import org.bson.Document;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.springframework.dao.DuplicateKeyException;
+import org.springframework.data.mongodb.core.FindAndModifyOptions;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.UpdateDefinition;
 import org.springframework.security.oauth2.jwt.Jwt;
 
 import java.time.Instant;
 import java.util.Map;
-import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.assertj.core.api.Assertions.assertThatThrownBy;
 import static org.mockito.ArgumentMatchers.any;
+import static org.mockito.ArgumentMatchers.eq;
 import static org.mockito.Mockito.*;
 
 @ExtendWith(MockitoExtension.class)
@@ -25,7 +32,10 @@ import static org.mockito.Mockito.*;
 class UserServiceTest {
 
   @Mock
-  private UserRepository userRepository;
+  private MongoTemplate mongoTemplate;
+
+  @Mock
+  private UserIdResolver userIdResolver;
 
   @InjectMocks
   private UserService userService;
@@ -38,108 +48,80 @@ class UserServiceTest {
   }
 
   @Test
-  @DisplayName("Should create new user when cognito ID doesn't exist")
-  void shouldCreateNewUserWhenCognitoIdDoesNotExist() {
+  @DisplayName("Should sync the user with a single upsert that returns the new document")
+  void shouldSyncUserWithSingleUpsert() {
     // Arrange
-    Jwt jwt = createMockJwt("new-cognito-id", "newuser@example.com", "newuser");
-    when(userRepository.existsByCognitoId("new-cognito-id")).thenReturn(false);
-    when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-      User user = invocation.getArgument(0);
-      user.setId("generated-id");
-      return user;
-    });
+    Jwt jwt = createMockJwt("existing-cognito-id", "test@example.com", "testuser");
+    when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+        any(FindAndModifyOptions.class), eq(User.class))).thenReturn(existingUser);
 
     // Act
     UserDTO result = userService.syncUserFromJwt(jwt);
 
     // Assert
-    assertThat(result).isNotNull();
-    assertThat(result.cognitoId()).isEqualTo("new-cognito-id");
-    assertThat(result.email()).isEqualTo("newuser@example.com");
-    assertThat(result.username()).isEqualTo("newuser");
-    verify(userRepository, times(1)).existsByCognitoId("new-cognito-id");
-    verify(userRepository, times(1)).save(any(User.class));
-    verify(userRepository, never()).findByCognitoId(any());
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    ArgumentCaptor<FindAndModifyOptions> options = ArgumentCaptor.forClass(FindAndModifyOptions.class);
+    verify(mongoTemplate, times(1)).findAndModify(query.capture(), any(UpdateDefinition.class),
+        options.capture(), eq(User.class));
+    verifyNoMoreInteractions(mongoTemplate);
+    assertThat(query.getValue().getQueryObject()).isEqualTo(new Document("cognitoId", "existing-cognito-id"));
+    assertThat(options.getValue().isUpsert()).isTrue();
+    assertThat(options.getValue().isReturnNew()).isTrue();
+    assertThat(result.id()).isEqualTo("test-id");
+    assertThat(result.email()).isEqualTo("test@example.com");
   }
 
   @Test
-  @DisplayName("Should update existing user when username or email changes")
-  void shouldUpdateExistingUserWhenDetailsChange() {
+  @DisplayName("Should warm the user id cache after syncing")
+  void shouldWarmUserIdCache() {
     // Arrange
-    Jwt jwt = createMockJwt("existing-cognito-id", "updated@example.com", "updatedusername");
-    when(userRepository.existsByCognitoId("existing-cognito-id")).thenReturn(true);
-    when(userRepository.findByCognitoId("existing-cognito-id")).thenReturn(Optional.of(existingUser));
-    when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
+    Jwt jwt = createMockJwt("new-cognito-id", "newuser@example.com", "newuser");
+    User created = createTestUser();
+    created.setId("generated-id");
+    created.setCognitoId("new-cognito-id");
+    when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+        any(FindAndModifyOptions.class), eq(User.class))).thenReturn(created);
 
     // Act
     UserDTO result = userService.syncUserFromJwt(jwt);
 
     // Assert
-    assertThat(result).isNotNull();
-    assertThat(result.email()).isEqualTo("updated@example.com");
-    assertThat(result.username()).isEqualTo("updatedusername");
-    verify(userRepository, times(1)).existsByCognitoId("existing-cognito-id");
-    verify(userRepository, times(1)).findByCognitoId("existing-cognito-id");
-    verify(userRepository, times(1)).save(existingUser);
+    assertThat(result.cognitoId()).isEqualTo("new-cognito-id");
+    verify(userIdResolver).put("new-cognito-id", "generated-id");
   }
 
   @Test
-  @DisplayName("Should not save when existing user has no changes")
-  void shouldNotSaveWhenNoChangesDetected() {
+  @DisplayName("Should retry once when a concurrent first login wins the insert")
+  void shouldRetryOnDuplicateKey() {
     // Arrange
     Jwt jwt = createMockJwt("existing-cognito-id", "test@example.com", "testuser");
-    when(userRepository.existsByCognitoId("existing-cognito-id")).thenReturn(true);
-    when(userRepository.findByCognitoId("existing-cognito-id")).thenReturn(Optional.of(existingUser));
-    when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-    // Act
-    UserDTO result = userService.syncUserFromJwt(jwt);
-
-    // Assert
-    assertThat(result).isNotNull();
-    assertThat(result.email()).isEqualTo("test@example.com");
-    assertThat(result.username()).isEqualTo("testuser");
-    // Save is still called, but the user object wasn't modified
-    verify(userRepository, times(1)).save(existingUser);
-  }
-
-  @Test
-  @DisplayName("Should extract JWT claims correctly")
-  void shouldExtractJwtClaimsCorrectly() {
-    // Arrange
-    Jwt jwt = createMockJwt("cognito-123", "user@test.com", "testuser123");
-    when(userRepository.existsByCognitoId("cognito-123")).thenReturn(false);
-    when(userRepository.save(any(User.class))).thenAnswer(invocation -> {
-      User user = invocation.getArgument(0);
-      user.setId("new-id");
-      return user;
-    });
+    when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+        any(FindAndModifyOptions.class), eq(User.class)))
+        .thenThrow(new DuplicateKeyException("E11000 duplicate key error"))
+        .thenReturn(existingUser);
 
     // Act
     UserDTO result = userService.syncUserFromJwt(jwt);
 
     // Assert
-    assertThat(result.cognitoId()).isEqualTo("cognito-123");
-    assertThat(result.email()).isEqualTo("user@test.com");
-    assertThat(result.username()).isEqualTo("testuser123");
+    assertThat(result.id()).isEqualTo("test-id");
+    verify(mongoTemplate, times(2)).findAndModify(any(Query.class), any(UpdateDefinition.class),
+        any(FindAndModifyOptions.class), eq(User.class));
   }
 
   @Test
-  @DisplayName("Should update only username when email stays same")
-  void shouldUpdateOnlyUsernameWhenEmailStaysSame() {
+  @DisplayName("Should propagate a duplicate key error that persists after the retry")
+  void shouldPropagatePersistentDuplicateKey() {
     // Arrange
-    Jwt jwt = createMockJwt("existing-cognito-id", "test@example.com", "newusername");
-    when(userRepository.existsByCognitoId("existing-cognito-id")).thenReturn(true);
-    when(userRepository.findByCognitoId("existing-cognito-id")).thenReturn(Optional.of(existingUser));
-    when(userRepository.save(any(User.class))).thenAnswer(invocation -> invocation.getArgument(0));
-
-    // Act
-    UserDTO result = userService.syncUserFromJwt(jwt);
-
-    // Assert
-    assertThat(result.username()).isEqualTo("newusername");
-    assertThat(result.email()).isEqualTo("test@example.com");
-    verify(userRepository, times(1)).save(existingUser);
+    Jwt jwt = createMockJwt("other-cognito-id", "test@example.com", "otheruser");
+    when(mongoTemplate.findAndModify(any(Query.class), any(UpdateDefinition.class),
+        any(FindAndModifyOptions.class), eq(User.class)))
+        .thenThrow(new DuplicateKeyException("E11000 duplicate key error email"));
+
+    // Act & Assert
+    assertThatThrownBy(() -> userService.syncUserFromJwt(jwt))
+        .isInstanceOf(DuplicateKeyException.class);
+    verifyNoInteractions(userIdResolver);
   }
 
   // Helper methods
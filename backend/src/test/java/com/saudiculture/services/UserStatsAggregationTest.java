@@ -0,0 +1,159 @@
+package com.saudiculture.services;
+
+import com.saudiculture.dto.UserStatsResponse;
+import com.saudiculture.models.Question;
+import com.saudiculture.models.QuizAnswer;
+import com.saudiculture.models.QuizSubmission;
+import com.saudiculture.models.UserStats;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+import org.springframework.test.util.ReflectionTestUtils;
+
+import java.time.LocalDateTime;
+import java.util.ArrayList;
+import java.util.List;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the {@code stats.engine=aggregation} pipeline against a real MongoDB and checks it produces
+ * the same stats as the rollup built in Java from the same submissions.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "file:.env")
+@DisplayName("UserStats Aggregation Tests")
+class UserStatsAggregationTest {
+
+  private static final String USER_ID = "stats-aggregation-test-user";
+
+  @Autowired
+  private UserStatsService userStatsService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  private final List<Question> questions = new ArrayList<>();
+
+  @AfterEach
+  void tearDown() {
+    mongoTemplate.remove(Query.query(Criteria.where("userId").is(USER_ID)), QuizSubmission.class);
+    mongoTemplate.remove(Query.query(Criteria.where("_id").is(USER_ID)), UserStats.class);
+    questions.forEach(mongoTemplate::remove);
+    questions.clear();
+    ReflectionTestUtils.setField(userStatsService, "engine", UserStatsService.ENGINE_ROLLUP);
+  }
+
+  @Test
+  @DisplayName("Should match the rollup for a user without submissions")
+  void shouldMatchRollupWithoutSubmissions() {
+    assertThat(aggregationStats()).isEqualTo(rollupStats());
+  }
+
+  @Test
+  @DisplayName("Should match the rollup for denormalized answers across types, regions and languages")
+  void shouldMatchRollupForDenormalizedAnswers() {
+    // Arrange
+    insertSubmission(LocalDateTime.of(2025, 1, 1, 12, 0), List.of(
+        new QuizAnswer("q1", "Q1", "a", "a", true, "open_ended", "GENERAL", "Arabic"),
+        new QuizAnswer("q2", "Q2", "a", "a", true, "single_choice", "WEST", "English"),
+        new QuizAnswer("q3", "Q3", "b", "a", false, "multiple_choice", "EAST", "Arabic"),
+        new QuizAnswer("q4", "Q4", "b", "a", false, "true_false", "NORTH", "English"),
+        new QuizAnswer("q5", "Q5", "a", "a", true, "open_ended", "SOUTH", "Arabic")));
+
+    // Act
+    UserStatsResponse aggregated = aggregationStats();
+
+    // Assert
+    assertThat(aggregated.byQuestionType()).hasSize(4);
+    assertThat(aggregated.byRegion()).hasSize(5);
+    assertThat(aggregated.byLanguage()).hasSize(2);
+    assertThat(aggregated).isEqualTo(rollupStats());
+  }
+
+  @Test
+  @DisplayName("Should match the rollup for more submissions than the recent list holds")
+  void shouldMatchRollupForManySubmissions() {
+    // Arrange
+    LocalDateTime start = LocalDateTime.of(2025, 1, 1, 12, 0);
+    for (int i = 0; i < UserStats.RECENT_LIMIT + 5; i++) {
+      List<QuizAnswer> answers = new ArrayList<>();
+      for (int j = 0; j < 15; j++) {
+        boolean correct = (i + j) % 3 != 0;
+        answers.add(new QuizAnswer("q" + j, "Q" + j, "a", "a", correct,
+            j % 2 == 0 ? "single_choice" : "true_false", "GENERAL", "Arabic"));
+      }
+      insertSubmission(start.plusMinutes(i), answers);
+    }
+
+    // Act
+    UserStatsResponse aggregated = aggregationStats();
+
+    // Assert
+    assertThat(aggregated.recentSubmissions()).hasSize(UserStats.RECENT_LIMIT);
+    assertThat(aggregated).isEqualTo(rollupStats());
+  }
+
+  @Test
+  @DisplayName("Should match the rollup for legacy answers that need their question looked up")
+  void shouldMatchRollupForLegacyAnswers() {
+    // Arrange
+    Question single = insertQuestion("single_choice", "WEST", "English");
+    Question open = insertQuestion("open_ended", "GENERAL", "Arabic");
+    insertSubmission(LocalDateTime.of(2025, 1, 1, 12, 0), List.of(
+        new QuizAnswer(single.getId(), "Q1", "a", "a", true),
+        new QuizAnswer(open.getId(), "Q2", "b", "a", false)));
+    insertSubmission(LocalDateTime.of(2025, 1, 2, 12, 0), List.of(
+        new QuizAnswer("q3", "Q3", "a", "a", true, "true_false", "EAST", "English")));
+
+    // Act
+    UserStatsResponse aggregated = aggregationStats();
+
+    // Assert
+    assertThat(aggregated.byQuestionType()).hasSize(3);
+    assertThat(aggregated.byRegion()).hasSize(3);
+    assertThat(aggregated.byLanguage()).hasSize(2);
+    assertThat(aggregated).isEqualTo(rollupStats());
+  }
+
+  // Helper methods
+  private UserStatsResponse aggregationStats() {
+    ReflectionTestUtils.setField(userStatsService, "engine", UserStatsService.ENGINE_AGGREGATION);
+    return userStatsService.getUserStats(USER_ID);
+  }
+
+  private UserStatsResponse rollupStats() {
+    ReflectionTestUtils.setField(userStatsService, "engine", UserStatsService.ENGINE_ROLLUP);
+    mongoTemplate.remove(Query.query(Criteria.where("_id").is(USER_ID)), UserStats.class);
+    return userStatsService.getUserStats(USER_ID);
+  }
+
+  private void insertSubmission(LocalDateTime submittedAt, List<QuizAnswer> answers) {
+    QuizSubmission submission = new QuizSubmission();
+    submission.setUserId(USER_ID);
+    submission.setAnswers(answers);
+    submission.setScore((int) answers.stream().filter(a -> Boolean.TRUE.equals(a.correct())).count());
+    submission.setTotalQuestions(answers.size());
+    submission.setSubmittedAt(submittedAt);
+    mongoTemplate.insert(submission);
+  }
+
+  private Question insertQuestion(String type, String region, String language) {
+    Question question = new Question();
+    question.setQuestionText("Stats aggregation test question");
+    question.setType(type);
+    question.setRegion(region);
+    question.setContentLanguage(language);
+    Question saved = mongoTemplate.insert(question);
+    questions.add(saved);
+    return saved;
+  }
+}
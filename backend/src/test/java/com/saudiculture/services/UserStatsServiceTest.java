@@ -5,22 +5,38 @@ import com.saudiculture.dto.UserStatsResponse.*;
 import com.saudiculture.models.Question;
 import com.saudiculture.models.QuizAnswer;
 import com.saudiculture.models.QuizSubmission;
+import com.saudiculture.models.UserStats;
 import com.saudiculture.repositories.QuestionRepository;
 import com.saudiculture.repositories.QuizSubmissionRepository;
+import com.saudiculture.repositories.UserStatsRepository;
 import org.junit.jupiter.api.BeforeEach;
 import org.junit.jupiter.api.DisplayName;
 import org.junit.jupiter.api.Test;
 import org.junit.jupiter.api.extension.ExtendWith;
+import org.mockito.ArgumentCaptor;
 import org.mockito.InjectMocks;
 import org.mockito.Mock;
 import org.mockito.junit.jupiter.MockitoExtension;
+import org.bson.Document;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.aggregation.Aggregation;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.data.mongodb.core.query.Update;
+import org.springframework.test.util.ReflectionTestUtils;
 
 import java.time.LocalDateTime;
 import java.util.ArrayList;
 import java.util.List;
+import java.util.Optional;
 
 import static org.assertj.core.api.Assertions.assertThat;
+import static org.mockito.ArgumentMatchers.any;
 import static org.mockito.ArgumentMatchers.anyList;
+import static org.mockito.ArgumentMatchers.anyString;
+import static org.mockito.ArgumentMatchers.eq;
+import static org.mockito.Mockito.lenient;
+import static org.mockito.Mockito.never;
+import static org.mockito.Mockito.verify;
 import static org.mockito.Mockito.when;
 
 @ExtendWith(MockitoExtension.class)
@@ -33,6 +49,12 @@ class UserStatsServiceTest {
   @Mock
   private QuestionRepository questionRepository;
 
+  @Mock
+  private UserStatsRepository userStatsRepository;
+
+  @Mock
+  private MongoTemplate mongoTemplate;
+
   @InjectMocks
   private UserStatsService userStatsService;
 
@@ -41,6 +63,9 @@ class UserStatsServiceTest {
   @BeforeEach
   void setUp() {
     sampleQuestions = createSampleQuestions();
+    // No submissions arrive while a rollup is rebuilt
+    lenient().when(quizSubmissionRepository.countByUserId("user-123")).thenAnswer(
+        invocation -> (long) quizSubmissionRepository.findAllByUserId("user-123").size());
   }
 
   @Test
@@ -160,6 +185,148 @@ class UserStatsServiceTest {
     // This verifies the lists are populated and not null
   }
 
+  @Test
+  @DisplayName("Should serve stats from rollup without reading submission history")
+  void shouldServeStatsFromRollup() {
+    // Arrange
+    UserStats rollup = new UserStats();
+    rollup.setUserId("user-123");
+    rollup.setTotalSubmissions(2);
+    rollup.setTotalQuestions(10);
+    rollup.setTotalCorrect(7);
+    rollup.setPercentageSum(140.0); // 60% + 80%
+    UserStats.Counter counter = new UserStats.Counter();
+    counter.setTotal(10);
+    counter.setCorrect(7);
+    rollup.getByType().put("single_choice", counter);
+    rollup.getByRegion().put("GENERAL", counter);
+    rollup.getByLanguage().put("Arabic", counter);
+    rollup.getRecentSubmissions().add(
+        new UserStats.RecentEntry("sub1", LocalDateTime.now().minusDays(1), 3, 5));
+    rollup.getRecentSubmissions().add(
+        new UserStats.RecentEntry("sub2", LocalDateTime.now(), 4, 5));
+    when(userStatsRepository.findById("user-123")).thenReturn(Optional.of(rollup));
+
+    // Act
+    UserStatsResponse stats = userStatsService.getUserStats("user-123");
+
+    // Assert
+    assertThat(stats.overall().totalQuestionsAnswered()).isEqualTo(10);
+    assertThat(stats.overall().totalCorrect()).isEqualTo(7);
+    assertThat(stats.overall().totalIncorrect()).isEqualTo(3);
+    assertThat(stats.overall().averageScore()).isEqualTo(70.0);
+    assertThat(stats.byQuestionType()).containsExactly(
+        new TypeStats("single_choice", 10, 7, 3, 70.0));
+    assertThat(stats.recentSubmissions()).extracting(RecentSubmission::id)
+        .containsExactly("sub2", "sub1");
+    verify(quizSubmissionRepository, never()).findAllByUserId(anyString());
+    verify(questionRepository, never()).findAllByIdIn(anyList());
+  }
+
+  @Test
+  @DisplayName("Should rebuild and store rollup when user has none yet")
+  void shouldRebuildRollupWhenMissing() {
+    // Arrange
+    List<QuizSubmission> submissions = createSingleSubmissionWith3Correct();
+    when(quizSubmissionRepository.findAllByUserId("user-123")).thenReturn(submissions);
+    when(questionRepository.findAllByIdIn(anyList())).thenReturn(sampleQuestions);
+
+    // Act
+    userStatsService.getUserStats("user-123");
+
+    // Assert
+    verify(mongoTemplate).insert(any(UserStats.class));
+  }
+
+  @Test
+  @DisplayName("Should rebuild again when a submission is saved while the history is read")
+  void shouldRebuildAgainWhenSubmissionArrivesDuringRebuild() {
+    // Arrange
+    List<QuizSubmission> first = createSingleSubmissionWith3Correct();
+    List<QuizSubmission> second = new ArrayList<>(first);
+    second.addAll(createSubmissionsWithVariedTypes());
+    second.get(1).setId("sub2");
+    when(quizSubmissionRepository.countByUserId("user-123")).thenReturn(2L);
+    when(quizSubmissionRepository.findAllByUserId("user-123")).thenReturn(first, second);
+    when(questionRepository.findAllByIdIn(anyList())).thenReturn(sampleQuestions);
+    UserStats inserted = new UserStats();
+    inserted.setUserId("user-123");
+    inserted.setVersion(0L);
+    when(userStatsRepository.findById("user-123")).thenReturn(Optional.empty(), Optional.of(inserted));
+    when(mongoTemplate.findAndReplace(any(Query.class), any(UserStats.class))).thenReturn(inserted);
+
+    // Act
+    UserStats rebuilt = userStatsService.rebuildUserStats("user-123");
+
+    // Assert
+    assertThat(rebuilt.getTotalSubmissions()).isEqualTo(2);
+    assertThat(rebuilt.getVersion()).isEqualTo(1L);
+    verify(mongoTemplate).insert(any(UserStats.class));
+    verify(mongoTemplate).findAndReplace(any(Query.class), any(UserStats.class));
+  }
+
+  @Test
+  @DisplayName("Should not apply a submission twice to a rollup rebuilt after it was saved")
+  void shouldGuardRecordSubmissionAgainstRebuiltRollup() {
+    // Arrange
+    QuizSubmission submission = createSingleSubmissionWith3Correct().getFirst();
+
+    // Act
+    userStatsService.recordSubmission(submission);
+
+    // Assert
+    ArgumentCaptor<Query> query = ArgumentCaptor.forClass(Query.class);
+    verify(mongoTemplate).updateFirst(query.capture(), any(Update.class), eq(UserStats.class));
+    assertThat(query.getValue().getQueryObject())
+        .containsEntry("recentSubmissions.id", new Document("$ne", "sub1"));
+  }
+
+  @Test
+  @DisplayName("Should use denormalized answer attributes without looking up questions")
+  void shouldUseDenormalizedAnswerAttributes() {
+    // Arrange
+    QuizSubmission submission = new QuizSubmission();
+    submission.setId("sub1");
+    submission.setUserId("user-123");
+    submission.setScore(1);
+    submission.setTotalQuestions(2);
+    submission.setSubmittedAt(LocalDateTime.now());
+    submission.setAnswers(List.of(
+        new QuizAnswer("q1", "Q1 text", "a", "a", true, "open_ended", "GENERAL", "Arabic"),
+        new QuizAnswer("q2", "Q2 text", "b", "a", false, "true_false", "WEST", "Arabic")
+    ));
+    when(quizSubmissionRepository.findAllByUserId("user-123")).thenReturn(List.of(submission));
+
+    // Act
+    UserStatsResponse stats = userStatsService.getUserStats("user-123");
+
+    // Assert
+    assertThat(stats.byQuestionType()).extracting(TypeStats::type)
+        .containsExactly("open_ended", "true_false");
+    assertThat(stats.byRegion()).extracting(RegionStats::region)
+        .containsExactly("GENERAL", "WEST");
+    assertThat(stats.byLanguage()).containsExactly(new LanguageStats("Arabic", 2, 1, 1, 50.0));
+    verify(questionRepository, never()).findAllByIdIn(anyList());
+  }
+
+  @Test
+  @DisplayName("Should compute users with legacy answers from their history in the aggregation engine")
+  void shouldFallBackToHistoryForLegacyAnswers() {
+    // Arrange
+    ReflectionTestUtils.setField(userStatsService, "engine", UserStatsService.ENGINE_AGGREGATION);
+    when(mongoTemplate.exists(any(Query.class), eq(QuizSubmission.class))).thenReturn(true);
+    when(quizSubmissionRepository.findAllByUserId("user-123")).thenReturn(createSingleSubmissionWith3Correct());
+    when(questionRepository.findAllByIdIn(anyList())).thenReturn(sampleQuestions);
+
+    // Act
+    UserStatsResponse stats = userStatsService.getUserStats("user-123");
+
+    // Assert
+    assertThat(stats.byQuestionType()).extracting(TypeStats::type)
+        .containsExactlyInAnyOrder("open_ended", "single_choice", "multiple_choice", "true_false");
+    verify(mongoTemplate, never()).aggregate(any(Aggregation.class), anyString(), eq(Document.class));
+  }
+
   // Helper methods to create test data
   private List<QuizSubmission> createSingleSubmissionWith3Correct() {
     QuizSubmission submission = new QuizSubmission();
@@ -0,0 +1,141 @@
+package com.saudiculture.services;
+
+import com.saudiculture.dto.UserDTO;
+import com.saudiculture.models.User;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.DisplayName;
+import org.junit.jupiter.api.Test;
+import org.springframework.beans.factory.annotation.Autowired;
+import org.springframework.boot.test.context.SpringBootTest;
+import org.springframework.data.mongodb.core.MongoTemplate;
+import org.springframework.data.mongodb.core.query.Criteria;
+import org.springframework.data.mongodb.core.query.Query;
+import org.springframework.security.oauth2.jwt.Jwt;
+import org.springframework.test.context.ActiveProfiles;
+import org.springframework.test.context.TestPropertySource;
+
+import java.time.Instant;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Map;
+import java.util.concurrent.CyclicBarrier;
+import java.util.concurrent.ExecutorService;
+import java.util.concurrent.Executors;
+import java.util.concurrent.Future;
+
+import static org.assertj.core.api.Assertions.assertThat;
+
+/**
+ * Runs the user sync upsert against a real MongoDB, where the unique {@code cognitoId} index
+ * decides which of several racing first logins inserts the user.
+ */
+@SpringBootTest
+@ActiveProfiles("test")
+@TestPropertySource(locations = "file:.env")
+@DisplayName("User Sync Integration Tests")
+class UserSyncIntegrationTest {
+
+  private static final String COGNITO_ID = "user-sync-test-cognito-id";
+  private static final String EMAIL = "user-sync-test@example.com";
+
+  @Autowired
+  private UserService userService;
+
+  @Autowired
+  private MongoTemplate mongoTemplate;
+
+  @AfterEach
+  void tearDown() {
+    mongoTemplate.remove(byCognitoId(), User.class);
+  }
+
+  @Test
+  @DisplayName("Should resolve parallel first logins to a single user")
+  void shouldResolveParallelFirstLoginsToSingleUser() throws Exception {
+    // Arrange
+    assertThat(mongoTemplate.indexOps(User.class).getIndexInfo())
+        .anyMatch(index -> index.isUnique() && index.isIndexForFields(List.of("cognitoId")));
+    int logins = 16;
+    CyclicBarrier barrier = new CyclicBarrier(logins);
+    ExecutorService executor = Executors.newFixedThreadPool(logins);
+
+    // Act
+    List<Future<UserDTO>> results = new ArrayList<>();
+    try {
+      for (int i = 0; i < logins; i++) {
+        results.add(executor.submit(() -> {
+          barrier.await();
+          return userService.syncUserFromJwt(createJwt(EMAIL, "syncuser"));
+        }));
+      }
+      List<String> ids = new ArrayList<>();
+      for (Future<UserDTO> result : results) {
+        ids.add(result.get().id());
+      }
+
+      // Assert
+      List<User> users = mongoTemplate.find(byCognitoId(), User.class);
+      assertThat(users).hasSize(1);
+      assertThat(ids).hasSize(logins).containsOnly(users.get(0).getId());
+    } finally {
+      executor.shutdownNow();
+    }
+  }
+
+  @Test
+  @DisplayName("Should leave updatedAt unchanged when a repeat login has the same claims")
+  void shouldKeepUpdatedAtForUnchangedClaims() throws Exception {
+    // Arrange
+    UserDTO created = userService.syncUserFromJwt(createJwt(EMAIL, "syncuser"));
+    Thread.sleep(20);
+
+    // Act
+    UserDTO repeated = userService.syncUserFromJwt(createJwt(EMAIL, "syncuser"));
+
+    // Assert
+    User stored = mongoTemplate.findOne(byCognitoId(), User.class);
+    assertThat(repeated.id()).isEqualTo(created.id());
+    assertThat(repeated.updatedAt()).isEqualTo(created.updatedAt());
+    assertThat(stored.getUpdatedAt()).isEqualTo(created.updatedAt());
+    assertThat(stored.getCreatedAt()).isEqualTo(created.createdAt());
+  }
+
+  @Test
+  @DisplayName("Should move updatedAt but keep createdAt when a claim changed")
+  void shouldStampUpdatedAtForChangedClaims() throws Exception {
+    // Arrange
+    UserDTO created = userService.syncUserFromJwt(createJwt(EMAIL, "syncuser"));
+    Thread.sleep(20);
+
+    // Act
+    UserDTO renamed = userService.syncUserFromJwt(createJwt(EMAIL, "renameduser"));
+
+    // Assert
+    User stored = mongoTemplate.findOne(byCognitoId(), User.class);
+    assertThat(renamed.id()).isEqualTo(created.id());
+    assertThat(renamed.username()).isEqualTo("renameduser");
+    assertThat(stored.getUpdatedAt()).isAfter(created.updatedAt());
+    assertThat(stored.getCreatedAt()).isEqualTo(created.createdAt());
+  }
+
+  // Helper methods
+  private static Query byCognitoId() {
+    return Query.query(Criteria.where("cognitoId").is(COGNITO_ID));
+  }
+
+  private static Jwt createJwt(String email, String username) {
+    Map<String, Object> claims = Map.of(
+        "sub", COGNITO_ID,
+        "email", email,
+        "cognito:username", username
+    );
+
+    return new Jwt(
+        "token",
+        Instant.now(),
+        Instant.now().plusSeconds(3600),
+        Map.of("alg", "RS256"),
+        claims
+    );
+  }
+}
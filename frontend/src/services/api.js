@@ -68,8 +68,17 @@ export const apiService = {
     return response.data;
   },
 
-  getQuizSubmissions: async () => {
-    const response = await api.get('/quiz-submissions');
+  // Returns { items, nextCursor }; pass nextCursor back as cursor for the next page
+  getQuizSubmissions: async (params = {}) => {
+    const { cursor, size = 20 } = params;
+    const response = await api.get('/quiz-submissions', {
+      params: { cursor, size },
+    });
+    return response.data;
+  },
+
+  getQuizSubmission: async (id) => {
+    const response = await api.get(`/quiz-submissions/${id}`);
     return response.data;
   },
 